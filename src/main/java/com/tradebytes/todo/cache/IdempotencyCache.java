@@ -0,0 +1,112 @@
+package com.tradebytes.todo.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tradebytes.todo.dto.CreateTodoRequest;
+import com.tradebytes.todo.dto.TodoResponse;
+import com.tradebytes.todo.exception.IdempotencyKeyReusedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, expiring record of create requests by their {@code Idempotency-Key}, so a client that
+ * retries after a timeout gets the item created by its first attempt instead of a duplicate.
+ * <p>
+ * Each key maps to the request body and a future of its response. The first request with a key
+ * claims it with an atomic put-if-absent and runs the create. A duplicate that arrives while it is
+ * still running waits on the same future instead of inserting again; later ones get the stored
+ * response straight away. A create that fails releases its key so the client can try again, and
+ * reusing a key with a different body is rejected.
+ * <p>
+ * Keys are held in this instance's memory for the TTL (default 24h), up to a size bound (default
+ * 50,000 keys). A request without a key costs nothing; with one, the only extra work on the normal
+ * path is one map insert.
+ * <p>
+ * Publishes the number of replayed responses ({@code todo.idempotency.replays}).
+ */
+@Component
+public class IdempotencyCache {
+
+    /**
+     * Longest accepted key; clients typically send a UUID.
+     */
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache<String, Entry> cache;
+    private final Counter replays;
+
+    public IdempotencyCache(@Value("${todo.idempotency.maximum-size:50000}") long maximumSize,
+                            @Value("${todo.idempotency.ttl:24h}") Duration ttl,
+                            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.replays = Counter.builder("todo.idempotency.replays")
+                .description("Create requests answered with the response of an earlier request with the same key")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A create's response, and whether it was replayed from an earlier request with the same key.
+     */
+    public record Outcome(TodoResponse response, boolean replayed) {
+    }
+
+    /**
+     * Run the create once per key.
+     *
+     * @throws IllegalArgumentException      if the key is blank or too long
+     * @throws IdempotencyKeyReusedException if the key was used with a different request
+     */
+    public Outcome execute(String key, CreateTodoRequest request, Supplier<TodoResponse> create) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH
+                    + " characters");
+        }
+        Entry claim = new Entry(request, new CompletableFuture<>());
+        Entry existing = cache.asMap().putIfAbsent(key, claim);
+        if (existing != null) {
+            if (!existing.request().equals(request)) {
+                throw new IdempotencyKeyReusedException(key);
+            }
+            replays.increment();
+            return new Outcome(await(existing.response()), true);
+        }
+        try {
+            TodoResponse response = create.get();
+            claim.response().complete(response);
+            return new Outcome(response, false);
+        } catch (RuntimeException | Error ex) {
+            // Waiting duplicates fail the same way; the next retry runs the create again
+            cache.asMap().remove(key, claim);
+            claim.response().completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static TodoResponse await(CompletableFuture<TodoResponse> response) {
+        try {
+            return response.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private record Entry(CreateTodoRequest request, CompletableFuture<TodoResponse> response) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.tradebytes.todo.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.tradebytes.todo.dto.CacheStatsResponse;
+import com.tradebytes.todo.repository.TodoSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of todo items by id, in front of the repository lookup.
+ * <p>
+ * Entries are immutable {@link TodoSnapshot}s of the stored row. They are evicted when the size bound
+ * is reached (least recently/frequently used first) or when they have not been written for the TTL,
+ * and invalidated on every write to the item. Effective status is evaluated when a snapshot is
+ * rendered, so a cached "not done" item still shows as past due once its deadline passes.
+ */
+@Component
+public class TodoCache {
+
+    private final Cache<Long, TodoSnapshot> cache;
+    private final LongAdder invalidations = new LongAdder();
+
+    public TodoCache(@Value("${todo.cache.maximum-size:10000}") long maximumSize,
+                     @Value("${todo.cache.ttl:60s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Return the cached snapshot for the id, loading it on a miss.
+     * The loader returns null for a missing item, which is not cached.
+     */
+    public TodoSnapshot get(Long id, Function<Long, TodoSnapshot> loader) {
+        return cache.get(id, loader);
+    }
+
+    /**
+     * Invalidate a single item. Inside a transaction the entry is dropped immediately and again
+     * after commit, so a concurrent read of the old row cannot leave a stale entry behind.
+     */
+    public void evict(Long id) {
+        evictAll(List.of(id));
+    }
+
+    /**
+     * Invalidate the given items, e.g. after a bulk update or a batch of them was marked past due.
+     * Inside a transaction they are dropped again after commit, as in {@link #evict(Long)}.
+     */
+    public void evictAll(Collection<Long> ids) {
+        invalidations.add(ids.size());
+        cache.invalidateAll(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll(ids);
+                }
+            });
+        }
+    }
+
+    public CacheStatsResponse stats() {
+        CacheStats stats = cache.stats();
+        return CacheStatsResponse.builder()
+                .hits(stats.hitCount())
+                .misses(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictions(stats.evictionCount())
+                .invalidations(invalidations.sum())
+                .size(cache.estimatedSize())
+                .build();
+    }
+}
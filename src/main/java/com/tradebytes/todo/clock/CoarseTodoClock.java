@@ -0,0 +1,59 @@
+package com.tradebytes.todo.clock;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link TodoClock} that ticks in milliseconds and caches the last value.
+ * <p>
+ * {@code LocalDateTime.now()} builds an {@code Instant}, resolves the zone offset and allocates a new
+ * {@code LocalDateTime} on every call. Here a call only reads {@link System#currentTimeMillis()}
+ * and returns the cached value while the millisecond has not changed; a new value is built at most
+ * once per millisecond. Racing threads may both build it, which is harmless.
+ */
+public final class CoarseTodoClock implements TodoClock {
+
+    private final ZoneRules rules;
+    private final LongSupplier millisSource;
+    private volatile Tick tick = new Tick(Long.MIN_VALUE, LocalDateTime.MIN);
+
+    public CoarseTodoClock(ZoneId zone) {
+        this(zone, System::currentTimeMillis);
+    }
+
+    CoarseTodoClock(ZoneId zone, LongSupplier millisSource) {
+        this.rules = zone.getRules();
+        this.millisSource = millisSource;
+    }
+
+    @Override
+    public LocalDateTime now() {
+        long millis = millisSource.getAsLong();
+        Tick current = tick;
+        if (current.millis() == millis) {
+            return current.now();
+        }
+        LocalDateTime now = toLocalDateTime(millis);
+        if (millis > current.millis()) {
+            tick = new Tick(millis, now);
+        }
+        return now;
+    }
+
+    private LocalDateTime toLocalDateTime(long millis) {
+        ZoneOffset offset = rules.isFixedOffset()
+                ? rules.getOffset(Instant.EPOCH)
+                : rules.getOffset(Instant.ofEpochMilli(millis));
+        return LocalDateTime.ofEpochSecond(
+                Math.floorDiv(millis, 1000),
+                Math.floorMod(millis, 1000) * 1_000_000,
+                offset);
+    }
+
+    private record Tick(long millis, LocalDateTime now) {
+    }
+}
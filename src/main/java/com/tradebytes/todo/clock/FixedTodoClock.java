@@ -0,0 +1,29 @@
+package com.tradebytes.todo.clock;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * {@link TodoClock} that only moves when told to, for tests.
+ */
+public final class FixedTodoClock implements TodoClock {
+
+    private volatile LocalDateTime now;
+
+    public FixedTodoClock(LocalDateTime now) {
+        this.now = now;
+    }
+
+    @Override
+    public LocalDateTime now() {
+        return now;
+    }
+
+    public void set(LocalDateTime now) {
+        this.now = now;
+    }
+
+    public synchronized void advance(Duration duration) {
+        this.now = now.plus(duration);
+    }
+}
@@ -0,0 +1,32 @@
+package com.tradebytes.todo.clock;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Source of the current local date-time for everything that compares against due dates or
+ * stamps creation/done times.
+ * <p>
+ * Callers that evaluate many items (list responses, sweeps) read it once and pass the value on,
+ * so a whole response is evaluated against one instant.
+ */
+@FunctionalInterface
+public interface TodoClock {
+
+    LocalDateTime now();
+
+    /**
+     * Reads the system clock on every call, at full precision.
+     */
+    static TodoClock system() {
+        ZoneId zone = ZoneId.systemDefault();
+        return () -> LocalDateTime.now(zone);
+    }
+
+    /**
+     * Millisecond precision; calls within the same millisecond share one cached value and do not allocate.
+     */
+    static TodoClock coarse() {
+        return new CoarseTodoClock(ZoneId.systemDefault());
+    }
+}
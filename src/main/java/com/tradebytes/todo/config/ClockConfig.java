@@ -0,0 +1,26 @@
+package com.tradebytes.todo.config;
+
+import com.tradebytes.todo.clock.TodoClock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the {@link TodoClock} shared by the service, mapper and past due tracker.
+ * <p>
+ * {@code todo.clock.mode=coarse} (default) uses the cached millisecond clock;
+ * {@code system} reads the system clock on every call.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ClockConfig {
+
+    @Bean
+    TodoClock todoClock(@Value("${todo.clock.mode:coarse}") String mode) {
+        return switch (mode) {
+            case "coarse" -> TodoClock.coarse();
+            case "system" -> TodoClock.system();
+            default -> throw new IllegalArgumentException(
+                    "Invalid todo.clock.mode: " + mode + ". Valid values are: coarse, system");
+        };
+    }
+}
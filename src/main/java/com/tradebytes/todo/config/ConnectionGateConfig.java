@@ -0,0 +1,69 @@
+package com.tradebytes.todo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Wraps the application DataSource in a {@link ConnectionGateDataSource}.
+ * <p>
+ * Enabled by default together with virtual threads ({@code spring.threads.virtual.enabled}), or explicitly
+ * with {@code todo.db.gate.enabled}. The number of permits defaults to the Hikari pool size.
+ * Free permits and waiting callers are published as {@code todo.db.gate.available} and
+ * {@code todo.db.gate.waiting}; time spent waiting on the pool itself is in {@code hikaricp.connections.acquire}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "todo.db.gate.enabled", havingValue = "true")
+@Slf4j
+public class ConnectionGateConfig {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    static BeanPostProcessor connectionGatePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionGateDataSource) {
+                    return bean;
+                }
+                // Hikari only applies its default pool size when the pool starts
+                int poolSize = bean instanceof HikariDataSource hikari && hikari.getMaximumPoolSize() > 0
+                        ? hikari.getMaximumPoolSize()
+                        : DEFAULT_POOL_SIZE;
+                int permits = environment.getProperty("todo.db.gate.permits", Integer.class, poolSize);
+                Duration timeout = environment.getProperty("todo.db.gate.timeout", Duration.class, Duration.ofSeconds(30));
+                log.info("Gating DataSource '{}' to {} concurrent connections", beanName, permits);
+                return new ConnectionGateDataSource(dataSource, permits, timeout);
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder connectionGateMetrics(DataSource dataSource) {
+        return registry -> {
+            ConnectionGateDataSource gate;
+            try {
+                gate = dataSource.unwrap(ConnectionGateDataSource.class);
+            } catch (SQLException ex) {
+                return;
+            }
+            Gauge.builder("todo.db.gate.available", gate, ConnectionGateDataSource::getAvailablePermits)
+                    .description("Database connection permits that can be taken without waiting")
+                    .register(registry);
+            Gauge.builder("todo.db.gate.waiting", gate, ConnectionGateDataSource::getQueueLength)
+                    .description("Callers waiting for a database connection permit")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.tradebytes.todo.config;
+
+import com.tradebytes.todo.store.InMemoryTodoStore;
+import com.tradebytes.todo.store.InMemoryTransactionManager;
+import com.tradebytes.todo.store.TodoJournal;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * In-memory store for {@code todo.store=memory}, with a transaction manager in place of the JPA one.
+ * <p>
+ * The {@code memory} profile also leaves out the DataSource, so Hibernate, the connection pool
+ * and the database health check are not started at all. With {@code todo.store.journal.enabled}
+ * the store is backed by a {@link TodoJournal} in {@code todo.store.journal.dir} and restored from
+ * it at startup.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "todo.store", havingValue = "memory")
+public class InMemoryStoreConfig {
+
+    @Bean
+    InMemoryTodoStore inMemoryTodoStore(ObjectProvider<TodoJournal> todoJournal) throws IOException {
+        TodoJournal journal = todoJournal.getIfAvailable();
+        if (journal == null) {
+            return new InMemoryTodoStore();
+        }
+        InMemoryTodoStore store = new InMemoryTodoStore(journal);
+        journal.open(store);
+        return store;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "todo.store.journal.enabled", havingValue = "true")
+    TodoJournal todoJournal(@Value("${todo.store.journal.dir:data}") Path directory,
+                            @Value("${todo.store.journal.compact-after:64MB}") DataSize compactAfter,
+                            MeterRegistry meterRegistry) {
+        return new TodoJournal(directory, compactAfter.toBytes(), meterRegistry);
+    }
+
+    @Bean
+    PlatformTransactionManager transactionManager() {
+        return new InMemoryTransactionManager();
+    }
+}
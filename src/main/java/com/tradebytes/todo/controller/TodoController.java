@@ -1,16 +1,36 @@
 package com.tradebytes.todo.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.tradebytes.todo.cache.IdempotencyCache;
+import com.tradebytes.todo.dto.BatchCreateResponse;
+import com.tradebytes.todo.dto.BatchUpdateRequest;
+import com.tradebytes.todo.dto.BatchUpdateResponse;
+import com.tradebytes.todo.dto.CacheStatsResponse;
 import com.tradebytes.todo.dto.CreateTodoRequest;
+import com.tradebytes.todo.dto.TodoChangesResponse;
+import com.tradebytes.todo.dto.TodoCountsResponse;
+import com.tradebytes.todo.dto.TodoFilter;
+import com.tradebytes.todo.dto.TodoPageResponse;
 import com.tradebytes.todo.dto.TodoResponse;
 import com.tradebytes.todo.dto.UpdateDescriptionRequest;
 import com.tradebytes.todo.dto.UpdateStatusRequest;
 import com.tradebytes.todo.service.TodoService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -21,40 +41,201 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TodoController {
 
+    /**
+     * Maximum number of items accepted by a single bulk create request.
+     */
+    static final int MAX_BATCH_SIZE = 1000;
+
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    /**
+     * Response header telling a client whether a create was replayed from an earlier request with its key.
+     */
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final TodoService todoService;
+    private final IdempotencyCache idempotencyCache;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * With an Idempotency-Key, a retry of the same request returns the original 201 body instead of
+     * creating the item again, and concurrent duplicates wait for the first one to finish.
+     */
     @PostMapping
-    public ResponseEntity<TodoResponse> createTodo(@Valid @RequestBody CreateTodoRequest request) {
-        TodoResponse response = todoService.createTodo(request);
+    public ResponseEntity<TodoResponse> createTodo(
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @Valid @RequestBody CreateTodoRequest request) {
+        if (idempotencyKey == null) {
+            TodoResponse response = todoService.createTodo(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        }
+        IdempotencyCache.Outcome outcome = idempotencyCache.execute(idempotencyKey, request,
+                () -> todoService.createTodo(request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED, String.valueOf(outcome.replayed()))
+                .body(outcome.response());
+    }
+
+    /**
+     * Bulk create. The whole array is validated before anything is written.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchCreateResponse> createTodos(
+            @RequestBody @Size(min = 1, max = MAX_BATCH_SIZE, message = "Batch must contain between 1 and "
+                    + MAX_BATCH_SIZE + " items") List<@Valid CreateTodoRequest> requests) {
+        BatchCreateResponse response = todoService.createTodos(requests);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Single item with a strong ETag. A matching If-None-Match is answered with 304 Not Modified
+     * from the item's cached version, before anything is mapped or serialized.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<TodoResponse> getTodoById(@PathVariable Long id) {
+    public ResponseEntity<TodoResponse> getTodoById(@PathVariable Long id, WebRequest webRequest) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && webRequest.checkNotModified(todoService.getTodoETag(id))) {
+            // Status 304 and the ETag header have already been set on the response
+            return null;
+        }
         TodoResponse response = todoService.getTodoById(id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(response.getEtag()).body(response);
     }
 
+    /**
+     * Change feed for delta sync: items created or written since the token, oldest change first.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<TodoChangesResponse> getChanges(
+            @RequestParam(name = "since", required = false) String since,
+            @RequestParam(name = "limit", defaultValue = "500") int limit) {
+        return ResponseEntity.ok(todoService.getChanges(since, limit));
+    }
+
+    /**
+     * Full-text search over descriptions: every word must match, {@code word*} matches a prefix.
+     * Results are paged by id like {@code GET /api/todos}.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<TodoPageResponse> searchTodos(
+            @RequestParam(name = "q", required = false) String query,
+            @RequestParam(name = "status", required = false) List<String> statuses,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        return ResponseEntity.ok(todoService.searchTodos(query, statuses, after, limit));
+    }
+
+    /**
+     * Number of items in each status, served from in-memory counters.
+     */
+    @GetMapping("/counts")
+    public ResponseEntity<TodoCountsResponse> getCounts() {
+        return ResponseEntity.ok(todoService.getCounts());
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CacheStatsResponse> getCacheStats() {
+        return ResponseEntity.ok(todoService.getCacheStats());
+    }
+
+    /**
+     * Paged listing. Optionally filtered by effective status and a due datetime range
+     * ({@code due_after} inclusive, {@code due_before} exclusive) and sorted by due datetime.
+     */
     @GetMapping
+    public ResponseEntity<TodoPageResponse> getTodoPage(
+            @RequestParam(name = "all", defaultValue = "false") boolean includeAll,
+            @RequestParam(name = "status", required = false) List<String> statuses,
+            @RequestParam(name = "due_after", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueAfter,
+            @RequestParam(name = "due_before", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueBefore,
+            @RequestParam(name = "sort", defaultValue = TodoFilter.SORT_BY_ID) String sort,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        TodoFilter filter = TodoFilter.builder()
+                .includeAll(includeAll)
+                .statuses(statuses)
+                .dueAfter(dueAfter)
+                .dueBefore(dueBefore)
+                .sort(sort)
+                .build();
+        TodoPageResponse response = filter.isFiltered()
+                ? todoService.getTodoPage(filter, after, limit)
+                : todoService.getTodoPage(includeAll, after, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Legacy unpaginated listing, only served when explicitly requested with unpaged=true.
+     */
+    @GetMapping(params = "unpaged=true")
     public ResponseEntity<List<TodoResponse>> getAllTodos(
             @RequestParam(name = "all", defaultValue = "false") boolean includeAll) {
         List<TodoResponse> response = todoService.getAllTodos(includeAll);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Streaming listing: one JSON object per line, written as rows are read from the database.
+     * Selected with Accept: application/x-ndjson.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTodos(
+            @RequestParam(name = "all", defaultValue = "false") boolean includeAll) {
+        ObjectWriter writer = objectMapper.writerFor(TodoResponse.class);
+        StreamingResponseBody body = outputStream -> {
+            boolean[] first = {true};
+            todoService.streamTodos(includeAll, todo -> {
+                try {
+                    outputStream.write(writer.writeValueAsBytes(todo));
+                    outputStream.write('\n');
+                    if (first[0]) {
+                        // Push the first line out immediately instead of waiting for the buffer to fill
+                        outputStream.flush();
+                        first[0] = false;
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Bulk update: the same status or description change applied to many items.
+     * Always 200; the body reports which ids were updated, not found or immutable.
+     */
+    @PatchMapping("/batch")
+    public ResponseEntity<BatchUpdateResponse> updateTodos(@Valid @RequestBody BatchUpdateRequest request) {
+        BatchUpdateResponse response = todoService.updateTodos(request);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * With If-Match, the update only applies if the item still has that ETag (412 otherwise).
+     */
     @PatchMapping("/{id}/description")
     public ResponseEntity<TodoResponse> updateDescription(
             @PathVariable Long id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateDescriptionRequest request) {
-        TodoResponse response = todoService.updateDescription(id, request);
-        return ResponseEntity.ok(response);
+        TodoResponse response = todoService.updateDescription(id, request, ifMatch);
+        return ResponseEntity.ok().eTag(response.getEtag()).body(response);
     }
 
+    /**
+     * With If-Match, the update only applies if the item still has that ETag (412 otherwise).
+     */
     @PatchMapping("/{id}/status")
     public ResponseEntity<TodoResponse> updateStatus(
             @PathVariable Long id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateStatusRequest request) {
-        TodoResponse response = todoService.updateStatus(id, request);
-        return ResponseEntity.ok(response);
+        TodoResponse response = todoService.updateStatus(id, request, ifMatch);
+        return ResponseEntity.ok().eTag(response.getEtag()).body(response);
     }
 }
@@ -0,0 +1,73 @@
+package com.tradebytes.todo.controller;
+
+import com.tradebytes.todo.service.TodoEvent;
+import com.tradebytes.todo.service.TodoEventHub;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Server-Sent Events stream of item changes, for live dashboards instead of polling the listing.
+ */
+@RestController
+@RequestMapping("/api/todos")
+public class TodoEventController {
+
+    static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final TodoEventHub todoEventHub;
+    private final Duration timeout;
+
+    public TodoEventController(TodoEventHub todoEventHub,
+                               @Value("${todo.events.timeout:30m}") Duration timeout) {
+        this.todoEventHub = todoEventHub;
+        this.timeout = timeout;
+    }
+
+    /**
+     * One {@code created}, {@code updated} or {@code past-due} event per item change, with the item
+     * as JSON data. Event ids are change feed tokens: a client reconnecting with Last-Event-ID gets
+     * the changes it missed first. The stream ends after the timeout, or when the client falls too
+     * far behind; EventSource clients reconnect and resume on their own.
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(name = LAST_EVENT_ID, required = false) String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        TodoEventHub.Subscription subscription = todoEventHub.subscribe(lastEventId, new EmitterSink(emitter));
+        emitter.onCompletion(subscription::cancel);
+        emitter.onError(error -> subscription.cancel());
+        emitter.onTimeout(() -> {
+            subscription.cancel();
+            emitter.complete();
+        });
+        return emitter;
+    }
+
+    private record EmitterSink(SseEmitter emitter) implements TodoEventHub.Sink {
+
+        @Override
+        public void send(TodoEvent event) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(event.id())
+                    .name(event.type())
+                    .data(event.todo(), MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+
+        @Override
+        public void close() {
+            emitter.complete();
+        }
+    }
+}
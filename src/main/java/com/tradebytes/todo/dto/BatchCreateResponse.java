@@ -0,0 +1,23 @@
+package com.tradebytes.todo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the result of a bulk create.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Ids of the created todo items")
+public class BatchCreateResponse {
+
+    @Schema(description = "Ids of the created items, in the same order as the request", example = "[101, 102, 103]")
+    private List<Long> ids;
+}
@@ -0,0 +1,59 @@
+package com.tradebytes.todo.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for applying the same change to several Todo items.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Request body for updating the status or the description of several todo items")
+public class BatchUpdateRequest {
+
+    @NotEmpty(message = "Ids are required")
+    @Size(max = 1000, message = "At most 1000 ids can be updated at once")
+    @Schema(
+            description = "Ids of the items to update",
+            example = "[1, 2, 3]",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private List<@NotNull(message = "Ids must not be null") Long> ids;
+
+    @Pattern(regexp = "^(done|not done)$", message = "Status must be either 'done' or 'not done'")
+    @Schema(
+            description = "The new status. Only 'done' and 'not done' are allowed.",
+            example = "done",
+            allowableValues = {"done", "not done"},
+            nullable = true
+    )
+    private String status;
+
+    @Schema(description = "The new description", example = "Sprint 12 task", nullable = true)
+    private String description;
+
+    @JsonIgnore
+    @AssertTrue(message = "Exactly one of 'status' or 'description' must be provided")
+    public boolean isSingleChange() {
+        return (status == null) != (description == null);
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Description must not be blank")
+    public boolean isDescriptionPresent() {
+        return description == null || !description.isBlank();
+    }
+}
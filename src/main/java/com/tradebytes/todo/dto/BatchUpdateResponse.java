@@ -0,0 +1,31 @@
+package com.tradebytes.todo.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the per-id outcome of a bulk update.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Outcome of a bulk update, per id, in request order")
+public class BatchUpdateResponse {
+
+    @Schema(description = "Ids of the items that were updated", example = "[1, 2]")
+    private List<Long> updated;
+
+    @JsonProperty("not_found")
+    @Schema(description = "Ids that do not exist", example = "[999]")
+    private List<Long> notFound;
+
+    @Schema(description = "Ids of past due items, which cannot be modified", example = "[3]")
+    private List<Long> immutable;
+}
@@ -0,0 +1,38 @@
+package com.tradebytes.todo.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the todo item cache counters.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Todo item cache statistics since startup")
+public class CacheStatsResponse {
+
+    @Schema(description = "Lookups served from the cache", example = "9120")
+    private long hits;
+
+    @Schema(description = "Lookups that had to load the item from the database", example = "880")
+    private long misses;
+
+    @JsonProperty("hit_rate")
+    @Schema(description = "Hits divided by total lookups (1.0 when there were no lookups)", example = "0.912")
+    private double hitRate;
+
+    @Schema(description = "Entries evicted because of the size bound or expiry", example = "42")
+    private long evictions;
+
+    @Schema(description = "Entries invalidated after a write", example = "17")
+    private long invalidations;
+
+    @Schema(description = "Approximate number of entries currently cached", example = "512")
+    private long size;
+}
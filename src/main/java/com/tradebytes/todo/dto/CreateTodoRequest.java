@@ -1,7 +1,9 @@
 package com.tradebytes.todo.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -32,9 +34,15 @@ public class CreateTodoRequest {
     @NotNull(message = "Due datetime is required")
     @JsonProperty("due_datetime")
     @Schema(
-            description = "The timestamp by which the task should be completed",
+            description = "The timestamp by which the task should be completed, in the years 1 to 9999",
             example = "2026-01-15T18:00:00",
             requiredMode = Schema.RequiredMode.REQUIRED
     )
     private LocalDateTime dueDatetime;
+
+    @JsonIgnore
+    @AssertTrue(message = "Due datetime must be in the years 1 to 9999")
+    public boolean isDueDatetimeInRange() {
+        return dueDatetime == null || (dueDatetime.getYear() >= 1 && dueDatetime.getYear() <= 9999);
+    }
 }
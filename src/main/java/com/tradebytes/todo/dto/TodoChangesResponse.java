@@ -0,0 +1,35 @@
+package com.tradebytes.todo.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for a batch of the change feed: items written since a token, and the token to continue from.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Todo items changed since a token")
+public class TodoChangesResponse {
+
+    @Schema(description = "Items created or written since the token, oldest change first, in their current state")
+    private List<TodoResponse> items;
+
+    @JsonProperty("next_token")
+    @Schema(
+            description = "Token to pass as 'since' on the next sync. Unchanged when nothing changed",
+            example = "MTI6MTA0"
+    )
+    private String nextToken;
+
+    @JsonProperty("has_more")
+    @Schema(description = "True if more changes are available right away; fetch again with next_token")
+    private boolean hasMore;
+}
@@ -0,0 +1,33 @@
+package com.tradebytes.todo.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the number of todo items in each status.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Number of todo items in each status")
+public class TodoCountsResponse {
+
+    @JsonProperty("not_done")
+    @Schema(description = "Items not done yet and not overdue", example = "42")
+    private long notDone;
+
+    @Schema(description = "Items marked done", example = "130")
+    private long done;
+
+    @JsonProperty("past_due")
+    @Schema(description = "Items past due, whether marked yet or not", example = "7")
+    private long pastDue;
+
+    @Schema(description = "All items", example = "179")
+    private long total;
+}
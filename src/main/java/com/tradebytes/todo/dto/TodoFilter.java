@@ -0,0 +1,55 @@
+package com.tradebytes.todo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Filters and sort order of a paged todo listing, taken from the query string.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TodoFilter {
+
+    public static final String SORT_BY_ID = "id";
+    public static final String SORT_BY_DUE = "due";
+
+    /**
+     * Without statuses: every item if true, only effectively "not done" items if false.
+     */
+    private boolean includeAll;
+
+    /**
+     * Effective statuses to keep ("not done", "done", "past due"), or null or empty for the default above.
+     */
+    private List<String> statuses;
+
+    /**
+     * Keep items due at or after this datetime, or null for no lower bound.
+     */
+    private LocalDateTime dueAfter;
+
+    /**
+     * Keep items due before this datetime, or null for no upper bound.
+     */
+    private LocalDateTime dueBefore;
+
+    /**
+     * {@value #SORT_BY_ID} (default) or {@value #SORT_BY_DUE}, the due datetime with ties broken by id.
+     */
+    private String sort;
+
+    /**
+     * Whether anything beyond the plain listing of {@code includeAll} was asked for.
+     */
+    public boolean isFiltered() {
+        return (statuses != null && !statuses.isEmpty()) || dueAfter != null || dueBefore != null
+                || (sort != null && !SORT_BY_ID.equals(sort));
+    }
+}
@@ -0,0 +1,32 @@
+package com.tradebytes.todo.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for a single page of Todo items.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "A page of todo items")
+public class TodoPageResponse {
+
+    @Schema(description = "Todo items in this page, ordered by id")
+    private List<TodoResponse> items;
+
+    @JsonProperty("next_cursor")
+    @Schema(
+            description = "Opaque cursor to pass as 'after' to fetch the next page (null on the last page)",
+            example = "MTA0",
+            nullable = true
+    )
+    private String nextCursor;
+}
@@ -1,5 +1,6 @@
 package com.tradebytes.todo.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
@@ -47,4 +48,20 @@ public class TodoResponse {
             nullable = true
     )
     private LocalDateTime doneDatetime;
+
+    /**
+     * Strong ETag of the item as rendered, sent as a header rather than in the body.
+     * Only set on single-item responses.
+     */
+    @JsonIgnore
+    @Schema(hidden = true)
+    private String etag;
+
+    /**
+     * Stored version the response was rendered from. Together with the id and status it identifies
+     * the rendered JSON, which is cached on that basis. Not part of the body.
+     */
+    @JsonIgnore
+    @Schema(hidden = true)
+    private Long version;
 }
@@ -2,6 +2,7 @@ package com.tradebytes.todo.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -9,7 +10,11 @@ import java.time.LocalDateTime;
  * Entity representing a Todo item in the database.
  */
 @Entity
-@Table(name = "todos")
+@Table(name = "todos", indexes = {
+        @Index(name = "idx_todos_status_id", columnList = "status, id"),
+        @Index(name = "idx_todos_status_due", columnList = "status, due_datetime, id"),
+        @Index(name = "idx_todos_modified_seq", columnList = "modified_seq, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,8 +22,13 @@ import java.time.LocalDateTime;
 @Builder
 public class TodoItem {
 
+    /**
+     * Ids come from a pooled sequence that hands out blocks of 50, so Hibernate knows the id
+     * before the INSERT and can send inserts as JDBC batches (not possible with IDENTITY).
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todos_seq")
+    @SequenceGenerator(name = "todos_seq", sequenceName = "todos_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -37,6 +47,26 @@ public class TodoItem {
     @Column(name = "done_datetime")
     private LocalDateTime doneDatetime;
 
+    /**
+     * Incremented by every write, including the bulk and native updates, which set it explicitly.
+     * Exposed to clients as the item's ETag. Defaults to 0 for rows inserted outside Hibernate.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    /**
+     * Position of the item's last write in the change feed, stamped by every write from the
+     * {@code ModificationSequence}. Items stored without one start at 0.
+     */
+    @ColumnDefault("0")
+    @Column(name = "modified_seq", nullable = false)
+    private Long modifiedSeq;
+
+    /**
+     * Fallback for items not built by TodoMapper, which stamps the creation datetime from the TodoClock.
+     */
     @PrePersist
     protected void onCreate() {
         if (creationDatetime == null) {
@@ -45,6 +75,9 @@ public class TodoItem {
         if (status == null) {
             status = TodoStatus.NOT_DONE;
         }
+        if (modifiedSeq == null) {
+            modifiedSeq = 0L;
+        }
     }
 
     /**
@@ -54,21 +87,35 @@ public class TodoItem {
      * - It is NOT_DONE and the due date has passed
      * <p>
      * This is the single source of truth for past due determination.
+     * <p>
+     * Reads the system clock; application code passes {@code TodoClock.now()} to
+     * {@link #isEffectivelyPastDue(LocalDateTime)} instead.
      */
     public boolean isEffectivelyPastDue() {
-        if (status == TodoStatus.PAST_DUE) {
-            return true;
-        }
-        return status == TodoStatus.NOT_DONE
-                && dueDatetime != null
-                && dueDatetime.isBefore(LocalDateTime.now());
+        return isEffectivelyPastDue(LocalDateTime.now());
+    }
+
+    /**
+     * Check if this item is effectively past due at the given instant.
+     * Lets callers evaluate many items against a single snapshot of the clock.
+     */
+    public boolean isEffectivelyPastDue(LocalDateTime now) {
+        return getEffectiveStatus(now) == TodoStatus.PAST_DUE;
     }
 
     /**
      * Get the effective status for display purposes.
      * Returns PAST_DUE if the item is effectively past due, otherwise the actual status.
+     * Reads the system clock, like {@link #isEffectivelyPastDue()}.
      */
     public TodoStatus getEffectiveStatus() {
-        return isEffectivelyPastDue() ? TodoStatus.PAST_DUE : status;
+        return getEffectiveStatus(LocalDateTime.now());
+    }
+
+    /**
+     * Get the effective status at the given instant.
+     */
+    public TodoStatus getEffectiveStatus(LocalDateTime now) {
+        return TodoStatus.effective(status, dueDatetime, now);
     }
 }
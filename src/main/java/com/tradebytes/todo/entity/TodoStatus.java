@@ -2,6 +2,8 @@ package com.tradebytes.todo.entity;
 
 import com.fasterxml.jackson.annotation.JsonValue;
 
+import java.time.LocalDateTime;
+
 /**
  * Enum representing the possible statuses of a Todo item.
  */
@@ -29,4 +31,15 @@ public enum TodoStatus {
         }
         throw new IllegalArgumentException("Unknown status: " + value);
     }
+
+    /**
+     * Effective status of an item with the given stored status and due datetime at {@code now}:
+     * a NOT_DONE item whose due datetime has passed is PAST_DUE, whether or not it has been marked yet.
+     */
+    public static TodoStatus effective(TodoStatus status, LocalDateTime dueDatetime, LocalDateTime now) {
+        if (status == NOT_DONE && dueDatetime != null && dueDatetime.isBefore(now)) {
+            return PAST_DUE;
+        }
+        return status;
+    }
 }
@@ -0,0 +1,15 @@
+package com.tradebytes.todo.exception;
+
+/**
+ * Exception thrown when a conditional update's If-Match header does not match the item's current ETag.
+ */
+public class TodoPreconditionFailedException extends RuntimeException {
+
+    public TodoPreconditionFailedException(Long id) {
+        super("Todo item with id: " + id + " has been modified. If-Match does not match the current ETag.");
+    }
+
+    public TodoPreconditionFailedException(String message) {
+        super(message);
+    }
+}
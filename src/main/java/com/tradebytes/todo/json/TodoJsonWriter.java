@@ -0,0 +1,124 @@
+package com.tradebytes.todo.json;
+
+import com.tradebytes.todo.dto.TodoResponse;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Hand-written JSON encoding of a {@link TodoResponse}, producing the same text as Jackson's bean
+ * serializer configured like the application (properties in declaration order, nulls included,
+ * datetimes as ISO-8601 local datetimes) without reflection or a {@link DateTimeFormatter}.
+ */
+public final class TodoJsonWriter {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private TodoJsonWriter() {
+    }
+
+    /**
+     * Write the response as a JSON object, ready to be written as a raw value.
+     */
+    public static String write(TodoResponse response) {
+        StringBuilder json = new StringBuilder(192);
+        json.append("{\"id\":").append(response.getId());
+        json.append(",\"description\":");
+        appendString(json, response.getDescription());
+        json.append(",\"status\":");
+        appendString(json, response.getStatus());
+        json.append(",\"creation_datetime\":");
+        appendDateTime(json, response.getCreationDatetime());
+        json.append(",\"due_datetime\":");
+        appendDateTime(json, response.getDueDatetime());
+        json.append(",\"done_datetime\":");
+        appendDateTime(json, response.getDoneDatetime());
+        return json.append('}').toString();
+    }
+
+    /**
+     * Append a quoted string, escaped like Jackson's UTF-8 generator: quotes, backslashes and control
+     * characters, and each half of a surrogate pair as a unicode escape. Everything else, including
+     * other non-ASCII characters, is written as is.
+     */
+    static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        int length = value.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\' && !Character.isSurrogate(c)) {
+                continue;
+            }
+            json.append(value, start, i);
+            start = i + 1;
+            switch (c) {
+                case '"', '\\' -> json.append('\\').append(c);
+                case '\b' -> json.append("\\b");
+                case '\t' -> json.append("\\t");
+                case '\n' -> json.append("\\n");
+                case '\f' -> json.append("\\f");
+                case '\r' -> json.append("\\r");
+                default -> json.append("\\u")
+                        .append(HEX[c >> 12 & 0xF]).append(HEX[c >> 8 & 0xF])
+                        .append(HEX[c >> 4 & 0xF]).append(HEX[c & 0xF]);
+            }
+        }
+        json.append(value, start, length).append('"');
+    }
+
+    /**
+     * Append a quoted datetime in the form of {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}: seconds
+     * always, and a fraction without trailing zeros only when there is one.
+     */
+    static void appendDateTime(StringBuilder json, LocalDateTime value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            // Signed or five-digit years are rare enough to leave to the formatter
+            json.append('"').append(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value)).append('"');
+            return;
+        }
+        char[] text = new char[31];
+        text[0] = '"';
+        writeDigits(text, 1, year, 4);
+        text[5] = '-';
+        writeDigits(text, 6, value.getMonthValue(), 2);
+        text[8] = '-';
+        writeDigits(text, 9, value.getDayOfMonth(), 2);
+        text[11] = 'T';
+        writeDigits(text, 12, value.getHour(), 2);
+        text[14] = ':';
+        writeDigits(text, 15, value.getMinute(), 2);
+        text[17] = ':';
+        writeDigits(text, 18, value.getSecond(), 2);
+        int length = 20;
+        int nano = value.getNano();
+        if (nano != 0) {
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            text[length] = '.';
+            writeDigits(text, length + 1, nano, digits);
+            length += digits + 1;
+        }
+        text[length++] = '"';
+        json.append(text, 0, length);
+    }
+
+    private static void writeDigits(char[] text, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            text[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
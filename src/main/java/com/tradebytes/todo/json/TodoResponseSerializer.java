@@ -0,0 +1,82 @@
+package com.tradebytes.todo.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tradebytes.todo.dto.TodoResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Serializer for every {@link TodoResponse} the application writes: single items, pages, search
+ * results, the change feed, NDJSON and SSE streams.
+ * <p>
+ * Keeps the JSON text of recently written items, keyed by id and valid for one version
+ * and effective status. Every write to an item increments its version, so a mutation invalidates
+ * the fragment by construction, and an item that turns past due at its deadline renders a new one.
+ * A valid fragment is spliced into the output as a raw value; anything else is encoded by
+ * {@link TodoJsonWriter} and remembered. Responses without a version are encoded every time.
+ * <p>
+ * Fragments are spliced as is, so items are never indented, even with
+ * {@code SerializationFeature.INDENT_OUTPUT} enabled. Hits and misses are published as
+ * {@code cache.gets{cache="todo.json"}}.
+ */
+@JsonComponent
+public class TodoResponseSerializer extends StdSerializer<TodoResponse> implements MeterBinder {
+
+    private final transient Cache<Long, Fragment> fragments;
+
+    public TodoResponseSerializer(@Value("${todo.json-cache.maximum-size:50000}") long maximumSize) {
+        super(TodoResponse.class);
+        this.fragments = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void serialize(TodoResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeRawValue(fragment(value));
+    }
+
+    /**
+     * Encoded JSON of the response, from the cache when it holds this version and status.
+     */
+    String fragment(TodoResponse value) {
+        Long id = value.getId();
+        Long version = value.getVersion();
+        if (id == null || version == null) {
+            return TodoJsonWriter.write(value);
+        }
+        Fragment cached = fragments.getIfPresent(id);
+        if (cached != null && cached.version() == version && Objects.equals(cached.status(), value.getStatus())) {
+            return cached.json();
+        }
+        String json = TodoJsonWriter.write(value);
+        fragments.put(id, new Fragment(version, value.getStatus(), json));
+        return json;
+    }
+
+    long size() {
+        return fragments.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, fragments, "todo.json");
+    }
+
+    /**
+     * JSON of one version of an item, as rendered with the given status.
+     */
+    private record Fragment(long version, String status, String json) {
+    }
+}
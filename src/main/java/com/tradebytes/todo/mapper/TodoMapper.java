@@ -1,25 +1,42 @@
 package com.tradebytes.todo.mapper;
 
+import com.tradebytes.todo.clock.TodoClock;
 import com.tradebytes.todo.dto.CreateTodoRequest;
 import com.tradebytes.todo.dto.TodoResponse;
 import com.tradebytes.todo.entity.TodoItem;
 import com.tradebytes.todo.entity.TodoStatus;
+import com.tradebytes.todo.repository.TodoSnapshot;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+
 /**
  * Mapper for converting between TodoItem entity and DTOs.
  */
 @Component
+@RequiredArgsConstructor
 public class TodoMapper {
 
+    private final TodoClock todoClock;
+
     /**
-     * Convert CreateTodoRequest DTO to TodoItem entity.
+     * Convert CreateTodoRequest DTO to TodoItem entity, created now.
      */
     public TodoItem toEntity(CreateTodoRequest request) {
+        return toEntity(request, todoClock.now());
+    }
+
+    /**
+     * Convert CreateTodoRequest DTO to TodoItem entity with the given creation datetime.
+     * Bulk creates stamp every item of the batch with the same instant.
+     */
+    public TodoItem toEntity(CreateTodoRequest request, LocalDateTime creationDatetime) {
         return TodoItem.builder()
                 .description(request.getDescription())
                 .dueDatetime(request.getDueDatetime())
                 .status(TodoStatus.NOT_DONE)
+                .creationDatetime(creationDatetime)
                 .build();
     }
 
@@ -28,13 +45,37 @@ public class TodoMapper {
      * Uses entity's effective status for accurate representation.
      */
     public TodoResponse toResponse(TodoItem entity) {
+        return toResponse(entity, todoClock.now());
+    }
+
+    /**
+     * Convert TodoItem entity to TodoResponse DTO, evaluating the effective status at {@code now}.
+     * List responses pass one snapshot for every item instead of reading the clock per row.
+     */
+    public TodoResponse toResponse(TodoItem entity, LocalDateTime now) {
         return TodoResponse.builder()
                 .id(entity.getId())
                 .description(entity.getDescription())
-                .status(entity.getEffectiveStatus().getValue())
+                .status(entity.getEffectiveStatus(now).getValue())
                 .creationDatetime(entity.getCreationDatetime())
                 .dueDatetime(entity.getDueDatetime())
                 .doneDatetime(entity.getDoneDatetime())
+                .version(entity.getVersion())
+                .build();
+    }
+
+    /**
+     * Convert a cached TodoSnapshot to TodoResponse DTO, evaluating the effective status at {@code now}.
+     */
+    public TodoResponse toResponse(TodoSnapshot snapshot, LocalDateTime now) {
+        return TodoResponse.builder()
+                .id(snapshot.id())
+                .description(snapshot.description())
+                .status(snapshot.effectiveStatus(now).getValue())
+                .creationDatetime(snapshot.creationDatetime())
+                .dueDatetime(snapshot.dueDatetime())
+                .doneDatetime(snapshot.doneDatetime())
+                .version(snapshot.version())
                 .build();
     }
 }
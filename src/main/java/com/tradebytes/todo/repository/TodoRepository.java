@@ -2,38 +2,354 @@ package com.tradebytes.todo.repository;
 
 import com.tradebytes.todo.entity.TodoItem;
 import com.tradebytes.todo.entity.TodoStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 /**
  * Repository for TodoItem entity operations.
+ * <p>
+ * Reads return {@link TodoSnapshot} records built by a JPQL constructor expression: the rows are
+ * never hydrated into managed entities, so Hibernate keeps no persistence-context entry or
+ * dirty-checking copy for them. Writes still load entities or run bulk updates.
  */
 @Repository
 public interface TodoRepository extends JpaRepository<TodoItem, Long> {
 
     /**
-     * Find all todo items with a specific status.
+     * Select clause (and FROM) that reads each row straight into a {@link TodoSnapshot}.
+     */
+    String SELECT_SNAPSHOT = "SELECT new com.tradebytes.todo.repository.TodoSnapshot(" +
+            "t.id, t.description, t.status, t.creationDatetime, t.dueDatetime, t.doneDatetime, t.version, " +
+            "t.modifiedSeq) FROM TodoItem t ";
+
+    /**
+     * SQL counterpart of {@link #MUTABLE_AT_NOW} for native queries.
+     */
+    String MUTABLE_AT_NOW_SQL = "status <> 'PAST_DUE' AND (status <> 'NOT_DONE' OR due_datetime >= :now)";
+
+    /**
+     * Optimistic check of a native update: the row is still at {@code :expectedVersion}, or no version was given.
+     */
+    String VERSION_MATCHES_SQL = "version = COALESCE(:expectedVersion, version)";
+
+    /**
+     * Columns of a changed row, aliased for {@link RowView}.
+     */
+    String ROW_COLUMNS = "id AS id, description AS description, status AS status, " +
+            "creation_datetime AS creationDatetime, due_datetime AS dueDatetime, done_datetime AS doneDatetime, " +
+            "version AS version, modified_seq AS modifiedSeq";
+
+    /**
+     * JPQL condition matching items that are effectively "not done" at {@code :now}.
+     */
+    String EFFECTIVELY_NOT_DONE = "t.status = com.tradebytes.todo.entity.TodoStatus.NOT_DONE " +
+            "AND t.dueDatetime >= :now ";
+
+    /**
+     * JPQL condition matching items that may still be modified at {@code :now}: not past due,
+     * and not "not done" with a due datetime that has already passed.
+     */
+    String MUTABLE_AT_NOW = "t.status <> com.tradebytes.todo.entity.TodoStatus.PAST_DUE " +
+            "AND (t.status <> com.tradebytes.todo.entity.TodoStatus.NOT_DONE OR t.dueDatetime >= :now)";
+
+    /**
+     * Find one item as a {@link TodoSnapshot}, without loading the entity.
+     */
+    @Query(SELECT_SNAPSHOT + "WHERE t.id = :id")
+    Optional<TodoSnapshot> findSnapshotById(@Param("id") Long id);
+
+    /**
+     * Find the given items as snapshots, in id order. Ids that do not exist are skipped.
+     */
+    @Query(SELECT_SNAPSHOT + "WHERE t.id IN :ids ORDER BY t.id")
+    List<TodoSnapshot> findSnapshotsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find all items as snapshots, in id order.
+     */
+    @Query(SELECT_SNAPSHOT + "ORDER BY t.id")
+    List<TodoSnapshot> findAllSnapshots();
+
+    /**
+     * Find all items that are effectively "not done": stored as NOT_DONE with a due datetime
+     * that has not passed at {@code now}. Items that are overdue but not yet swept are excluded.
+     * <p>
+     * Ordering by (status, id) rather than id alone lets the database read the rows in
+     * (status, id) index order instead of sorting them; with a single status both are the same order.
+     */
+    @Query(SELECT_SNAPSHOT + "WHERE " + EFFECTIVELY_NOT_DONE + "ORDER BY t.status, t.id")
+    List<TodoSnapshot> findSnapshotsEffectivelyNotDone(@Param("now") LocalDateTime now);
+
+    /**
+     * Keyset page over all todo items: the next {@code limit} items with an id greater than {@code afterId}.
+     */
+    @Query(SELECT_SNAPSHOT + "WHERE t.id > :afterId ORDER BY t.id")
+    List<TodoSnapshot> findSnapshotPage(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Keyset page over effectively "not done" items, in id order.
+     * Served by a range scan of the (status, id) index that stops after {@code limit} rows.
      */
-    List<TodoItem> findByStatus(TodoStatus status);
+    @Query(SELECT_SNAPSHOT + "WHERE " + EFFECTIVELY_NOT_DONE + "AND t.id > :afterId ORDER BY t.status, t.id")
+    List<TodoSnapshot> findSnapshotPageEffectivelyNotDone(@Param("now") LocalDateTime now,
+                                                          @Param("afterId") Long afterId,
+                                                          Limit limit);
+
+    /**
+     * Keyset page over the items with a stored status and a due datetime in [{@code dueFrom}, {@code dueTo}),
+     * in (due datetime, id) order, skipping the items due at {@code dueFrom} up to {@code afterId}.
+     * Served by a range scan of the (status, due_datetime, id) index that starts at the cursor and
+     * stops after {@code limit} rows; ordering by status first lets the rows come out in index order.
+     */
+    @Query(SELECT_SNAPSHOT + "WHERE t.status = :status AND t.dueDatetime >= :dueFrom AND t.dueDatetime < :dueTo " +
+            "AND (t.dueDatetime > :dueFrom OR t.id > :afterId) ORDER BY t.status, t.dueDatetime, t.id")
+    List<TodoSnapshot> findSnapshotDuePage(@Param("status") TodoStatus status,
+                                           @Param("dueFrom") LocalDateTime dueFrom,
+                                           @Param("dueTo") LocalDateTime dueTo,
+                                           @Param("afterId") long afterId,
+                                           Limit limit);
+
+    /**
+     * Keyset page over the items with a stored status and a due datetime in [{@code dueFrom}, {@code dueTo}),
+     * in id order. The database picks between the (status, id) index, filtering on the due datetime,
+     * and a range scan of the (status, due_datetime, id) index followed by a sort, by selectivity.
+     */
+    @Query(SELECT_SNAPSHOT + "WHERE t.status = :status AND t.dueDatetime >= :dueFrom AND t.dueDatetime < :dueTo " +
+            "AND t.id > :afterId ORDER BY t.status, t.id")
+    List<TodoSnapshot> findSnapshotPageDueBetween(@Param("status") TodoStatus status,
+                                                  @Param("dueFrom") LocalDateTime dueFrom,
+                                                  @Param("dueTo") LocalDateTime dueTo,
+                                                  @Param("afterId") long afterId,
+                                                  Limit limit);
+
+    /**
+     * Stream all items as snapshots in id order through a JDBC cursor.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query(SELECT_SNAPSHOT + "ORDER BY t.id")
+    Stream<TodoSnapshot> streamAllSnapshots();
+
+    /**
+     * Stream effectively "not done" items as snapshots in id order through a JDBC cursor.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query(SELECT_SNAPSHOT + "WHERE " + EFFECTIVELY_NOT_DONE + "ORDER BY t.status, t.id")
+    Stream<TodoSnapshot> streamSnapshotsEffectivelyNotDone(@Param("now") LocalDateTime now);
+
+    /**
+     * Items written after the feed position ({@code seq}, {@code afterId}) and at or below {@code watermark},
+     * oldest change first. Rows stamped by one bulk update share a sequence value and are ordered by id.
+     * Served by a range scan of the (modified_seq, id) index, so the cost follows the number of changes.
+     */
+    @Query(SELECT_SNAPSHOT + "WHERE t.modifiedSeq >= :seq AND t.modifiedSeq <= :watermark " +
+            "AND (t.modifiedSeq > :seq OR t.id > :afterId) ORDER BY t.modifiedSeq, t.id")
+    List<TodoSnapshot> findSnapshotsChangedSince(@Param("seq") long seq,
+                                                 @Param("afterId") long afterId,
+                                                 @Param("watermark") long watermark,
+                                                 Limit limit);
+
+    /**
+     * Highest modification sequence value stored, or 0 for an empty table.
+     */
+    @Query("SELECT COALESCE(MAX(t.modifiedSeq), 0) FROM TodoItem t")
+    long findMaxModifiedSeq();
+
+    /**
+     * Stream the id and due datetime of every item with a specific status.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t.id AS id, t.dueDatetime AS dueDatetime FROM TodoItem t WHERE t.status = :status")
+    Stream<DueDateView> streamDueDatesByStatus(@Param("status") TodoStatus status);
 
     /**
      * Find all todo items that are past due and still marked as NOT_DONE.
+     * Served by a range scan of the (status, due_datetime) index.
      */
     @Query("SELECT t FROM TodoItem t WHERE t.status = :status AND t.dueDatetime < :now")
     List<TodoItem> findPastDueItems(@Param("status") TodoStatus status, @Param("now") LocalDateTime now);
 
     /**
-     * Update status of all past due items in bulk.
+     * Update status of the given items to past due, skipping any that are no longer
+     * in the old status or whose due datetime has not passed yet.
+     */
+    @Modifying
+    @Query("UPDATE TodoItem t SET t.status = :newStatus, t.version = t.version + 1, t.modifiedSeq = :modifiedSeq " +
+            "WHERE t.id IN :ids AND t.status = :oldStatus AND t.dueDatetime < :now")
+    int updatePastDueItemsByIds(@Param("ids") Collection<Long> ids,
+                                @Param("oldStatus") TodoStatus oldStatus,
+                                @Param("newStatus") TodoStatus newStatus,
+                                @Param("modifiedSeq") long modifiedSeq,
+                                @Param("now") LocalDateTime now);
+
+    /**
+     * Lock the given items and read back their id, stored status and due datetime, without loading entities.
+     * Ids that do not exist are simply absent from the result.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id AS id, t.status AS status, t.dueDatetime AS dueDatetime FROM TodoItem t WHERE t.id IN :ids")
+    List<StatusView> lockStatusesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Set the status of the given items in one statement, skipping any that are no longer mutable.
      */
     @Modifying
-    @Query("UPDATE TodoItem t SET t.status = :newStatus WHERE t.status = :oldStatus AND t.dueDatetime < :now")
-    int updatePastDueItems(@Param("oldStatus") TodoStatus oldStatus, 
-                           @Param("newStatus") TodoStatus newStatus, 
-                           @Param("now") LocalDateTime now);
+    @Query("UPDATE TodoItem t SET t.status = :status, t.doneDatetime = :doneDatetime, " +
+            "t.version = t.version + 1, t.modifiedSeq = :modifiedSeq WHERE t.id IN :ids AND " + MUTABLE_AT_NOW)
+    int updateStatusByIds(@Param("ids") Collection<Long> ids,
+                          @Param("status") TodoStatus status,
+                          @Param("doneDatetime") LocalDateTime doneDatetime,
+                          @Param("modifiedSeq") long modifiedSeq,
+                          @Param("now") LocalDateTime now);
+
+    /**
+     * Set the description of the given items in one statement, skipping any that are no longer mutable.
+     */
+    @Modifying
+    @Query("UPDATE TodoItem t SET t.description = :description, t.version = t.version + 1, " +
+            "t.modifiedSeq = :modifiedSeq WHERE t.id IN :ids AND " + MUTABLE_AT_NOW)
+    int updateDescriptionByIds(@Param("ids") Collection<Long> ids,
+                               @Param("description") String description,
+                               @Param("modifiedSeq") long modifiedSeq,
+                               @Param("now") LocalDateTime now);
+
+    /**
+     * Set the description of one item if it is still mutable at {@code now} and, when {@code expectedVersion}
+     * is not null, still at that version; read the changed row back, in a single statement
+     * (H2's data change delta table; {@code UPDATE ... RETURNING} elsewhere).
+     * Empty if the item does not exist, is past due or has a different version.
+     */
+    @Query(nativeQuery = true, value = "SELECT " + ROW_COLUMNS + " FROM FINAL TABLE (" +
+            "UPDATE todos SET description = :description, version = version + 1, modified_seq = :modifiedSeq " +
+            "WHERE id = :id AND " + VERSION_MATCHES_SQL + " AND " + MUTABLE_AT_NOW_SQL + ")")
+    Optional<RowView> updateDescriptionIfMutable(@Param("id") Long id,
+                                                 @Param("description") String description,
+                                                 @Param("expectedVersion") Long expectedVersion,
+                                                 @Param("modifiedSeq") long modifiedSeq,
+                                                 @Param("now") LocalDateTime now);
+
+    /**
+     * Set the status and done datetime of one item if it is still mutable at {@code now} and at the expected
+     * version, and read the changed row back, in a single statement.
+     * Empty if the item does not exist, is past due or has a different version.
+     */
+    @Query(nativeQuery = true, value = "SELECT " + ROW_COLUMNS + " FROM FINAL TABLE (" +
+            "UPDATE todos SET status = :#{#status.name()}, done_datetime = :doneDatetime, " +
+            "version = version + 1, modified_seq = :modifiedSeq " +
+            "WHERE id = :id AND " + VERSION_MATCHES_SQL + " AND " + MUTABLE_AT_NOW_SQL + ")")
+    Optional<RowView> updateStatusIfMutable(@Param("id") Long id,
+                                            @Param("status") TodoStatus status,
+                                            @Param("doneDatetime") LocalDateTime doneDatetime,
+                                            @Param("expectedVersion") Long expectedVersion,
+                                            @Param("modifiedSeq") long modifiedSeq,
+                                            @Param("now") LocalDateTime now);
+
+    /**
+     * Like {@link #updateStatusIfMutable}, but only for an item whose stored status differs from {@code status}.
+     * A mutable item is either done or not done, so a changed row tells the caller which status it left.
+     */
+    @Query(nativeQuery = true, value = "SELECT " + ROW_COLUMNS + " FROM FINAL TABLE (" +
+            "UPDATE todos SET status = :#{#status.name()}, done_datetime = :doneDatetime, " +
+            "version = version + 1, modified_seq = :modifiedSeq " +
+            "WHERE id = :id AND status <> :#{#status.name()} AND " + VERSION_MATCHES_SQL + " AND " +
+            MUTABLE_AT_NOW_SQL + ")")
+    Optional<RowView> transitionStatusIfMutable(@Param("id") Long id,
+                                                @Param("status") TodoStatus status,
+                                                @Param("doneDatetime") LocalDateTime doneDatetime,
+                                                @Param("expectedVersion") Long expectedVersion,
+                                                @Param("modifiedSeq") long modifiedSeq,
+                                                @Param("now") LocalDateTime now);
+
+    /**
+     * Number of items per stored status, read from the (status, id) index.
+     */
+    @Query("SELECT t.status AS status, COUNT(t) AS count FROM TodoItem t GROUP BY t.status")
+    List<StatusCountView> countByStatus();
+
+    /**
+     * Number of items in a status that are due before the given time, a range count over the
+     * (status, due_datetime) index.
+     */
+    @Query("SELECT COUNT(t) FROM TodoItem t WHERE t.status = :status AND t.dueDatetime < :dueBefore")
+    long countDueBefore(@Param("status") TodoStatus status, @Param("dueBefore") LocalDateTime dueBefore);
+
+    /**
+     * Projection of a full row returned by a native query.
+     */
+    interface RowView {
+
+        Long getId();
+
+        String getDescription();
+
+        TodoStatus getStatus();
+
+        LocalDateTime getCreationDatetime();
+
+        LocalDateTime getDueDatetime();
+
+        LocalDateTime getDoneDatetime();
+
+        Long getVersion();
+
+        Long getModifiedSeq();
+
+        default TodoSnapshot toSnapshot() {
+            return new TodoSnapshot(getId(), getDescription(), getStatus(),
+                    getCreationDatetime(), getDueDatetime(), getDoneDatetime(), getVersion(), getModifiedSeq());
+        }
+    }
+
+    /**
+     * Projection of an item's id and due datetime.
+     */
+    interface DueDateView {
+
+        Long getId();
+
+        LocalDateTime getDueDatetime();
+    }
+
+    /**
+     * Projection of an item's id, stored status and due datetime.
+     */
+    interface StatusView extends DueDateView {
+
+        TodoStatus getStatus();
+    }
+
+    /**
+     * Projection of a stored status and the number of items in it.
+     */
+    interface StatusCountView {
+
+        TodoStatus getStatus();
+
+        long getCount();
+    }
 }
@@ -0,0 +1,45 @@
+package com.tradebytes.todo.repository;
+
+import com.tradebytes.todo.entity.TodoItem;
+import com.tradebytes.todo.entity.TodoStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of a todo item's stored state, and the read model of the repository: read queries
+ * build snapshots directly with a JPQL constructor expression instead of loading entities.
+ * Holds the stored status; the effective status is evaluated when the snapshot is rendered.
+ * <p>
+ * Snapshots are safe to share between threads, so the item cache keeps them as they are.
+ */
+public record TodoSnapshot(
+        Long id,
+        String description,
+        TodoStatus status,
+        LocalDateTime creationDatetime,
+        LocalDateTime dueDatetime,
+        LocalDateTime doneDatetime,
+        Long version,
+        Long modifiedSeq
+) {
+
+    public static TodoSnapshot of(TodoItem item) {
+        return new TodoSnapshot(
+                item.getId(),
+                item.getDescription(),
+                item.getStatus(),
+                item.getCreationDatetime(),
+                item.getDueDatetime(),
+                item.getDoneDatetime(),
+                item.getVersion(),
+                item.getModifiedSeq()
+        );
+    }
+
+    /**
+     * Get the effective status at the given instant.
+     */
+    public TodoStatus effectiveStatus(LocalDateTime now) {
+        return TodoStatus.effective(status, dueDatetime, now);
+    }
+}
@@ -1,29 +1,56 @@
 package com.tradebytes.todo.scheduler;
 
 import com.tradebytes.todo.service.TodoService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Scheduler component for automatic past due status updates.
+ * Items are normally flipped to past due by {@link PastDueTracker} as their deadline passes;
+ * this periodic sweep is a low-frequency reconciliation safety net.
+ * <p>
+ * Each run is recorded in the {@code todo.past_due.sweep} timer and the rows it updated in the
+ * {@code todo.past_due.marked} counter (tagged {@code source=sweep}). The sweep itself marks items
+ * in short per-chunk transactions, see {@link PastDueSweeper}.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class PastDueScheduler {
 
     private final TodoService todoService;
+    private final Timer sweepTimer;
+    private final Counter markedCounter;
+
+    public PastDueScheduler(TodoService todoService, MeterRegistry meterRegistry) {
+        this.todoService = todoService;
+        this.sweepTimer = Timer.builder("todo.past_due.sweep")
+                .description("Duration of the scheduled past due sweep")
+                .register(meterRegistry);
+        this.markedCounter = Counter.builder(PastDueTracker.MARKED_METRIC)
+                .description("Items marked past due")
+                .tag("source", "sweep")
+                .register(meterRegistry);
+    }
 
     /**
-     * Scheduled task that runs every minute to update past due items.
+     * Scheduled task that runs every ten minutes (by default) to update past due items.
      * Checks all "not done" items and marks them as "past due" if their
      * due_datetime is in the past.
      */
-    @Scheduled(fixedRate = 60000) // Run every minute
+    @Scheduled(fixedRateString = "${todo.past-due.sweep-interval-ms:600000}")
     public void updatePastDueItems() {
         log.info("Running scheduled past due check");
-        todoService.updatePastDueItems();
+        long start = System.nanoTime();
+        try {
+            markedCounter.increment(todoService.updatePastDueItems());
+        } finally {
+            sweepTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 }
@@ -0,0 +1,190 @@
+package com.tradebytes.todo.scheduler;
+
+import com.tradebytes.todo.cache.TodoCache;
+import com.tradebytes.todo.entity.TodoStatus;
+import com.tradebytes.todo.repository.TodoSnapshot;
+import com.tradebytes.todo.service.TodoCounts;
+import com.tradebytes.todo.store.ModificationSequence;
+import com.tradebytes.todo.store.TodoStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Marks every "not done" item due before a given time as past due, a chunk at a time.
+ * <p>
+ * Expired items are read in (due datetime, id) order with a keyset cursor over the
+ * (status, due_datetime, id) index, and each chunk is marked by id in its own short transaction.
+ * A burst of expiring items (e.g. end-of-day deadlines) then never holds row locks on more than
+ * one chunk per worker, so concurrent writes wait for a chunk rather than for the whole sweep.
+ * With a parallelism above one, chunks are marked by a small worker pool while the next ones are
+ * read; chunks hold disjoint ids, so the workers never wait on each other.
+ * <p>
+ * A chunk that fails is logged and skipped; its items are picked up by the tracker or the next
+ * sweep. Publishes the chunks ({@code todo.past_due.sweep.chunks}) and rows
+ * ({@code todo.past_due.sweep.rows}) of each run, the duration of each chunk's transaction
+ * including any wait for row locks ({@code todo.past_due.sweep.chunk}) and failed chunks
+ * ({@code todo.past_due.sweep.chunk.failures}).
+ */
+@Component
+@Slf4j
+public class PastDueSweeper implements DisposableBean {
+
+    private final TodoStore todoStore;
+    private final TransactionTemplate transactionTemplate;
+    private final TodoCache todoCache;
+    private final ModificationSequence modificationSequence;
+    private final TodoCounts todoCounts;
+    private final int chunkSize;
+    private final int parallelism;
+    private final ExecutorService workers;
+    private final Timer chunkTimer;
+    private final DistributionSummary chunksPerRun;
+    private final DistributionSummary rowsPerRun;
+    private final Counter failedChunks;
+
+    public PastDueSweeper(TodoStore todoStore,
+                          TransactionTemplate transactionTemplate,
+                          TodoCache todoCache,
+                          ModificationSequence modificationSequence,
+                          TodoCounts todoCounts,
+                          MeterRegistry meterRegistry,
+                          @Value("${todo.past-due.sweep.chunk-size:500}") int chunkSize,
+                          @Value("${todo.past-due.sweep.parallelism:1}") int parallelism) {
+        if (chunkSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("Sweep chunk size and parallelism must be at least 1");
+        }
+        this.todoStore = todoStore;
+        this.transactionTemplate = transactionTemplate;
+        this.todoCache = todoCache;
+        this.modificationSequence = modificationSequence;
+        this.todoCounts = todoCounts;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.workers = parallelism > 1 ? Executors.newFixedThreadPool(parallelism, workerFactory()) : null;
+        this.chunkTimer = Timer.builder("todo.past_due.sweep.chunk")
+                .description("Duration of one sweep chunk's transaction, including row lock waits")
+                .register(meterRegistry);
+        this.chunksPerRun = DistributionSummary.builder("todo.past_due.sweep.chunks")
+                .description("Chunks marked by one sweep")
+                .register(meterRegistry);
+        this.rowsPerRun = DistributionSummary.builder("todo.past_due.sweep.rows")
+                .description("Items marked past due by one sweep")
+                .register(meterRegistry);
+        this.failedChunks = Counter.builder("todo.past_due.sweep.chunk.failures")
+                .description("Sweep chunks that failed and were left for the next run")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Mark every "not done" item due before {@code now} as past due. Must be called outside a
+     * transaction, since every chunk commits on its own.
+     *
+     * @return the number of items marked
+     */
+    public int sweep(LocalDateTime now) {
+        // Chunks handed to the workers and not collected yet, at most two per worker
+        Deque<Future<Integer>> inFlight = new ArrayDeque<>();
+        int chunks = 0;
+        int marked = 0;
+        LocalDateTime fromDue = LocalDateTime.MIN;
+        long afterId = 0L;
+        List<TodoSnapshot> chunk;
+        do {
+            chunk = todoStore.findDuePage(TodoStatus.NOT_DONE, fromDue, now, afterId, chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            chunks++;
+            List<Long> ids = chunk.stream().map(TodoSnapshot::id).toList();
+            if (workers == null) {
+                marked += markChunk(ids, now);
+            } else {
+                if (inFlight.size() >= 2 * parallelism) {
+                    marked += collect(inFlight.removeFirst());
+                }
+                inFlight.addLast(workers.submit(() -> markChunk(ids, now)));
+            }
+            TodoSnapshot last = chunk.get(chunk.size() - 1);
+            fromDue = last.dueDatetime();
+            afterId = last.id();
+        } while (chunk.size() == chunkSize);
+        while (!inFlight.isEmpty()) {
+            marked += collect(inFlight.removeFirst());
+        }
+
+        chunksPerRun.record(chunks);
+        rowsPerRun.record(marked);
+        log.debug("Sweep marked {} items past due in {} chunks", marked, chunks);
+        return marked;
+    }
+
+    @Override
+    public void destroy() {
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    private int markChunk(List<Long> ids, LocalDateTime now) {
+        long start = System.nanoTime();
+        try {
+            Integer updated = transactionTemplate.execute(status -> {
+                int count = todoStore.markPastDue(ids, modificationSequence.next(), now);
+                if (count > 0) {
+                    // Both take effect once the chunk has committed
+                    todoCounts.moved(TodoStatus.NOT_DONE, TodoStatus.PAST_DUE, count);
+                    todoCache.evictAll(ids);
+                }
+                return count;
+            });
+            return updated == null ? 0 : updated;
+        } catch (RuntimeException ex) {
+            // The tracker or the next sweep will pick these items up
+            failedChunks.increment();
+            log.warn("Failed to mark a chunk of {} items as past due", ids.size(), ex);
+            return 0;
+        } finally {
+            chunkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static int collect(Future<Integer> chunk) {
+        try {
+            return chunk.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (ExecutionException ex) {
+            // markChunk handles its own failures; anything else is a bug
+            throw new IllegalStateException("Sweep chunk failed", ex.getCause());
+        }
+    }
+
+    private static ThreadFactory workerFactory() {
+        AtomicInteger next = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "past-due-sweep-" + next.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,259 @@
+package com.tradebytes.todo.scheduler;
+
+import com.tradebytes.todo.cache.TodoCache;
+import com.tradebytes.todo.clock.TodoClock;
+import com.tradebytes.todo.entity.TodoStatus;
+import com.tradebytes.todo.service.TodoCounts;
+import com.tradebytes.todo.store.ModificationSequence;
+import com.tradebytes.todo.store.TodoStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of "not done" items keyed by due datetime.
+ * <p>
+ * A worker thread waits on a {@link DelayQueue} and flips items to PAST_DUE in small batches
+ * as soon as their deadline passes, instead of waiting for the next scheduler sweep.
+ * The index is loaded on startup and kept up to date by the service on create and status changes.
+ * <p>
+ * Each item has at most one entry. Tracking an item that is already queued for the same deadline
+ * keeps the queued entry, so an item toggled between done and not done does not grow the queue; a
+ * changed deadline replaces it. When an item is marked done before its deadline, its entry simply
+ * expires and the guarded update (status must still be NOT_DONE) leaves it untouched.
+ * <p>
+ * Publishes the number of pending entries ({@code todo.past_due.tracker.pending}) and the items it
+ * marked past due ({@code todo.past_due.marked}, tagged {@code source=tracker}).
+ */
+@Component
+@Slf4j
+public class PastDueTracker implements SmartLifecycle {
+
+    /**
+     * Counter of items marked past due, shared with {@link PastDueScheduler} and tagged by source.
+     */
+    static final String MARKED_METRIC = "todo.past_due.marked";
+
+    private final TodoStore todoStore;
+    private final TransactionTemplate transactionTemplate;
+    private final TodoCache todoCache;
+    private final TodoClock todoClock;
+    private final ModificationSequence modificationSequence;
+    private final TodoCounts todoCounts;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Counter markedCounter;
+
+    private final DelayQueue<DueEntry> queue = new DelayQueue<>();
+    // The entry in the queue for each tracked item
+    private final Map<Long, DueEntry> queued = new ConcurrentHashMap<>();
+    private volatile Thread worker;
+
+    public PastDueTracker(TodoStore todoStore,
+                          TransactionTemplate transactionTemplate,
+                          TodoCache todoCache,
+                          TodoClock todoClock,
+                          ModificationSequence modificationSequence,
+                          TodoCounts todoCounts,
+                          MeterRegistry meterRegistry,
+                          @Value("${todo.past-due.tracker.enabled:true}") boolean enabled,
+                          @Value("${todo.past-due.tracker.batch-size:500}") int batchSize) {
+        this.todoStore = todoStore;
+        this.transactionTemplate = transactionTemplate;
+        this.todoCache = todoCache;
+        this.todoClock = todoClock;
+        this.modificationSequence = modificationSequence;
+        this.todoCounts = todoCounts;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.markedCounter = Counter.builder(MARKED_METRIC)
+                .description("Items marked past due")
+                .tag("source", "tracker")
+                .register(meterRegistry);
+        Gauge.builder("todo.past_due.tracker.pending", queue, DelayQueue::size)
+                .description("Not done items waiting for their deadline")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Track a "not done" item so it is marked past due when its due datetime passes.
+     * Inside a transaction the item is only tracked once the transaction has committed.
+     */
+    public void track(Long id, LocalDateTime dueDatetime) {
+        if (!enabled || id == null || dueDatetime == null) {
+            return;
+        }
+        enqueueAfterCommit(List.of(new DueEntry(id, toEpochMillis(dueDatetime) + 1)));
+    }
+
+    /**
+     * Track a batch of "not done" items, keyed by id, with a single after-commit callback.
+     */
+    public void trackAll(Map<Long, LocalDateTime> dueDatetimes) {
+        if (!enabled || dueDatetimes.isEmpty()) {
+            return;
+        }
+        List<DueEntry> entries = new ArrayList<>(dueDatetimes.size());
+        dueDatetimes.forEach((id, dueDatetime) ->
+                entries.add(new DueEntry(id, toEpochMillis(dueDatetime) + 1)));
+        enqueueAfterCommit(entries);
+    }
+
+    /**
+     * Number of entries currently waiting for their deadline.
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            log.info("Past due tracker disabled; relying on the scheduled sweep only");
+            return;
+        }
+        loadNotDoneItems();
+        Thread thread = new Thread(this::processExpired, "past-due-tracker");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        queue.clear();
+        queued.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return worker != null;
+    }
+
+    private void enqueueAfterCommit(List<DueEntry> entries) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.forEach(PastDueTracker.this::enqueue);
+                }
+            });
+        } else {
+            entries.forEach(this::enqueue);
+        }
+    }
+
+    /**
+     * Queue the entry unless the item already has one for the same deadline.
+     */
+    private void enqueue(DueEntry entry) {
+        queued.compute(entry.id(), (id, current) -> {
+            if (current != null) {
+                if (current.expiresAtMillis() == entry.expiresAtMillis()) {
+                    return current;
+                }
+                queue.remove(current);
+            }
+            queue.add(entry);
+            return entry;
+        });
+    }
+
+    private void loadNotDoneItems() {
+        int loaded = transactionTemplate.execute(status -> {
+            try (Stream<TodoStore.ItemState> items = todoStore.streamStates(TodoStatus.NOT_DONE)) {
+                int[] count = {0};
+                items.forEach(item -> {
+                    enqueue(new DueEntry(item.id(), toEpochMillis(item.dueDatetime()) + 1));
+                    count[0]++;
+                });
+                return count[0];
+            }
+        });
+        log.info("Past due tracker loaded {} not done items", loaded);
+    }
+
+    private void processExpired() {
+        List<DueEntry> batch = new ArrayList<>(batchSize);
+        while (worker == Thread.currentThread()) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                // An entry replaced while it was being taken is stale; its replacement is queued
+                batch.removeIf(entry -> !queued.remove(entry.id(), entry));
+                if (!batch.isEmpty()) {
+                    markPastDue(batch);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                // The scheduled sweep will pick these items up
+                log.warn("Failed to mark {} items as past due", batch.size(), ex);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void markPastDue(List<DueEntry> batch) {
+        List<Long> ids = batch.stream().map(DueEntry::id).toList();
+        Integer updated = transactionTemplate.execute(status ->
+                todoStore.markPastDue(ids, modificationSequence.next(), todoClock.now()));
+        if (updated != null && updated > 0) {
+            markedCounter.increment(updated);
+            todoCounts.moved(TodoStatus.NOT_DONE, TodoStatus.PAST_DUE, updated);
+            todoCache.evictAll(ids);
+            log.debug("Marked {} items as past due", updated);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Queue entry that expires one millisecond after the item's due datetime,
+     * so the guarded update's "due_datetime < now" check is guaranteed to hold.
+     */
+    private record DueEntry(long id, long expiresAtMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiresAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiresAtMillis, ((DueEntry) other).expiresAtMillis);
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.tradebytes.todo.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index from description tokens to the ids of the items containing them.
+ * <p>
+ * Every token has a postings list: a sorted {@code long[]} of ids. New items have the highest ids, so
+ * adding one is almost always an append. Tokens are kept in a sorted dictionary, so a prefix term is
+ * the union of a contiguous range of postings lists. A query walks its terms' lists together in id
+ * order (a leapfrog intersection): each list skips ahead by binary search to the highest id any
+ * other list is at, so the cost follows the shortest list rather than the longest.
+ * <p>
+ * The index also remembers each item's tokens, so a new description only touches the lists of the
+ * tokens that were added or removed. Readers share a read lock; changes take the write lock.
+ */
+public class InvertedIndex {
+
+    private static final long NONE = Long.MAX_VALUE;
+    private static final long[] NO_IDS = new long[0];
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    private final Map<Long, String[]> tokensById = new HashMap<>();
+
+    /**
+     * Index an item's text, replacing what was indexed for it before.
+     */
+    public void put(long id, String text) {
+        Set<String> tokens = new LinkedHashSet<>(SearchQuery.tokenize(text));
+        lock.writeLock().lock();
+        try {
+            String[] previous = tokensById.remove(id);
+            if (previous != null) {
+                for (String token : previous) {
+                    if (!tokens.contains(token)) {
+                        removePosting(token, id);
+                    }
+                }
+            }
+            String[] indexed = new String[tokens.size()];
+            int i = 0;
+            for (String token : tokens) {
+                Postings list = postings.get(token);
+                if (list == null) {
+                    list = new Postings();
+                    postings.put(token, list);
+                } else {
+                    // Hold the dictionary's instance rather than another copy of the same string
+                    token = postings.ceilingKey(token);
+                }
+                // A no-op for tokens the previous text already had
+                list.add(id);
+                indexed[i++] = token;
+            }
+            if (indexed.length > 0) {
+                tokensById.put(id, indexed);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            String[] previous = tokensById.remove(id);
+            if (previous != null) {
+                for (String token : previous) {
+                    removePosting(token, id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            tokensById.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed items.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tokensById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of distinct tokens.
+     */
+    public int tokenCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the items matching every term of the query, in ascending order.
+     *
+     * @param afterId only ids greater than this are returned
+     * @param limit   maximum number of ids to return
+     */
+    public long[] search(SearchQuery query, long afterId, int limit) {
+        if (limit < 1 || afterId >= NONE - 1) {
+            return NO_IDS;
+        }
+        lock.readLock().lock();
+        try {
+            Cursor[] cursors = new Cursor[query.terms().size()];
+            for (int i = 0; i < cursors.length; i++) {
+                cursors[i] = cursor(query.terms().get(i));
+                if (cursors[i] == null) {
+                    return NO_IDS;
+                }
+            }
+            // Lead with the shortest list: every other list only ever skips ahead to its ids
+            Arrays.sort(cursors, Comparator.comparingLong(Cursor::size));
+
+            long[] found = new long[Math.min(limit, 64)];
+            int count = 0;
+            long candidate = afterId + 1;
+            while (count < limit) {
+                long id = cursors[0].advanceTo(candidate);
+                if (id == NONE) {
+                    break;
+                }
+                candidate = id;
+                boolean all = true;
+                for (int i = 1; i < cursors.length && all; i++) {
+                    long other = cursors[i].advanceTo(candidate);
+                    if (other == NONE) {
+                        return Arrays.copyOf(found, count);
+                    }
+                    if (other > candidate) {
+                        candidate = other;
+                        all = false;
+                    }
+                }
+                if (all) {
+                    if (count == found.length) {
+                        found = Arrays.copyOf(found, Math.min(limit, found.length * 2));
+                    }
+                    found[count++] = candidate;
+                    candidate++;
+                }
+            }
+            return Arrays.copyOf(found, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Cursor cursor(SearchQuery.Term term) {
+        if (!term.prefix()) {
+            Postings list = postings.get(term.token());
+            return list != null ? new PostingsCursor(list) : null;
+        }
+        Collection<Postings> lists = postings.subMap(term.token(), true, term.token() + Character.MAX_VALUE, false)
+                .values();
+        if (lists.isEmpty()) {
+            return null;
+        }
+        return lists.size() == 1 ? new PostingsCursor(lists.iterator().next()) : new UnionCursor(List.copyOf(lists));
+    }
+
+    private void removePosting(String token, long id) {
+        Postings list = postings.get(token);
+        if (list != null && list.remove(id) && list.size == 0) {
+            postings.remove(token);
+        }
+    }
+
+    /**
+     * Sorted, growable list of ids.
+     */
+    private static final class Postings {
+
+        private long[] ids = new long[2];
+        private int size;
+
+        void add(long id) {
+            if (size == 0 || id > ids[size - 1]) {
+                ensureCapacity();
+                ids[size++] = id;
+                return;
+            }
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            ensureCapacity();
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        /**
+         * Position of the first id at or above {@code target}, searching from {@code from}.
+         */
+        int seek(long target, int from) {
+            if (from >= size || ids[from] >= target) {
+                return from;
+            }
+            int index = Arrays.binarySearch(ids, from, size, target);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+        }
+    }
+
+    /**
+     * Forward-only walk over the ids of one term, in ascending order.
+     */
+    private interface Cursor {
+
+        /**
+         * The first id at or above {@code target}, or {@link #NONE}.
+         */
+        long advanceTo(long target);
+
+        long size();
+    }
+
+    private static final class PostingsCursor implements Cursor {
+
+        private final Postings list;
+        private int position;
+
+        PostingsCursor(Postings list) {
+            this.list = list;
+        }
+
+        @Override
+        public long advanceTo(long target) {
+            position = list.seek(target, position);
+            return current();
+        }
+
+        long current() {
+            return position < list.size ? list.ids[position] : NONE;
+        }
+
+        @Override
+        public long size() {
+            return list.size;
+        }
+    }
+
+    /**
+     * The union of the postings of every token matching a prefix. The lists' cursors sit in a heap
+     * ordered by their current id, so a step only moves the lists that are behind the target.
+     */
+    private static final class UnionCursor implements Cursor {
+
+        private final PriorityQueue<PostingsCursor> heap;
+        private final List<PostingsCursor> cursors = new ArrayList<>();
+        private final long size;
+
+        UnionCursor(List<Postings> lists) {
+            heap = new PriorityQueue<>(lists.size(), Comparator.comparingLong(PostingsCursor::current));
+            long total = 0;
+            for (Postings list : lists) {
+                cursors.add(new PostingsCursor(list));
+                total += list.size;
+            }
+            size = total;
+        }
+
+        @Override
+        public long advanceTo(long target) {
+            if (heap.isEmpty()) {
+                for (PostingsCursor cursor : cursors) {
+                    cursor.advanceTo(target);
+                }
+                heap.addAll(cursors);
+            }
+            while (heap.peek().current() < target) {
+                PostingsCursor behind = heap.poll();
+                behind.advanceTo(target);
+                heap.add(behind);
+            }
+            return heap.peek().current();
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+    }
+}
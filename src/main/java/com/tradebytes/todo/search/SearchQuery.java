@@ -0,0 +1,90 @@
+package com.tradebytes.todo.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * A parsed full-text query: every term must match (AND). A word ending in {@code *} matches any token
+ * starting with it; other words must match a token exactly. Words are split into tokens the same way
+ * descriptions are, see {@link #tokenize(String)}.
+ */
+public record SearchQuery(List<Term> terms) {
+
+    /**
+     * One query term: a token, or a token prefix.
+     */
+    public record Term(String token, boolean prefix) {
+
+        boolean matches(Set<String> tokens) {
+            if (!prefix) {
+                return tokens.contains(token);
+            }
+            for (String candidate : tokens) {
+                if (candidate.startsWith(token)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Parse a query string.
+     *
+     * @throws IllegalArgumentException if the query contains no letters or digits
+     */
+    public static SearchQuery parse(String query) {
+        List<Term> terms = new ArrayList<>();
+        if (query != null) {
+            for (String word : query.trim().split("\\s+")) {
+                List<String> tokens = tokenize(word);
+                for (int i = 0; i < tokens.size(); i++) {
+                    // "e-mail*" is "e" AND "mail*"
+                    boolean prefix = word.endsWith("*") && i == tokens.size() - 1;
+                    terms.add(new Term(tokens.get(i), prefix));
+                }
+            }
+        }
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one letter or digit");
+        }
+        return new SearchQuery(List.copyOf(terms));
+    }
+
+    /**
+     * Whether the text matches every term. Used to re-check candidates read after the index.
+     */
+    public boolean matches(String text) {
+        Set<String> tokens = Set.copyOf(tokenize(text));
+        for (Term term : terms) {
+            if (!term.matches(tokens)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Split text into lowercase tokens: maximal runs of letters and digits.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            if (Character.isLetterOrDigit(codePoint)) {
+                token.appendCodePoint(codePoint);
+            } else if (!token.isEmpty()) {
+                tokens.add(token.toString().toLowerCase(Locale.ROOT));
+                token.setLength(0);
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (!token.isEmpty()) {
+            tokens.add(token.toString().toLowerCase(Locale.ROOT));
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,53 @@
+package com.tradebytes.todo.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque position in the change feed: the modification sequence value and id of the last change
+ * a client has seen. Rows stamped by one bulk update share a sequence value, so the id is needed
+ * to resume inside such a group.
+ */
+record ChangeToken(long seq, long id) {
+
+    /**
+     * Position before every change, used when the client has no token yet.
+     */
+    static final ChangeToken START = new ChangeToken(0L, 0L);
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * Whether this position comes after the other one in change feed order.
+     */
+    boolean isAfter(ChangeToken other) {
+        return seq > other.seq || (seq == other.seq && id > other.id);
+    }
+
+    String encode() {
+        return ENCODER.encodeToString((seq + ":" + id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decode a token; a missing token means "from the beginning".
+     */
+    static ChangeToken decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String value = new String(DECODER.decode(token), StandardCharsets.US_ASCII);
+            int separator = value.indexOf(':');
+            long seq = Long.parseLong(value, 0, separator, 10);
+            long id = Long.parseLong(value, separator + 1, value.length(), 10);
+            if (seq < 0 || id < 0) {
+                throw new IllegalArgumentException("Invalid change token: " + token);
+            }
+            return new ChangeToken(seq, id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            // NumberFormatException, Base64 errors and a missing separator
+            throw new IllegalArgumentException("Invalid change token: " + token);
+        }
+    }
+}
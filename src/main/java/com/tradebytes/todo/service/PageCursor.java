@@ -0,0 +1,82 @@
+package com.tradebytes.todo.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor used for paging over todo items.
+ * The cursor wraps the id of the last item of the previous page, or its due datetime and id when
+ * the items are sorted by due datetime.
+ */
+final class PageCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private PageCursor() {
+    }
+
+    /**
+     * Encode the id of the last item in a page as an opaque cursor.
+     */
+    static String encode(long lastId) {
+        return ENCODER.encodeToString(Long.toString(lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decode a cursor back into the id to continue after.
+     * A missing cursor means "start from the beginning".
+     */
+    static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        long lastId;
+        try {
+            lastId = Long.parseLong(new String(DECODER.decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException ex) {
+            // NumberFormatException and Base64 decoding errors are both IllegalArgumentExceptions
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        if (lastId < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return lastId;
+    }
+
+    /**
+     * Encode the due datetime and id of the last item in a page sorted by due datetime.
+     */
+    static String encode(LocalDateTime lastDue, long lastId) {
+        return ENCODER.encodeToString((lastDue + "_" + lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decode a cursor of a page sorted by due datetime, or null for a missing cursor.
+     * Cursors of pages sorted by id are rejected, and vice versa.
+     */
+    static DuePosition decodeDue(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String position = new String(DECODER.decode(cursor), StandardCharsets.US_ASCII);
+            int separator = position.lastIndexOf('_');
+            long lastId = Long.parseLong(position, separator + 1, position.length(), 10);
+            if (separator < 1 || lastId < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new DuePosition(LocalDateTime.parse(position.substring(0, separator)), lastId);
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Position after the last item of a page sorted by due datetime.
+     */
+    record DuePosition(LocalDateTime due, long id) {
+    }
+}
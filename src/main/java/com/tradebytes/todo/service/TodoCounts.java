@@ -0,0 +1,126 @@
+package com.tradebytes.todo.service;
+
+import com.tradebytes.todo.entity.TodoStatus;
+import com.tradebytes.todo.store.TodoStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Number of items in each stored status, kept in memory so {@code GET /api/todos/counts} does not count the table.
+ * <p>
+ * Every write that creates an item or changes its status reports it here, and the change is applied once
+ * its transaction has committed. The counters are {@link LongAdder}s: concurrent writers add to separate
+ * cells instead of contending on one value, and a read sums the cells.
+ * <p>
+ * Counts follow the stored status. An overdue item counts as not done until it is marked past due, which
+ * the past due tracker does as its deadline passes; the counts endpoint moves such items to past due when
+ * it reads the counters. The counters are loaded with a grouped count at startup and reconciled against it
+ * every {@code todo.counts.reconcile-interval-ms} (default five minutes), which also repairs changes made
+ * outside the service. A write that commits while that count runs may be
+ * counted twice or not at all until the next reconcile.
+ * <p>
+ * Publishes each count as {@code todo.items}, tagged by status.
+ */
+@Component
+@Slf4j
+public class TodoCounts implements SmartLifecycle {
+
+    private final TodoStore todoStore;
+    private final Map<TodoStatus, LongAdder> counts = new EnumMap<>(TodoStatus.class);
+    private volatile boolean running;
+
+    public TodoCounts(TodoStore todoStore, MeterRegistry meterRegistry) {
+        this.todoStore = todoStore;
+        for (TodoStatus status : TodoStatus.values()) {
+            LongAdder count = new LongAdder();
+            counts.put(status, count);
+            Gauge.builder("todo.items", count, LongAdder::sum)
+                    .description("Items per stored status")
+                    .tag("status", status.getValue())
+                    .register(meterRegistry);
+        }
+    }
+
+    public long get(TodoStatus status) {
+        return counts.get(status).sum();
+    }
+
+    /**
+     * Count items created in the current transaction, once it commits.
+     */
+    public void created(TodoStatus status, long items) {
+        afterCommit(() -> counts.get(status).add(items));
+    }
+
+    /**
+     * Count items that moved from one status to another in the current transaction, once it commits.
+     */
+    public void moved(TodoStatus from, TodoStatus to, long items) {
+        if (from == to || items == 0) {
+            return;
+        }
+        afterCommit(() -> {
+            counts.get(from).add(-items);
+            counts.get(to).add(items);
+        });
+    }
+
+    /**
+     * Correct the counters with a grouped count of the stored items.
+     */
+    @Scheduled(fixedRateString = "${todo.counts.reconcile-interval-ms:300000}",
+            initialDelayString = "${todo.counts.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        Map<TodoStatus, Long> stored = todoStore.countByStatus();
+        for (TodoStatus status : TodoStatus.values()) {
+            LongAdder count = counts.get(status);
+            // Add the difference rather than reset, so changes applied meanwhile are kept
+            long drift = stored.getOrDefault(status, 0L) - count.sum();
+            if (drift != 0) {
+                count.add(drift);
+                if (running) {
+                    log.info("Corrected the {} count by {}", status.getValue(), drift);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        reconcile();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.tradebytes.todo.service;
+
+import com.tradebytes.todo.exception.TodoPreconditionFailedException;
+import com.tradebytes.todo.repository.TodoSnapshot;
+
+import java.time.LocalDateTime;
+
+/**
+ * Strong entity tags of single todo items, in the form {@code "<version>-<EFFECTIVE_STATUS>"}.
+ * The effective status is part of the tag because an item turns past due when its deadline passes,
+ * before the sweep writes (and versions) the row.
+ */
+final class TodoETag {
+
+    private TodoETag() {
+    }
+
+    /**
+     * Tag of the item as rendered at {@code now}.
+     */
+    static String of(TodoSnapshot snapshot, LocalDateTime now) {
+        return "\"" + snapshot.version() + "-" + snapshot.effectiveStatus(now).name() + "\"";
+    }
+
+    /**
+     * Version an If-Match header requires, or null if there is no header or it is "*".
+     * Only a single strong tag in the format above can match; anything else fails the precondition.
+     */
+    static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return null;
+        }
+        int separator = tag.indexOf('-');
+        if (tag.length() < 5 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"' || separator < 2) {
+            throw new TodoPreconditionFailedException(id);
+        }
+        try {
+            return Long.parseLong(tag, 1, separator, 10);
+        } catch (NumberFormatException ex) {
+            throw new TodoPreconditionFailedException(id);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.tradebytes.todo.service;
+
+import com.tradebytes.todo.dto.TodoResponse;
+
+/**
+ * One item change pushed to live subscribers.
+ *
+ * @param id   change feed token of this change; a client resumes after it with Last-Event-ID
+ * @param type {@link #CREATED}, {@link #UPDATED} or {@link #PAST_DUE}
+ * @param todo the item in its current state
+ */
+public record TodoEvent(String id, String type, TodoResponse todo) {
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String PAST_DUE = "past-due";
+}
@@ -0,0 +1,372 @@
+package com.tradebytes.todo.service;
+
+import com.tradebytes.todo.clock.TodoClock;
+import com.tradebytes.todo.entity.TodoStatus;
+import com.tradebytes.todo.mapper.TodoMapper;
+import com.tradebytes.todo.repository.TodoSnapshot;
+import com.tradebytes.todo.store.ModificationSequence;
+import com.tradebytes.todo.store.TodoStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fan-out of item changes to live subscribers, behind {@code GET /api/todos/events}.
+ * <p>
+ * Writers never talk to subscribers. Every committed write has taken a {@link ModificationSequence}
+ * value, and the commit only wakes a single dispatcher thread. The dispatcher reads the new rows
+ * from the change feed once, up to the watermark, and offers one event per item to each
+ * subscriber's bounded buffer without blocking. Creates, single and bulk updates, the past due
+ * tracker and the sweep are all covered this way, in change feed order.
+ * <p>
+ * Each subscriber is drained by its own task on a virtual thread, at the pace of its connection.
+ * A subscriber whose buffer fills up is dropped instead of holding anyone back; its client
+ * reconnects with the last event id it received and is replayed from the change feed.
+ * <p>
+ * Publishes the number of subscribers ({@code todo.events.subscribers}) and the slow subscribers
+ * dropped ({@code todo.events.dropped}).
+ */
+@Component
+@Slf4j
+public class TodoEventHub implements SmartLifecycle {
+
+    /**
+     * Rows read from the change feed per query, by the dispatcher and by a replay.
+     */
+    static final int PAGE_SIZE = 500;
+
+    private static final Dispatched HEARTBEAT = new Dispatched(null, null);
+
+    private final TodoStore todoStore;
+    private final ModificationSequence modificationSequence;
+    private final TodoMapper todoMapper;
+    private final TodoClock todoClock;
+    private final int bufferSize;
+    private final Duration heartbeat;
+    private final Counter droppedCounter;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Semaphore changed = new Semaphore(0);
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Object dispatchLock = new Object();
+    private volatile ChangeToken position;
+    private volatile Thread dispatcher;
+
+    public TodoEventHub(TodoStore todoStore,
+                        ModificationSequence modificationSequence,
+                        TodoMapper todoMapper,
+                        TodoClock todoClock,
+                        MeterRegistry meterRegistry,
+                        @Value("${todo.events.buffer-size:256}") int bufferSize,
+                        @Value("${todo.events.heartbeat:15s}") Duration heartbeat) {
+        this.todoStore = todoStore;
+        this.modificationSequence = modificationSequence;
+        this.todoMapper = todoMapper;
+        this.todoClock = todoClock;
+        this.bufferSize = bufferSize;
+        this.heartbeat = heartbeat;
+        this.droppedCounter = Counter.builder("todo.events.dropped")
+                .description("Event subscribers dropped because they fell behind")
+                .register(meterRegistry);
+        Gauge.builder("todo.events.subscribers", subscribers, Set::size)
+                .description("Connected event subscribers")
+                .register(meterRegistry);
+        this.position = head();
+        modificationSequence.onCommit(changed::release);
+    }
+
+    /**
+     * Subscribe to item changes. With a last event id, changes after it are replayed from the
+     * change feed first; without one (or with one that is not a valid token) only new changes are
+     * delivered. The sink is only ever called from one thread at a time.
+     */
+    public Subscription subscribe(String lastEventId, Sink sink) {
+        ChangeToken resumeFrom = parseLastEventId(lastEventId);
+        Subscriber subscriber = new Subscriber(sink, resumeFrom != null);
+        synchronized (dispatchLock) {
+            subscriber.position = resumeFrom != null ? resumeFrom : position;
+            subscribers.add(subscriber);
+        }
+        subscriber.schedule();
+        log.debug("Event subscriber connected, resuming: {}, subscribers: {}", resumeFrom != null, subscribers.size());
+        return subscriber;
+    }
+
+    /**
+     * Number of connected subscribers.
+     */
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Read everything committed since the last pass and offer it to every subscriber.
+     * With nobody subscribed the position just moves to the head of the feed.
+     */
+    void dispatch() {
+        synchronized (dispatchLock) {
+            if (subscribers.isEmpty()) {
+                position = head();
+                return;
+            }
+        }
+        long watermark = modificationSequence.watermark();
+        List<TodoSnapshot> changes;
+        do {
+            ChangeToken from = position;
+            changes = todoStore.findChangedSince(from.seq(), from.id(), watermark, PAGE_SIZE);
+            LocalDateTime now = todoClock.now();
+            synchronized (dispatchLock) {
+                for (TodoSnapshot snapshot : changes) {
+                    Dispatched event = toEvent(snapshot, now);
+                    position = event.position();
+                    subscribers.forEach(subscriber -> subscriber.offer(event));
+                }
+            }
+        } while (changes.size() == PAGE_SIZE);
+    }
+
+    /**
+     * Keep idle connections open through proxies, and find subscribers that went away.
+     */
+    void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT));
+    }
+
+    @Override
+    public void start() {
+        Thread thread = new Thread(this::dispatchChanges, "todo-event-dispatcher");
+        thread.setDaemon(true);
+        dispatcher = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = dispatcher;
+        dispatcher = null;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Clients reconnect with their last event id
+        subscribers.forEach(Subscriber::close);
+        senders.shutdown();
+        try {
+            if (!senders.awaitTermination(5, TimeUnit.SECONDS)) {
+                senders.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            senders.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return dispatcher != null;
+    }
+
+    private void dispatchChanges() {
+        while (dispatcher == Thread.currentThread()) {
+            try {
+                // Also runs after a quiet interval, which catches any wake-up that was missed
+                boolean woken = changed.tryAcquire(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                changed.drainPermits();
+                dispatch();
+                if (!woken) {
+                    heartbeat();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.warn("Failed to dispatch todo events", ex);
+            }
+        }
+    }
+
+    private ChangeToken head() {
+        // Past every row stamped up to the watermark, whatever its id
+        return new ChangeToken(modificationSequence.watermark(), Long.MAX_VALUE);
+    }
+
+    private Dispatched toEvent(TodoSnapshot snapshot, LocalDateTime now) {
+        ChangeToken token = new ChangeToken(snapshot.modifiedSeq(), snapshot.id());
+        String type = snapshot.status() == TodoStatus.PAST_DUE ? TodoEvent.PAST_DUE
+                : snapshot.version() == 0L ? TodoEvent.CREATED
+                : TodoEvent.UPDATED;
+        return new Dispatched(token, new TodoEvent(token.encode(), type, todoMapper.toResponse(snapshot, now)));
+    }
+
+    private static ChangeToken parseLastEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return ChangeToken.decode(lastEventId);
+        } catch (IllegalArgumentException ex) {
+            log.debug("Ignoring invalid Last-Event-ID {}", lastEventId);
+            return null;
+        }
+    }
+
+    /**
+     * Transport a subscriber's events are written to, e.g. a Server-Sent Events connection.
+     */
+    public interface Sink {
+
+        void send(TodoEvent event) throws IOException;
+
+        void heartbeat() throws IOException;
+
+        /**
+         * End the connection, e.g. because the subscriber fell behind or the service is stopping.
+         */
+        void close();
+    }
+
+    /**
+     * Handle to stop receiving events, e.g. when the connection has gone away.
+     */
+    public interface Subscription {
+
+        void cancel();
+    }
+
+    private record Dispatched(ChangeToken position, TodoEvent event) {
+    }
+
+    private final class Subscriber implements Subscription {
+
+        private final Sink sink;
+        private final BlockingQueue<Dispatched> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean replay;
+        private volatile boolean closed;
+        // Last change delivered; only touched by the drain task once subscribed
+        private ChangeToken position;
+
+        private Subscriber(Sink sink, boolean replay) {
+            this.sink = sink;
+            this.replay = replay;
+        }
+
+        /**
+         * Called by the dispatcher; never blocks.
+         */
+        void offer(Dispatched event) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                droppedCounter.increment();
+                log.debug("Dropping event subscriber that fell {} events behind", bufferSize);
+                close();
+                return;
+            }
+            schedule();
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            closed = true;
+            subscribers.remove(this);
+        }
+
+        void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException ex) {
+                    // The hub has stopped
+                    cancel();
+                    finish();
+                }
+            }
+        }
+
+        private void drain() {
+            do {
+                try {
+                    if (closed) {
+                        finish();
+                        return;
+                    }
+                    if (replay) {
+                        replay = false;
+                        replay();
+                    }
+                    for (Dispatched event; !closed && (event = buffer.poll()) != null; ) {
+                        deliver(event);
+                    }
+                } catch (IOException | RuntimeException ex) {
+                    log.debug("Event subscriber went away: {}", ex.getMessage());
+                    cancel();
+                    finish();
+                    return;
+                }
+                draining.set(false);
+            } while ((closed || !buffer.isEmpty()) && draining.compareAndSet(false, true));
+        }
+
+        /**
+         * Leaves draining set, so nothing is scheduled for this subscriber again.
+         */
+        private void finish() {
+            buffer.clear();
+            sink.close();
+        }
+
+        private void replay() throws IOException {
+            long watermark = modificationSequence.watermark();
+            List<TodoSnapshot> changes;
+            do {
+                changes = todoStore.findChangedSince(position.seq(), position.id(), watermark, PAGE_SIZE);
+                LocalDateTime now = todoClock.now();
+                for (TodoSnapshot snapshot : changes) {
+                    deliver(toEvent(snapshot, now));
+                }
+            } while (changes.size() == PAGE_SIZE && !closed);
+        }
+
+        private void deliver(Dispatched event) throws IOException {
+            if (event == HEARTBEAT) {
+                sink.heartbeat();
+            } else if (event.position().isAfter(position)) {
+                // Skips what a replay has already delivered
+                sink.send(event.event());
+                position = event.position();
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.tradebytes.todo.service;
+
+import com.tradebytes.todo.repository.TodoSnapshot;
+import com.tradebytes.todo.search.InvertedIndex;
+import com.tradebytes.todo.search.SearchQuery;
+import com.tradebytes.todo.store.ModificationSequence;
+import com.tradebytes.todo.store.TodoStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Full-text index of item descriptions, behind {@code GET /api/todos/search}.
+ * <p>
+ * Built from the store when the application starts, then brought up to date from the change feed
+ * before each search. Every write takes a {@link ModificationSequence} value, so reading the feed up
+ * to the watermark picks up creates and description changes from every path, single and bulk, once
+ * they have committed. Items that no longer exist are dropped when a search runs into them.
+ * <p>
+ * Publishes the number of indexed items ({@code todo.search.indexed}).
+ */
+@Component
+@Slf4j
+public class TodoSearchIndex implements SmartLifecycle {
+
+    /**
+     * Rows read from the change feed per query while catching up.
+     */
+    static final int PAGE_SIZE = 500;
+
+    private final InvertedIndex index = new InvertedIndex();
+    private final TodoStore todoStore;
+    private final TransactionTemplate transactionTemplate;
+    private final ModificationSequence modificationSequence;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private ChangeToken position;
+    private volatile long indexedWatermark = -1;
+    private volatile boolean running;
+
+    public TodoSearchIndex(TodoStore todoStore,
+                           TransactionTemplate transactionTemplate,
+                           ModificationSequence modificationSequence,
+                           MeterRegistry meterRegistry) {
+        this.todoStore = todoStore;
+        this.transactionTemplate = transactionTemplate;
+        this.modificationSequence = modificationSequence;
+        Gauge.builder("todo.search.indexed", index, InvertedIndex::size)
+                .description("Items in the description search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ids of the items whose description matches the query, in ascending order, as of the
+     * sequence watermark.
+     */
+    public long[] search(SearchQuery query, long afterId, int limit) {
+        refresh();
+        return index.search(query, afterId, limit);
+    }
+
+    /**
+     * Drop an item that no longer exists.
+     */
+    public void remove(long id) {
+        index.remove(id);
+    }
+
+    /**
+     * Index everything committed since the last refresh; the first refresh builds the whole index.
+     */
+    void refresh() {
+        long watermark = modificationSequence.watermark();
+        if (watermark <= indexedWatermark) {
+            return;
+        }
+        refreshLock.lock();
+        try {
+            if (watermark <= indexedWatermark) {
+                return;
+            }
+            if (position == null) {
+                rebuild(watermark);
+            } else {
+                catchUp(watermark);
+            }
+            indexedWatermark = watermark;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void rebuild(long watermark) {
+        index.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<TodoSnapshot> items = todoStore.streamAll()) {
+                items.forEach(item -> index.put(item.id(), item.description()));
+            }
+        });
+        // Everything up to the watermark is in; items written after it are indexed again on catch up
+        position = new ChangeToken(watermark, Long.MAX_VALUE);
+        log.info("Built the search index: {} items, {} tokens", index.size(), index.tokenCount());
+    }
+
+    private void catchUp(long watermark) {
+        List<TodoSnapshot> changes;
+        do {
+            changes = todoStore.findChangedSince(position.seq(), position.id(), watermark, PAGE_SIZE);
+            for (TodoSnapshot item : changes) {
+                index.put(item.id(), item.description());
+                position = new ChangeToken(item.modifiedSeq(), item.id());
+            }
+        } while (changes.size() == PAGE_SIZE);
+    }
+
+    @Override
+    public void start() {
+        refresh();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
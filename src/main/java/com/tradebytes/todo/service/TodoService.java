@@ -1,11 +1,20 @@
 package com.tradebytes.todo.service;
 
+import com.tradebytes.todo.dto.BatchCreateResponse;
+import com.tradebytes.todo.dto.BatchUpdateRequest;
+import com.tradebytes.todo.dto.BatchUpdateResponse;
+import com.tradebytes.todo.dto.CacheStatsResponse;
 import com.tradebytes.todo.dto.CreateTodoRequest;
+import com.tradebytes.todo.dto.TodoChangesResponse;
+import com.tradebytes.todo.dto.TodoCountsResponse;
+import com.tradebytes.todo.dto.TodoFilter;
+import com.tradebytes.todo.dto.TodoPageResponse;
 import com.tradebytes.todo.dto.TodoResponse;
 import com.tradebytes.todo.dto.UpdateDescriptionRequest;
 import com.tradebytes.todo.dto.UpdateStatusRequest;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for Todo operations.
@@ -17,32 +26,117 @@ public interface TodoService {
      */
     TodoResponse createTodo(CreateTodoRequest request);
 
+    /**
+     * Create several todo items in one transaction, inserted with JDBC batching.
+     * Either all items are created or none are.
+     *
+     * @return the ids of the created items, in request order
+     */
+    BatchCreateResponse createTodos(List<CreateTodoRequest> requests);
+
     /**
      * Get a todo item by its ID.
+     * Served from the item cache when possible. The response carries the item's ETag.
      */
     TodoResponse getTodoById(Long id);
 
+    /**
+     * Get the current strong ETag of a todo item, without mapping it to a response.
+     * Lets conditional GETs be answered with 304 Not Modified from the item cache.
+     */
+    String getTodoETag(Long id);
+
     /**
      * Get all todo items, optionally filtered by status.
      * 
-     * @param includeAll if true, returns all items; if false, returns only "not done" items
+     * @param includeAll if true, returns all items; if false, returns only items that are
+     *                   effectively "not done" (overdue items are excluded even before the sweep runs)
      */
     List<TodoResponse> getAllTodos(boolean includeAll);
 
+    /**
+     * Get a page of todo items using keyset pagination over the item id.
+     *
+     * @param includeAll if true, pages over all items; if false, only over "not done" items
+     * @param after      opaque cursor from the previous page's next_cursor, or null for the first page
+     * @param limit      maximum number of items to return; capped at a server-side maximum
+     */
+    TodoPageResponse getTodoPage(boolean includeAll, String after, int limit);
+
+    /**
+     * Get a page of todo items filtered by effective status and due datetime, sorted by id or by due
+     * datetime. Without any filter this is {@link #getTodoPage(boolean, String, int)}.
+     *
+     * @param filter statuses, due datetime range and sort order
+     * @param after  opaque cursor from the previous page's next_cursor, or null for the first page;
+     *               only valid with the sort order it was issued for
+     * @param limit  maximum number of items to return; capped at a server-side maximum
+     */
+    TodoPageResponse getTodoPage(TodoFilter filter, String after, int limit);
+
+    /**
+     * Get a page of the todo items whose description matches a full-text query, in id order.
+     *
+     * @param query    words that must all appear in the description; a word ending in {@code *} matches as a prefix
+     * @param statuses effective statuses to keep, or null or empty for every status
+     * @param after    opaque cursor from the previous page's next_cursor, or null for the first page
+     * @param limit    maximum number of items to return; capped at a server-side maximum
+     */
+    TodoPageResponse searchTodos(String query, List<String> statuses, String after, int limit);
+
+    /**
+     * Stream todo items to the given consumer one at a time, in id order,
+     * without materialising the whole result set.
+     *
+     * @param includeAll if true, streams all items; if false, only "not done" items
+     */
+    void streamTodos(boolean includeAll, Consumer<TodoResponse> consumer);
+
+    /**
+     * Get the items created or written since a change feed token, oldest change first, so a client
+     * can sync by fetching only what changed.
+     *
+     * @param since opaque token from the previous response's next_token, or null to start from the beginning
+     * @param limit maximum number of items to return; capped at a server-side maximum
+     */
+    TodoChangesResponse getChanges(String since, int limit);
+
     /**
      * Update the description of a todo item.
+     *
+     * @param ifMatch If-Match header value; when present the item must still have that ETag, or null
      */
-    TodoResponse updateDescription(Long id, UpdateDescriptionRequest request);
+    TodoResponse updateDescription(Long id, UpdateDescriptionRequest request, String ifMatch);
 
     /**
      * Update the status of a todo item.
      * Only allows changing to 'done' or 'not done'.
+     *
+     * @param ifMatch If-Match header value; when present the item must still have that ETag, or null
      */
-    TodoResponse updateStatus(Long id, UpdateStatusRequest request);
+    TodoResponse updateStatus(Long id, UpdateStatusRequest request, String ifMatch);
 
     /**
-     * Update status of all past due items.
+     * Apply the same status or description change to several todo items with one set-based update.
+     * Items that do not exist or are past due are skipped and reported, the rest are updated.
+     */
+    BatchUpdateResponse updateTodos(BatchUpdateRequest request);
+
+    /**
+     * Update status of all past due items, in chunks that each commit on their own.
      * Called by the scheduler.
+     *
+     * @return number of items marked past due
+     */
+    int updatePastDueItems();
+
+    /**
+     * Number of items in each status, from counters kept up to date by the writes.
+     */
+    TodoCountsResponse getCounts();
+
+    /**
+     * Hit, miss and eviction counters of the item cache behind {@link #getTodoById(Long)}.
      */
-    void updatePastDueItems();
+    CacheStatsResponse getCacheStats();
 }
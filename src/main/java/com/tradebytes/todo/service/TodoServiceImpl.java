@@ -1,6 +1,16 @@
 package com.tradebytes.todo.service;
 
+import com.tradebytes.todo.cache.TodoCache;
+import com.tradebytes.todo.clock.TodoClock;
+import com.tradebytes.todo.dto.BatchCreateResponse;
+import com.tradebytes.todo.dto.BatchUpdateRequest;
+import com.tradebytes.todo.dto.BatchUpdateResponse;
+import com.tradebytes.todo.dto.CacheStatsResponse;
 import com.tradebytes.todo.dto.CreateTodoRequest;
+import com.tradebytes.todo.dto.TodoChangesResponse;
+import com.tradebytes.todo.dto.TodoCountsResponse;
+import com.tradebytes.todo.dto.TodoFilter;
+import com.tradebytes.todo.dto.TodoPageResponse;
 import com.tradebytes.todo.dto.TodoResponse;
 import com.tradebytes.todo.dto.UpdateDescriptionRequest;
 import com.tradebytes.todo.dto.UpdateStatusRequest;
@@ -8,45 +18,122 @@ import com.tradebytes.todo.entity.TodoItem;
 import com.tradebytes.todo.entity.TodoStatus;
 import com.tradebytes.todo.exception.TodoImmutableException;
 import com.tradebytes.todo.exception.TodoNotFoundException;
+import com.tradebytes.todo.exception.TodoPreconditionFailedException;
 import com.tradebytes.todo.mapper.TodoMapper;
-import com.tradebytes.todo.repository.TodoRepository;
+import com.tradebytes.todo.repository.TodoSnapshot;
+import com.tradebytes.todo.scheduler.PastDueSweeper;
+import com.tradebytes.todo.scheduler.PastDueTracker;
+import com.tradebytes.todo.search.SearchQuery;
+import com.tradebytes.todo.store.ModificationSequence;
+import com.tradebytes.todo.store.TodoStore;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 /**
  * Implementation of TodoService with business logic.
+ * Every public operation is recorded in the {@code todo.service} timer, tagged by method.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
+@Timed(value = "todo.service", description = "Todo service operations")
 public class TodoServiceImpl implements TodoService {
 
-    private final TodoRepository todoRepository;
+    /**
+     * Upper bound for a single page, regardless of the limit requested by the client.
+     */
+    static final int MAX_PAGE_SIZE = 500;
+
+    private final TodoStore todoStore;
     private final TodoMapper todoMapper;
+    private final PastDueTracker pastDueTracker;
+    private final PastDueSweeper pastDueSweeper;
+    private final TodoCache todoCache;
+    private final TodoClock todoClock;
+    private final ModificationSequence modificationSequence;
+    private final TodoSearchIndex todoSearchIndex;
+    private final TodoCounts todoCounts;
 
     @Override
     public TodoResponse createTodo(CreateTodoRequest request) {
         log.info("Creating new todo item with description: {}", request.getDescription());
         
         TodoItem todoItem = todoMapper.toEntity(request);
-        TodoItem savedItem = todoRepository.save(todoItem);
+        todoItem.setModifiedSeq(modificationSequence.next());
+        TodoSnapshot saved = todoStore.insert(todoItem);
+        pastDueTracker.track(saved.id(), saved.dueDatetime());
+        todoCounts.created(saved.status(), 1);
         
-        log.info("Created todo item with id: {}", savedItem.getId());
-        return todoMapper.toResponse(savedItem);
+        log.info("Created todo item with id: {}", saved.id());
+        return todoMapper.toResponse(saved, todoClock.now());
     }
 
+    /**
+     * Cache hits do not open a transaction; with the JPA store, a miss runs in the repository's own read-only transaction.
+     */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public TodoResponse getTodoById(Long id) {
         log.debug("Fetching todo item with id: {}", id);
-        TodoItem todoItem = findTodoById(id);
-        return todoMapper.toResponse(todoItem);
+        TodoSnapshot snapshot = cachedSnapshot(id);
+        LocalDateTime now = todoClock.now();
+        return withETag(todoMapper.toResponse(snapshot, now), snapshot, now);
+    }
+
+    /**
+     * Inserts every item in one transaction and returns their ids in request order.
+     */
+    @Override
+    public BatchCreateResponse createTodos(List<CreateTodoRequest> requests) {
+        log.info("Creating {} todo items in bulk", requests.size());
+
+        LocalDateTime now = todoClock.now();
+        long modifiedSeq = modificationSequence.next();
+        List<TodoSnapshot> saved = todoStore.insertAll(requests.stream()
+                .map(request -> {
+                    TodoItem item = todoMapper.toEntity(request, now);
+                    item.setModifiedSeq(modifiedSeq);
+                    return item;
+                })
+                .toList());
+        pastDueTracker.trackAll(saved.stream()
+                .collect(Collectors.toMap(TodoSnapshot::id, TodoSnapshot::dueDatetime)));
+        saved.stream()
+                .collect(Collectors.groupingBy(TodoSnapshot::status, Collectors.counting()))
+                .forEach(todoCounts::created);
+        List<Long> ids = saved.stream().map(TodoSnapshot::id).toList();
+
+        log.info("Created {} todo items in bulk", ids.size());
+        return BatchCreateResponse.builder().ids(ids).build();
+    }
+
+    /**
+     * Reads the same cached snapshot as {@link #getTodoById(Long)} but skips the mapping.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public String getTodoETag(Long id) {
+        return TodoETag.of(cachedSnapshot(id), todoClock.now());
     }
 
     @Override
@@ -54,36 +141,207 @@ public class TodoServiceImpl implements TodoService {
     public List<TodoResponse> getAllTodos(boolean includeAll) {
         log.debug("Fetching all todos, includeAll: {}", includeAll);
 
-        List<TodoItem> todos = includeAll
-                ? todoRepository.findAll()
-                : todoRepository.findByStatus(TodoStatus.NOT_DONE);
+        // One clock snapshot for the whole response: used both to filter and to render effective status
+        LocalDateTime now = todoClock.now();
+        List<TodoSnapshot> todos = includeAll
+                ? todoStore.findAll()
+                : todoStore.findEffectivelyNotDone(now);
 
         return todos.stream()
-                .map(todoMapper::toResponse)
+                .map(snapshot -> todoMapper.toResponse(snapshot, now))
                 .toList();
     }
 
     @Override
-    public TodoResponse updateDescription(Long id, UpdateDescriptionRequest request) {
+    @Transactional(readOnly = true)
+    public TodoPageResponse getTodoPage(boolean includeAll, String after, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+        long afterId = PageCursor.decode(after);
+        log.debug("Fetching todo page, includeAll: {}, afterId: {}, pageSize: {}", includeAll, afterId, pageSize);
+
+        // Fetch one extra row to find out whether another page follows
+        int fetchLimit = pageSize + 1;
+        LocalDateTime now = todoClock.now();
+        List<TodoSnapshot> todos = includeAll
+                ? todoStore.findPage(afterId, fetchLimit)
+                : todoStore.findPageEffectivelyNotDone(now, afterId, fetchLimit);
+
+        boolean hasMore = todos.size() > pageSize;
+        List<TodoSnapshot> page = hasMore ? todos.subList(0, pageSize) : todos;
+
+        return TodoPageResponse.builder()
+                .items(page.stream().map(snapshot -> todoMapper.toResponse(snapshot, now)).toList())
+                .nextCursor(hasMore ? PageCursor.encode(page.get(page.size() - 1).id()) : null)
+                .build();
+    }
+
+    /**
+     * Each wanted effective status is a due datetime range of one stored status ("not done" splits at
+     * {@code now} into not done and past due), so the page is read with one index range query per
+     * stored status and the results are merged. Each query returns at most one page.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TodoPageResponse getTodoPage(TodoFilter filter, String after, int limit) {
+        if (!filter.isFiltered()) {
+            return getTodoPage(filter.isIncludeAll(), after, limit);
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        boolean byDue = isSortedByDue(filter.getSort());
+        LocalDateTime dueFrom = filter.getDueAfter() == null ? LocalDateTime.MIN : filter.getDueAfter();
+        LocalDateTime dueTo = filter.getDueBefore() == null ? LocalDateTime.MAX : filter.getDueBefore();
+        if (dueFrom.isAfter(dueTo)) {
+            throw new IllegalArgumentException("due_after must not be after due_before");
+        }
+        Set<TodoStatus> wanted = filter.getStatuses() == null || filter.getStatuses().isEmpty()
+                ? (filter.isIncludeAll() ? EnumSet.allOf(TodoStatus.class) : EnumSet.of(TodoStatus.NOT_DONE))
+                : filter.getStatuses().stream()
+                        .map(TodoStatus::fromValue)
+                        .collect(Collectors.toCollection(() -> EnumSet.noneOf(TodoStatus.class)));
+        int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+        log.debug("Fetching filtered todo page, statuses: {}, due: [{}, {}), sort: {}, pageSize: {}",
+                wanted, filter.getDueAfter(), filter.getDueBefore(), byDue ? "due" : "id", pageSize);
+
+        // Fetch one extra row to find out whether another page follows
+        int fetchLimit = pageSize + 1;
+        LocalDateTime now = todoClock.now();
+        List<TodoSnapshot> todos = new ArrayList<>();
+        if (byDue) {
+            PageCursor.DuePosition position = PageCursor.decodeDue(after);
+            for (DueRange range : DueRange.of(wanted, dueFrom, dueTo, now)) {
+                // Continue after the cursor: later due datetimes, or the same one with a higher id
+                LocalDateTime from = position == null || range.from().isAfter(position.due())
+                        ? range.from() : position.due();
+                long afterId = position != null && from.equals(position.due()) ? position.id() : 0L;
+                if (from.isBefore(range.to())) {
+                    todos.addAll(todoStore.findDuePage(range.status(), from, range.to(), afterId, fetchLimit));
+                }
+            }
+            todos.sort(Comparator.comparing(TodoSnapshot::dueDatetime).thenComparing(TodoSnapshot::id));
+        } else {
+            long afterId = PageCursor.decode(after);
+            for (DueRange range : DueRange.of(wanted, dueFrom, dueTo, now)) {
+                todos.addAll(todoStore.findPageDueBetween(range.status(), range.from(), range.to(), afterId,
+                        fetchLimit));
+            }
+            todos.sort(Comparator.comparing(TodoSnapshot::id));
+        }
+
+        boolean hasMore = todos.size() > pageSize;
+        List<TodoSnapshot> page = hasMore ? todos.subList(0, pageSize) : todos;
+        TodoSnapshot last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return TodoPageResponse.builder()
+                .items(page.stream().map(snapshot -> todoMapper.toResponse(snapshot, now)).toList())
+                .nextCursor(!hasMore ? null
+                        : byDue ? PageCursor.encode(last.dueDatetime(), last.id()) : PageCursor.encode(last.id()))
+                .build();
+    }
+
+    /**
+     * Walks the index's matches in id order, a chunk at a time, until the page is full. Candidates are
+     * read back from the store and checked again, since a description may have changed after the index's
+     * watermark; ids that no longer exist are dropped from the index on the way.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TodoPageResponse searchTodos(String query, List<String> statuses, String after, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        SearchQuery searchQuery = SearchQuery.parse(query);
+        Set<TodoStatus> wanted = statuses == null ? Set.of() : statuses.stream()
+                .map(TodoStatus::fromValue)
+                .collect(Collectors.toSet());
+        int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+        long afterId = PageCursor.decode(after);
+        log.debug("Searching todos for '{}', statuses: {}, afterId: {}, pageSize: {}", query, wanted, afterId, pageSize);
+
+        // Collect one extra match to find out whether another page follows
+        int fetchLimit = pageSize + 1;
+        LocalDateTime now = todoClock.now();
+        List<TodoSnapshot> matches = new ArrayList<>(fetchLimit);
+        long from = afterId;
+        while (matches.size() < fetchLimit) {
+            long[] ids = todoSearchIndex.search(searchQuery, from, fetchLimit);
+            if (ids.length == 0) {
+                break;
+            }
+            List<TodoSnapshot> candidates = todoStore.findByIds(LongStream.of(ids).boxed().toList());
+            if (candidates.size() < ids.length) {
+                dropMissing(ids, candidates);
+            }
+            for (TodoSnapshot candidate : candidates) {
+                if (matches.size() < fetchLimit
+                        && (wanted.isEmpty() || wanted.contains(
+                                TodoStatus.effective(candidate.status(), candidate.dueDatetime(), now)))
+                        && searchQuery.matches(candidate.description())) {
+                    matches.add(candidate);
+                }
+            }
+            if (ids.length < fetchLimit) {
+                break;
+            }
+            from = ids[ids.length - 1];
+        }
+
+        boolean hasMore = matches.size() > pageSize;
+        List<TodoSnapshot> page = hasMore ? matches.subList(0, pageSize) : matches;
+
+        return TodoPageResponse.builder()
+                .items(page.stream().map(snapshot -> todoMapper.toResponse(snapshot, now)).toList())
+                .nextCursor(hasMore ? PageCursor.encode(page.get(page.size() - 1).id()) : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamTodos(boolean includeAll, Consumer<TodoResponse> consumer) {
+        log.debug("Streaming todos, includeAll: {}", includeAll);
+
+        LocalDateTime now = todoClock.now();
+        // Snapshots are not managed, so the persistence context does not grow with the table
+        try (Stream<TodoSnapshot> todos = includeAll
+                ? todoStore.streamAll()
+                : todoStore.streamEffectivelyNotDone(now)) {
+            todos.forEach(snapshot -> consumer.accept(todoMapper.toResponse(snapshot, now)));
+        }
+    }
+
+    /**
+     * Guarded single-statement update; the If-Match version is checked in the same statement, so there is
+     * no window for a lost update. The row is only read again to tell 404, 409 and 412 apart when nothing matched.
+     */
+    @Override
+    public TodoResponse updateDescription(Long id, UpdateDescriptionRequest request, String ifMatch) {
         log.info("Updating description for todo item with id: {}", id);
         
-        TodoItem todoItem = findTodoById(id);
-        validateNotPastDue(todoItem);
-        
-        todoItem.setDescription(request.getDescription());
-        TodoItem updatedItem = todoRepository.save(todoItem);
+        Long expectedVersion = TodoETag.expectedVersion(id, ifMatch);
+        LocalDateTime now = todoClock.now();
+        TodoSnapshot updated = todoStore
+                .updateDescriptionIfMutable(id, request.getDescription(), expectedVersion,
+                        modificationSequence.next(), now)
+                .orElseThrow(() -> notUpdated(id, expectedVersion));
+        todoCache.evict(id);
         
         log.info("Updated description for todo item with id: {}", id);
-        return todoMapper.toResponse(updatedItem);
+        return withETag(todoMapper.toResponse(updated, now), updated, now);
     }
 
+    /**
+     * Guarded single-statement update, like {@link #updateDescription(Long, UpdateDescriptionRequest, String)}.
+     * The first statement only matches an item whose status actually changes, which tells the counts what it
+     * moved from; setting the status an item already has takes a second statement.
+     */
     @Override
-    public TodoResponse updateStatus(Long id, UpdateStatusRequest request) {
+    public TodoResponse updateStatus(Long id, UpdateStatusRequest request, String ifMatch) {
         log.info("Updating status for todo item with id: {} to {}", id, request.getStatus());
         
-        TodoItem todoItem = findTodoById(id);
-        validateNotPastDue(todoItem);
-        
         TodoStatus newStatus = TodoStatus.fromValue(request.getStatus());
         
         // Additional validation: cannot set status to PAST_DUE via API
@@ -91,52 +349,233 @@ public class TodoServiceImpl implements TodoService {
             throw new IllegalArgumentException("Cannot set status to 'past due' via API. This status is set automatically.");
         }
         
-        todoItem.setStatus(newStatus);
-        
-        // Update done_datetime based on status
-        if (newStatus == TodoStatus.DONE) {
-            todoItem.setDoneDatetime(LocalDateTime.now());
+        // done_datetime is set when marking done and cleared otherwise
+        Long expectedVersion = TodoETag.expectedVersion(id, ifMatch);
+        LocalDateTime now = todoClock.now();
+        LocalDateTime doneDatetime = newStatus == TodoStatus.DONE ? now : null;
+        long modifiedSeq = modificationSequence.next();
+        Optional<TodoSnapshot> transitioned = todoStore
+                .transitionStatusIfMutable(id, newStatus, doneDatetime, expectedVersion, modifiedSeq, now);
+        TodoSnapshot updated;
+        if (transitioned.isPresent()) {
+            updated = transitioned.get();
+            // A mutable item is either done or not done, so it came from the other one
+            todoCounts.moved(newStatus == TodoStatus.DONE ? TodoStatus.NOT_DONE : TodoStatus.DONE, newStatus, 1);
         } else {
-            todoItem.setDoneDatetime(null);
+            updated = todoStore
+                    .updateStatusIfMutable(id, newStatus, doneDatetime, expectedVersion, modifiedSeq, now)
+                    .orElseThrow(() -> notUpdated(id, expectedVersion));
+        }
+        todoCache.evict(id);
+        if (newStatus == TodoStatus.NOT_DONE) {
+            pastDueTracker.track(updated.id(), updated.dueDatetime());
         }
-        
-        TodoItem updatedItem = todoRepository.save(todoItem);
         
         log.info("Updated status for todo item with id: {} to {}", id, newStatus.getValue());
-        return todoMapper.toResponse(updatedItem);
+        return withETag(todoMapper.toResponse(updated, now), updated, now);
+    }
+
+    @Override
+    public BatchUpdateResponse updateTodos(BatchUpdateRequest request) {
+        TodoStatus newStatus = request.getStatus() != null ? TodoStatus.fromValue(request.getStatus()) : null;
+        if (newStatus == TodoStatus.PAST_DUE) {
+            throw new IllegalArgumentException("Cannot set status to 'past due' via API. This status is set automatically.");
+        }
+        Set<Long> ids = new LinkedHashSet<>(request.getIds());
+        log.info("Bulk updating {} todo items", ids.size());
+
+        // Lock the rows and classify them from a projection; no entities are loaded
+        LocalDateTime now = todoClock.now();
+        Map<Long, TodoStore.ItemState> rows = todoStore.lockStates(ids).stream()
+                .collect(Collectors.toMap(TodoStore.ItemState::id, Function.identity()));
+
+        List<Long> updated = new ArrayList<>();
+        List<Long> notFound = new ArrayList<>();
+        List<Long> immutable = new ArrayList<>();
+        for (Long id : ids) {
+            TodoStore.ItemState row = rows.get(id);
+            if (row == null) {
+                notFound.add(id);
+            } else if (TodoStatus.effective(row.status(), row.dueDatetime(), now) == TodoStatus.PAST_DUE) {
+                immutable.add(id);
+            } else {
+                updated.add(id);
+            }
+        }
+
+        if (!updated.isEmpty()) {
+            long modifiedSeq = modificationSequence.next();
+            int updatedCount = newStatus != null
+                    ? todoStore.updateStatus(updated, newStatus, newStatus == TodoStatus.DONE ? now : null,
+                            modifiedSeq, now)
+                    : todoStore.updateDescription(updated, request.getDescription(), modifiedSeq, now);
+            if (updatedCount != updated.size()) {
+                // Cannot happen while the rows are locked; the guarded update still kept past due items intact
+                log.warn("Bulk update expected {} rows but updated {}", updated.size(), updatedCount);
+            }
+            todoCache.evictAll(updated);
+            if (newStatus != null) {
+                // The rows are locked, so their stored status is still the one read above
+                updated.stream()
+                        .collect(Collectors.groupingBy(id -> rows.get(id).status(), Collectors.counting()))
+                        .forEach((from, count) -> todoCounts.moved(from, newStatus, count));
+            }
+            if (newStatus == TodoStatus.NOT_DONE) {
+                pastDueTracker.trackAll(updated.stream()
+                        .collect(Collectors.toMap(Function.identity(), id -> rows.get(id).dueDatetime())));
+            }
+        }
+
+        log.info("Bulk update: {} updated, {} not found, {} immutable", updated.size(), notFound.size(), immutable.size());
+        return BatchUpdateResponse.builder()
+                .updated(updated)
+                .notFound(notFound)
+                .immutable(immutable)
+                .build();
     }
 
+    /**
+     * Runs without a transaction of its own: the sweep commits chunk by chunk.
+     */
     @Override
-    public void updatePastDueItems() {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int updatePastDueItems() {
         log.debug("Running scheduled past due items update");
-        
-        int updatedCount = todoRepository.updatePastDueItems(
-                TodoStatus.NOT_DONE,
-                TodoStatus.PAST_DUE,
-                LocalDateTime.now()
-        );
-        
+
+        int updatedCount = pastDueSweeper.sweep(todoClock.now());
+
         if (updatedCount > 0) {
             log.info("Updated {} items to past due status", updatedCount);
         }
+        return updatedCount;
+    }
+
+    /**
+     * Reads up to the sequence watermark only, so a token never moves past a write that has not committed yet.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TodoChangesResponse getChanges(String since, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+        ChangeToken from = ChangeToken.decode(since);
+        long watermark = modificationSequence.watermark();
+        log.debug("Fetching changes since seq {} id {}, watermark: {}, pageSize: {}", from.seq(), from.id(),
+                watermark, pageSize);
+
+        List<TodoSnapshot> changes = todoStore.findChangedSince(from.seq(), from.id(), watermark, pageSize + 1);
+        boolean hasMore = changes.size() > pageSize;
+        List<TodoSnapshot> page = hasMore ? changes.subList(0, pageSize) : changes;
+        ChangeToken next = page.isEmpty()
+                ? from
+                : new ChangeToken(page.get(page.size() - 1).modifiedSeq(), page.get(page.size() - 1).id());
+
+        LocalDateTime now = todoClock.now();
+        return TodoChangesResponse.builder()
+                .items(page.stream().map(snapshot -> todoMapper.toResponse(snapshot, now)).toList())
+                .nextToken(next.encode())
+                .hasMore(hasMore)
+                .build();
     }
 
     /**
-     * Find a todo item by ID or throw exception.
+     * Read from the in-memory counters, which follow the stored status. Overdue items that are not
+     * marked yet are moved from "not done" to "past due" with a range count over the
+     * (status, due_datetime) index, which holds only those items while the tracker keeps up.
      */
-    private TodoItem findTodoById(Long id) {
-        return todoRepository.findById(id)
-                .orElseThrow(() -> new TodoNotFoundException(id));
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public TodoCountsResponse getCounts() {
+        long overdue = todoStore.countDueBefore(TodoStatus.NOT_DONE, todoClock.now());
+        long notDone = Math.max(0, todoCounts.get(TodoStatus.NOT_DONE) - overdue);
+        long done = todoCounts.get(TodoStatus.DONE);
+        long pastDue = todoCounts.get(TodoStatus.PAST_DUE) + overdue;
+        return TodoCountsResponse.builder()
+                .notDone(notDone)
+                .done(done)
+                .pastDue(pastDue)
+                .total(notDone + done + pastDue)
+                .build();
+    }
+
+    @Override
+    public CacheStatsResponse getCacheStats() {
+        return todoCache.stats();
+    }
+
+    private TodoSnapshot cachedSnapshot(Long id) {
+        TodoSnapshot snapshot = todoCache.get(id, key -> todoStore.findById(key).orElse(null));
+        if (snapshot == null) {
+            throw new TodoNotFoundException(id);
+        }
+        return snapshot;
+    }
+
+    private static boolean isSortedByDue(String sort) {
+        if (sort == null || TodoFilter.SORT_BY_ID.equals(sort)) {
+            return false;
+        }
+        if (TodoFilter.SORT_BY_DUE.equals(sort)) {
+            return true;
+        }
+        throw new IllegalArgumentException("Unknown sort: " + sort + " (expected 'id' or 'due')");
+    }
+
+    private static TodoResponse withETag(TodoResponse response, TodoSnapshot snapshot, LocalDateTime now) {
+        response.setEtag(TodoETag.of(snapshot, now));
+        return response;
     }
 
     /**
-     * Validate that the todo item is not past due.
-     * Uses the entity's isEffectivelyPastDue() as single source of truth.
+     * Exception for a guarded update that matched no row: the item is missing, was changed since
+     * the client's If-Match version, or is past due. A failed precondition wins over past due.
      */
-    private void validateNotPastDue(TodoItem todoItem) {
-        if (todoItem.isEffectivelyPastDue()) {
-            throw new TodoImmutableException(todoItem.getId());
+    private RuntimeException notUpdated(Long id, Long expectedVersion) {
+        return todoStore.findById(id)
+                .<RuntimeException>map(current -> expectedVersion != null && !expectedVersion.equals(current.version())
+                        ? new TodoPreconditionFailedException(id)
+                        : new TodoImmutableException(id))
+                .orElseGet(() -> new TodoNotFoundException(id));
+    }
+
+    private void dropMissing(long[] ids, List<TodoSnapshot> found) {
+        Set<Long> present = found.stream().map(TodoSnapshot::id).collect(Collectors.toSet());
+        for (long id : ids) {
+            if (!present.contains(id)) {
+                todoSearchIndex.remove(id);
+            }
         }
     }
 
+    /**
+     * Items with a stored status and a due datetime in [from, to).
+     */
+    private record DueRange(TodoStatus status, LocalDateTime from, LocalDateTime to) {
+
+        /**
+         * Ranges covering the items with one of the wanted effective statuses and a due datetime in
+         * [from, to) at {@code now}. Empty ranges are left out.
+         */
+        static List<DueRange> of(Set<TodoStatus> wanted, LocalDateTime from, LocalDateTime to, LocalDateTime now) {
+            boolean notDone = wanted.contains(TodoStatus.NOT_DONE);
+            boolean pastDue = wanted.contains(TodoStatus.PAST_DUE);
+            List<DueRange> ranges = new ArrayList<>(3);
+            if (notDone || pastDue) {
+                // Stored "not done" items are effectively past due once due before now
+                ranges.add(new DueRange(TodoStatus.NOT_DONE,
+                        notDone && from.isBefore(now) && !pastDue ? now : from,
+                        pastDue && to.isAfter(now) && !notDone ? now : to));
+            }
+            if (pastDue) {
+                ranges.add(new DueRange(TodoStatus.PAST_DUE, from, to));
+            }
+            if (wanted.contains(TodoStatus.DONE)) {
+                ranges.add(new DueRange(TodoStatus.DONE, from, to));
+            }
+            ranges.removeIf(range -> !range.from().isBefore(range.to()));
+            return ranges;
+        }
+    }
 }
@@ -0,0 +1,533 @@
+package com.tradebytes.todo.store;
+
+import com.tradebytes.todo.entity.TodoItem;
+import com.tradebytes.todo.entity.TodoStatus;
+import com.tradebytes.todo.repository.TodoSnapshot;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@link TodoStore} that keeps items in process, for deployments whose data does not outlive the
+ * process anyway. Selected with {@code todo.store=memory}.
+ * <p>
+ * Items live in a concurrent map keyed by id. Ordered indexes stand in for the database indexes:
+ * all ids, ids per stored status, (due datetime, id) per stored status and all items by
+ * (modified_seq, id). Each item is changed atomically inside its map entry, which also moves its
+ * index entries: the new entries are added before the old ones are removed, and readers check
+ * every index hit against the current item, so a concurrent reader never misses an item that was
+ * not changed while it read.
+ * <p>
+ * There is no transaction: a write is visible as soon as it returns and is not rolled back with
+ * the surrounding transaction. {@link #lockStates(Collection)} does not lock; the bulk update it
+ * feeds is guarded per item anyway.
+ * <p>
+ * Every change is also handed to a {@link Journal}, and each write method returns only once the
+ * journal has made its changes durable. Without one ({@link Journal#NONE}) nothing survives a restart.
+ */
+public class InMemoryTodoStore implements TodoStore {
+
+    private final Map<Long, TodoSnapshot> items = new ConcurrentHashMap<>();
+    private final NavigableSet<Long> ids = new ConcurrentSkipListSet<>();
+    private final Map<TodoStatus, NavigableSet<Long>> idsByStatus = new ConcurrentHashMap<>();
+    private final Map<TodoStatus, NavigableSet<DueKey>> dueByStatus = new ConcurrentHashMap<>();
+    private final NavigableSet<SeqKey> bySeq = new ConcurrentSkipListSet<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final Journal journal;
+
+    public InMemoryTodoStore() {
+        this(Journal.NONE);
+    }
+
+    public InMemoryTodoStore(Journal journal) {
+        this.journal = journal;
+    }
+
+    @Override
+    public TodoSnapshot insert(TodoItem item) {
+        TodoSnapshot inserted = add(item);
+        journal.sync();
+        return inserted;
+    }
+
+    @Override
+    public List<TodoSnapshot> insertAll(List<TodoItem> newItems) {
+        List<TodoSnapshot> inserted = newItems.stream().map(this::add).toList();
+        journal.sync();
+        return inserted;
+    }
+
+    private TodoSnapshot add(TodoItem item) {
+        Objects.requireNonNull(item.getDueDatetime(), "dueDatetime must not be null");
+        // Same defaults as TodoItem's @PrePersist, written back to the item as persisting it would
+        item.setId(nextId.getAndIncrement());
+        item.setVersion(0L);
+        if (item.getCreationDatetime() == null) {
+            item.setCreationDatetime(LocalDateTime.now());
+        }
+        if (item.getStatus() == null) {
+            item.setStatus(TodoStatus.NOT_DONE);
+        }
+        if (item.getModifiedSeq() == null) {
+            item.setModifiedSeq(0L);
+        }
+        TodoSnapshot snapshot = TodoSnapshot.of(item);
+        items.compute(snapshot.id(), (id, current) -> {
+            // Indexed first, so that a compaction walking the ids waits for this entry once its record is out
+            index(snapshot, null);
+            try {
+                journal.put(snapshot);
+            } catch (RuntimeException ex) {
+                unindex(snapshot);
+                throw ex;
+            }
+            return snapshot;
+        });
+        return snapshot;
+    }
+
+    @Override
+    public Optional<TodoSnapshot> findById(Long id) {
+        return Optional.ofNullable(items.get(id));
+    }
+
+    @Override
+    public List<TodoSnapshot> findByIds(Collection<Long> idsToFind) {
+        return idsToFind.stream()
+                .distinct()
+                .sorted()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public List<TodoSnapshot> findAll() {
+        return streamAll().toList();
+    }
+
+    @Override
+    public List<TodoSnapshot> findEffectivelyNotDone(LocalDateTime now) {
+        return streamEffectivelyNotDone(now).toList();
+    }
+
+    @Override
+    public List<TodoSnapshot> findPage(long afterId, int limit) {
+        return ids.tailSet(afterId, false).stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public List<TodoSnapshot> findPageEffectivelyNotDone(LocalDateTime now, long afterId, int limit) {
+        return statusIndex(TodoStatus.NOT_DONE).tailSet(afterId, false).stream()
+                .map(items::get)
+                .filter(item -> item != null && isEffectivelyNotDone(item, now))
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public List<TodoSnapshot> findDuePage(TodoStatus status, LocalDateTime dueFrom, LocalDateTime dueTo, long afterId,
+                                          int limit) {
+        if (!dueFrom.isBefore(dueTo)) {
+            return List.of();
+        }
+        List<TodoSnapshot> page = new ArrayList<>(Math.min(limit, 64));
+        for (DueKey key : dueIndex(status).subSet(new DueKey(dueFrom, afterId), false,
+                new DueKey(dueTo, Long.MIN_VALUE), false)) {
+            if (page.size() == limit) {
+                break;
+            }
+            TodoSnapshot item = items.get(key.id());
+            if (item != null && item.status() == status) {
+                page.add(item);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Walks the status index in id order and filters on the due datetime, like the (status, id) index plan.
+     */
+    @Override
+    public List<TodoSnapshot> findPageDueBetween(TodoStatus status, LocalDateTime dueFrom, LocalDateTime dueTo,
+                                                 long afterId, int limit) {
+        return statusIndex(status).tailSet(afterId, false).stream()
+                .map(items::get)
+                .filter(item -> item != null && item.status() == status
+                        && !item.dueDatetime().isBefore(dueFrom) && item.dueDatetime().isBefore(dueTo))
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public Stream<TodoSnapshot> streamAll() {
+        return ids.stream().map(items::get).filter(Objects::nonNull);
+    }
+
+    @Override
+    public Stream<TodoSnapshot> streamEffectivelyNotDone(LocalDateTime now) {
+        return statusIndex(TodoStatus.NOT_DONE).stream()
+                .map(items::get)
+                .filter(item -> item != null && isEffectivelyNotDone(item, now));
+    }
+
+    @Override
+    public List<TodoSnapshot> findChangedSince(long seq, long afterId, long watermark, int limit) {
+        List<TodoSnapshot> changes = new ArrayList<>(Math.min(limit, 64));
+        for (SeqKey key : bySeq.tailSet(new SeqKey(seq, afterId), false)) {
+            if (key.seq() > watermark || changes.size() == limit) {
+                break;
+            }
+            TodoSnapshot item = items.get(key.id());
+            if (item != null && item.modifiedSeq() == key.seq()) {
+                changes.add(item);
+            }
+        }
+        return changes;
+    }
+
+    @Override
+    public long maxModifiedSeq() {
+        return bySeq.isEmpty() ? 0L : bySeq.last().seq();
+    }
+
+    @Override
+    public Stream<ItemState> streamStates(TodoStatus status) {
+        return statusIndex(status).stream()
+                .map(items::get)
+                .filter(item -> item != null && item.status() == status)
+                .map(InMemoryTodoStore::stateOf);
+    }
+
+    @Override
+    public List<ItemState> lockStates(Collection<Long> idsToLock) {
+        return idsToLock.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .map(InMemoryTodoStore::stateOf)
+                .toList();
+    }
+
+    @Override
+    public int updateStatus(Collection<Long> idsToUpdate, TodoStatus status, LocalDateTime doneDatetime,
+                            long modifiedSeq, LocalDateTime now) {
+        int updated = 0;
+        for (Long id : idsToUpdate) {
+            if (change(id, item -> isMutable(item, now) ? withStatus(item, status, doneDatetime, modifiedSeq) : null)
+                    .isPresent()) {
+                updated++;
+            }
+        }
+        journal.sync();
+        return updated;
+    }
+
+    @Override
+    public int updateDescription(Collection<Long> idsToUpdate, String description, long modifiedSeq,
+                                 LocalDateTime now) {
+        int updated = 0;
+        for (Long id : idsToUpdate) {
+            if (change(id, item -> isMutable(item, now) ? withDescription(item, description, modifiedSeq) : null)
+                    .isPresent()) {
+                updated++;
+            }
+        }
+        journal.sync();
+        return updated;
+    }
+
+    @Override
+    public Optional<TodoSnapshot> updateDescriptionIfMutable(Long id, String description, Long expectedVersion,
+                                                             long modifiedSeq, LocalDateTime now) {
+        return update(id, item -> isMutable(item, now) && versionMatches(item, expectedVersion)
+                ? withDescription(item, description, modifiedSeq)
+                : null);
+    }
+
+    @Override
+    public Optional<TodoSnapshot> updateStatusIfMutable(Long id, TodoStatus status, LocalDateTime doneDatetime,
+                                                        Long expectedVersion, long modifiedSeq, LocalDateTime now) {
+        return update(id, item -> isMutable(item, now) && versionMatches(item, expectedVersion)
+                ? withStatus(item, status, doneDatetime, modifiedSeq)
+                : null);
+    }
+
+    @Override
+    public Optional<TodoSnapshot> transitionStatusIfMutable(Long id, TodoStatus status, LocalDateTime doneDatetime,
+                                                            Long expectedVersion, long modifiedSeq,
+                                                            LocalDateTime now) {
+        return update(id, item -> item.status() != status && isMutable(item, now)
+                && versionMatches(item, expectedVersion)
+                ? withStatus(item, status, doneDatetime, modifiedSeq)
+                : null);
+    }
+
+    @Override
+    public int markPastDue(Collection<Long> idsToMark, long modifiedSeq, LocalDateTime now) {
+        int updated = 0;
+        for (Long id : idsToMark) {
+            Optional<TodoSnapshot> marked = change(id, item ->
+                    item.status() == TodoStatus.NOT_DONE && item.dueDatetime().isBefore(now)
+                            ? withStatus(item, TodoStatus.PAST_DUE, item.doneDatetime(), modifiedSeq)
+                            : null);
+            if (marked.isPresent()) {
+                updated++;
+            }
+        }
+        journal.sync();
+        return updated;
+    }
+
+    @Override
+    public long count() {
+        return items.size();
+    }
+
+    @Override
+    public Map<TodoStatus, Long> countByStatus() {
+        return items.values().stream()
+                .collect(Collectors.groupingBy(TodoSnapshot::status, () -> new EnumMap<>(TodoStatus.class),
+                        Collectors.counting()));
+    }
+
+    @Override
+    public long countDueBefore(TodoStatus status, LocalDateTime dueBefore) {
+        return dueIndex(status).headSet(new DueKey(dueBefore, Long.MIN_VALUE), false).stream()
+                .map(key -> items.get(key.id()))
+                .filter(item -> item != null && item.status() == status && item.dueDatetime().isBefore(dueBefore))
+                .count();
+    }
+
+    @Override
+    public void deleteAll() {
+        for (Long id : ids) {
+            items.computeIfPresent(id, (key, current) -> {
+                journal.remove(key);
+                unindex(current);
+                return null;
+            });
+        }
+        journal.sync();
+    }
+
+    /**
+     * Replay a journaled item state, without journaling it again.
+     */
+    void restore(TodoSnapshot item) {
+        items.compute(item.id(), (id, current) -> {
+            if (current != null) {
+                dueIndex(current.status()).remove(new DueKey(current.dueDatetime(), id));
+            }
+            index(item, current);
+            return item;
+        });
+        nextId.accumulateAndGet(item.id() + 1, Math::max);
+    }
+
+    /**
+     * Replay a journaled removal, without journaling it again.
+     */
+    void restoreRemoval(long id) {
+        items.computeIfPresent(id, (key, current) -> {
+            unindex(current);
+            return null;
+        });
+        nextId.accumulateAndGet(id + 1, Math::max);
+    }
+
+    /**
+     * The id the next inserted item gets.
+     */
+    long nextId() {
+        return nextId.get();
+    }
+
+    void restoreNextId(long id) {
+        nextId.accumulateAndGet(id, Math::max);
+    }
+
+    /**
+     * Pass the current state of every item to {@code action}, in id order. Each item is read under
+     * its entry lock, so a change whose journal record was already written is never missed.
+     */
+    void forEachItem(Consumer<TodoSnapshot> action) {
+        TodoSnapshot[] current = new TodoSnapshot[1];
+        for (Long id : ids) {
+            current[0] = null;
+            items.computeIfPresent(id, (key, item) -> {
+                current[0] = item;
+                return item;
+            });
+            if (current[0] != null) {
+                action.accept(current[0]);
+            }
+        }
+    }
+
+    /**
+     * Apply a guarded change to one item and wait for it to be durable.
+     */
+    private Optional<TodoSnapshot> update(Long id, UnaryOperator<TodoSnapshot> change) {
+        Optional<TodoSnapshot> changed = change(id, change);
+        if (changed.isPresent()) {
+            journal.sync();
+        }
+        return changed;
+    }
+
+    /**
+     * Apply a guarded change to one item atomically. The change returns null to leave the item as it is.
+     */
+    private Optional<TodoSnapshot> change(Long id, UnaryOperator<TodoSnapshot> change) {
+        TodoSnapshot[] changed = new TodoSnapshot[1];
+        items.computeIfPresent(id, (key, current) -> {
+            TodoSnapshot next = change.apply(current);
+            if (next == null) {
+                return current;
+            }
+            journal.put(next);
+            index(next, current);
+            changed[0] = next;
+            return next;
+        });
+        return Optional.ofNullable(changed[0]);
+    }
+
+    private void index(TodoSnapshot item, TodoSnapshot previous) {
+        ids.add(item.id());
+        statusIndex(item.status()).add(item.id());
+        dueIndex(item.status()).add(new DueKey(item.dueDatetime(), item.id()));
+        bySeq.add(new SeqKey(item.modifiedSeq(), item.id()));
+        if (previous != null) {
+            if (previous.status() != item.status()) {
+                statusIndex(previous.status()).remove(previous.id());
+                dueIndex(previous.status()).remove(new DueKey(previous.dueDatetime(), previous.id()));
+            }
+            if (previous.modifiedSeq() != item.modifiedSeq()) {
+                bySeq.remove(new SeqKey(previous.modifiedSeq(), previous.id()));
+            }
+        }
+    }
+
+    private void unindex(TodoSnapshot item) {
+        ids.remove(item.id());
+        statusIndex(item.status()).remove(item.id());
+        dueIndex(item.status()).remove(new DueKey(item.dueDatetime(), item.id()));
+        bySeq.remove(new SeqKey(item.modifiedSeq(), item.id()));
+    }
+
+    private NavigableSet<Long> statusIndex(TodoStatus status) {
+        return idsByStatus.computeIfAbsent(status, key -> new ConcurrentSkipListSet<>());
+    }
+
+    private NavigableSet<DueKey> dueIndex(TodoStatus status) {
+        return dueByStatus.computeIfAbsent(status, key -> new ConcurrentSkipListSet<>());
+    }
+
+    private static TodoSnapshot withDescription(TodoSnapshot item, String description, long modifiedSeq) {
+        return new TodoSnapshot(item.id(), description, item.status(), item.creationDatetime(),
+                item.dueDatetime(), item.doneDatetime(), item.version() + 1, modifiedSeq);
+    }
+
+    private static TodoSnapshot withStatus(TodoSnapshot item, TodoStatus status, LocalDateTime doneDatetime,
+                                           long modifiedSeq) {
+        return new TodoSnapshot(item.id(), item.description(), status, item.creationDatetime(),
+                item.dueDatetime(), doneDatetime, item.version() + 1, modifiedSeq);
+    }
+
+    private static boolean isEffectivelyNotDone(TodoSnapshot item, LocalDateTime now) {
+        return item.status() == TodoStatus.NOT_DONE && !item.dueDatetime().isBefore(now);
+    }
+
+    /**
+     * Same condition as {@code TodoRepository.MUTABLE_AT_NOW}.
+     */
+    private static boolean isMutable(TodoSnapshot item, LocalDateTime now) {
+        return item.status() != TodoStatus.PAST_DUE
+                && (item.status() != TodoStatus.NOT_DONE || !item.dueDatetime().isBefore(now));
+    }
+
+    private static boolean versionMatches(TodoSnapshot item, Long expectedVersion) {
+        return expectedVersion == null || expectedVersion.equals(item.version());
+    }
+
+    private static ItemState stateOf(TodoSnapshot item) {
+        return new ItemState(item.id(), item.status(), item.dueDatetime());
+    }
+
+    /**
+     * Receives every change to the store, see {@link TodoJournal}.
+     */
+    public interface Journal {
+
+        Journal NONE = new Journal() {
+            @Override
+            public void put(TodoSnapshot item) {
+            }
+
+            @Override
+            public void remove(long id) {
+            }
+
+            @Override
+            public void sync() {
+            }
+        };
+
+        /**
+         * Record the new state of an item. Called while the item's entry is locked, so the records of
+         * one item are in change order; must not block for long. A record that is rejected by
+         * throwing leaves the store as it was.
+         */
+        void put(TodoSnapshot item);
+
+        /**
+         * Record the removal of an item, under the same conditions as {@link #put(TodoSnapshot)}.
+         */
+        void remove(long id);
+
+        /**
+         * Block until everything recorded so far is durable.
+         */
+        void sync();
+    }
+
+    private record DueKey(LocalDateTime due, long id) implements Comparable<DueKey> {
+
+        private static final Comparator<DueKey> ORDER =
+                Comparator.comparing(DueKey::due).thenComparingLong(DueKey::id);
+
+        @Override
+        public int compareTo(DueKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    private record SeqKey(long seq, long id) implements Comparable<SeqKey> {
+
+        @Override
+        public int compareTo(SeqKey other) {
+            int bySeq = Long.compare(seq, other.seq);
+            return bySeq != 0 ? bySeq : Long.compare(id, other.id);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.tradebytes.todo.store;
+
+import com.tradebytes.todo.entity.TodoItem;
+import com.tradebytes.todo.entity.TodoStatus;
+import com.tradebytes.todo.repository.TodoRepository;
+import com.tradebytes.todo.repository.TodoSnapshot;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * {@link TodoStore} over the database, through {@link TodoRepository}. The default engine.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.store", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+public class JpaTodoStore implements TodoStore {
+
+    /**
+     * Number of new items kept in the persistence context during a bulk insert before they are
+     * flushed (as JDBC batches of hibernate.jdbc.batch_size rows) and detached.
+     */
+    static final int INSERT_CHUNK_SIZE = 500;
+
+    private static final LocalDateTime EARLIEST_DUE = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST_DUE = LocalDateTime.of(999_999, 12, 31, 23, 59, 59);
+
+    private final TodoRepository todoRepository;
+    private final EntityManager entityManager;
+
+    @Override
+    public TodoSnapshot insert(TodoItem item) {
+        return TodoSnapshot.of(todoRepository.save(item));
+    }
+
+    @Override
+    public List<TodoSnapshot> insertAll(List<TodoItem> items) {
+        List<TodoSnapshot> inserted = new ArrayList<>(items.size());
+        for (int from = 0; from < items.size(); from += INSERT_CHUNK_SIZE) {
+            List<TodoItem> chunk = items.subList(from, Math.min(from + INSERT_CHUNK_SIZE, items.size()));
+            List<TodoItem> savedItems = todoRepository.saveAll(chunk);
+            entityManager.flush();
+            entityManager.clear();
+            savedItems.forEach(item -> inserted.add(TodoSnapshot.of(item)));
+        }
+        return inserted;
+    }
+
+    @Override
+    public Optional<TodoSnapshot> findById(Long id) {
+        return todoRepository.findSnapshotById(id);
+    }
+
+    @Override
+    public List<TodoSnapshot> findByIds(Collection<Long> ids) {
+        return ids.isEmpty() ? List.of() : todoRepository.findSnapshotsByIds(ids);
+    }
+
+    @Override
+    public List<TodoSnapshot> findAll() {
+        return todoRepository.findAllSnapshots();
+    }
+
+    @Override
+    public List<TodoSnapshot> findEffectivelyNotDone(LocalDateTime now) {
+        return todoRepository.findSnapshotsEffectivelyNotDone(now);
+    }
+
+    @Override
+    public List<TodoSnapshot> findPage(long afterId, int limit) {
+        return todoRepository.findSnapshotPage(afterId, Limit.of(limit));
+    }
+
+    @Override
+    public List<TodoSnapshot> findPageEffectivelyNotDone(LocalDateTime now, long afterId, int limit) {
+        return todoRepository.findSnapshotPageEffectivelyNotDone(now, afterId, Limit.of(limit));
+    }
+
+    @Override
+    public List<TodoSnapshot> findDuePage(TodoStatus status, LocalDateTime dueFrom, LocalDateTime dueTo, long afterId,
+                                          int limit) {
+        return todoRepository.findSnapshotDuePage(status, bindable(dueFrom), bindable(dueTo), afterId,
+                Limit.of(limit));
+    }
+
+    @Override
+    public List<TodoSnapshot> findPageDueBetween(TodoStatus status, LocalDateTime dueFrom, LocalDateTime dueTo,
+                                                 long afterId, int limit) {
+        return todoRepository.findSnapshotPageDueBetween(status, bindable(dueFrom), bindable(dueTo), afterId,
+                Limit.of(limit));
+    }
+
+    @Override
+    public Stream<TodoSnapshot> streamAll() {
+        return todoRepository.streamAllSnapshots();
+    }
+
+    @Override
+    public Stream<TodoSnapshot> streamEffectivelyNotDone(LocalDateTime now) {
+        return todoRepository.streamSnapshotsEffectivelyNotDone(now);
+    }
+
+    @Override
+    public List<TodoSnapshot> findChangedSince(long seq, long afterId, long watermark, int limit) {
+        return todoRepository.findSnapshotsChangedSince(seq, afterId, watermark, Limit.of(limit));
+    }
+
+    @Override
+    public long maxModifiedSeq() {
+        return todoRepository.findMaxModifiedSeq();
+    }
+
+    @Override
+    public Stream<ItemState> streamStates(TodoStatus status) {
+        return todoRepository.streamDueDatesByStatus(status)
+                .map(row -> new ItemState(row.getId(), status, row.getDueDatetime()));
+    }
+
+    @Override
+    public List<ItemState> lockStates(Collection<Long> ids) {
+        return todoRepository.lockStatusesByIds(ids).stream()
+                .map(row -> new ItemState(row.getId(), row.getStatus(), row.getDueDatetime()))
+                .toList();
+    }
+
+    @Override
+    public int updateStatus(Collection<Long> ids, TodoStatus status, LocalDateTime doneDatetime,
+                            long modifiedSeq, LocalDateTime now) {
+        return todoRepository.updateStatusByIds(ids, status, doneDatetime, modifiedSeq, now);
+    }
+
+    @Override
+    public int updateDescription(Collection<Long> ids, String description, long modifiedSeq, LocalDateTime now) {
+        return todoRepository.updateDescriptionByIds(ids, description, modifiedSeq, now);
+    }
+
+    @Override
+    public Optional<TodoSnapshot> updateDescriptionIfMutable(Long id, String description, Long expectedVersion,
+                                                             long modifiedSeq, LocalDateTime now) {
+        return todoRepository.updateDescriptionIfMutable(id, description, expectedVersion, modifiedSeq, now)
+                .map(TodoRepository.RowView::toSnapshot);
+    }
+
+    @Override
+    public Optional<TodoSnapshot> updateStatusIfMutable(Long id, TodoStatus status, LocalDateTime doneDatetime,
+                                                        Long expectedVersion, long modifiedSeq, LocalDateTime now) {
+        return todoRepository.updateStatusIfMutable(id, status, doneDatetime, expectedVersion, modifiedSeq, now)
+                .map(TodoRepository.RowView::toSnapshot);
+    }
+
+    @Override
+    public Optional<TodoSnapshot> transitionStatusIfMutable(Long id, TodoStatus status, LocalDateTime doneDatetime,
+                                                            Long expectedVersion, long modifiedSeq,
+                                                            LocalDateTime now) {
+        return todoRepository.transitionStatusIfMutable(id, status, doneDatetime, expectedVersion, modifiedSeq, now)
+                .map(TodoRepository.RowView::toSnapshot);
+    }
+
+    @Override
+    public int markPastDue(Collection<Long> ids, long modifiedSeq, LocalDateTime now) {
+        return todoRepository.updatePastDueItemsByIds(ids, TodoStatus.NOT_DONE, TodoStatus.PAST_DUE, modifiedSeq, now);
+    }
+
+    @Override
+    public long count() {
+        return todoRepository.count();
+    }
+
+    @Override
+    public Map<TodoStatus, Long> countByStatus() {
+        Map<TodoStatus, Long> counts = new EnumMap<>(TodoStatus.class);
+        todoRepository.countByStatus().forEach(row -> counts.put(row.getStatus(), row.getCount()));
+        return counts;
+    }
+
+    @Override
+    public long countDueBefore(TodoStatus status, LocalDateTime dueBefore) {
+        return todoRepository.countDueBefore(status, dueBefore);
+    }
+
+    @Override
+    public void deleteAll() {
+        todoRepository.deleteAllInBatch();
+    }
+
+    /**
+     * Datetimes are bound through {@link java.sql.Timestamp}, which cannot hold {@link LocalDateTime#MIN}
+     * or {@link LocalDateTime#MAX}; the open bounds of a due range are narrowed to the widest values it can.
+     * Created items are due in the years 1 to 9999, so the narrowed range still holds every item.
+     */
+    private static LocalDateTime bindable(LocalDateTime due) {
+        if (due.isBefore(EARLIEST_DUE)) {
+            return EARLIEST_DUE;
+        }
+        return due.isAfter(LATEST_DUE) ? LATEST_DUE : due;
+    }
+}
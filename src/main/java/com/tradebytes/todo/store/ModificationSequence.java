@@ -0,0 +1,81 @@
+package com.tradebytes.todo.store;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Source of the {@code modified_seq} values stamped on items by every write, and of the watermark
+ * up to which the change feed may read.
+ * <p>
+ * Sequence values are taken before the transaction commits, so a later value can become visible
+ * before an earlier one. A feed that handed out a token past an uncommitted value would skip that
+ * change for good. Each value taken inside a transaction therefore stays in flight until the
+ * transaction completes, and the watermark stays just below the oldest value still in flight.
+ * <p>
+ * Values are handed out in-process, continuing from the highest stored value on startup. Like the
+ * item cache and the past due tracker, this assumes a single instance owns the database.
+ */
+@Component
+public class ModificationSequence {
+
+    private final NavigableSet<Long> inFlight = new TreeSet<>();
+    private final List<Runnable> commitListeners = new CopyOnWriteArrayList<>();
+    private long last;
+
+    public ModificationSequence(TodoStore todoStore) {
+        this.last = todoStore.maxModifiedSeq();
+    }
+
+    /**
+     * Take the next value. Inside a transaction it is held back from the watermark until the
+     * transaction commits or rolls back.
+     */
+    public long next() {
+        boolean transactional = TransactionSynchronizationManager.isSynchronizationActive();
+        long value;
+        synchronized (this) {
+            value = ++last;
+            if (transactional) {
+                inFlight.add(value);
+            }
+        }
+        if (transactional) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    release(value);
+                    if (status == STATUS_COMMITTED) {
+                        commitListeners.forEach(Runnable::run);
+                    }
+                }
+            });
+        }
+        return value;
+    }
+
+    /**
+     * Highest value below which every write has completed. Rows stamped with a higher value may
+     * still be uncommitted and must not be passed by a change feed token yet.
+     */
+    public synchronized long watermark() {
+        return inFlight.isEmpty() ? last : inFlight.first() - 1;
+    }
+
+    /**
+     * Run the listener after every transaction that took a value commits, once the watermark has
+     * moved past it. Listeners run on the committing thread and must not block.
+     */
+    public void onCommit(Runnable listener) {
+        commitListeners.add(listener);
+    }
+
+    private synchronized void release(long value) {
+        inFlight.remove(value);
+    }
+}
@@ -0,0 +1,475 @@
+package com.tradebytes.todo.store;
+
+import com.tradebytes.todo.entity.TodoStatus;
+import com.tradebytes.todo.repository.TodoSnapshot;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal plus snapshot that let {@link InMemoryTodoStore} survive restarts.
+ * <p>
+ * Every change is appended to {@code journal-<generation>.log} as the item's full new state, or its
+ * removal, in a frame of length, CRC32 and payload. One writer thread takes everything appended
+ * since its last pass, writes it and forces it to disk with a single fsync (group commit), so
+ * concurrent writers share the cost of a sync; {@link #sync()} blocks until the caller's records
+ * are durable.
+ * <p>
+ * Once the current journal has grown past {@code compactAfter} bytes, the writer moves on to the
+ * next generation and a background thread writes every item to {@code snapshot.dat} (through a
+ * temporary file and an atomic rename), then deletes the older journals. Records that land in the
+ * new journal while the snapshot is written are full states, so replaying them over the snapshot
+ * is harmless.
+ * <p>
+ * {@link #open(InMemoryTodoStore)} reads the snapshot and the journals after it through memory
+ * mappings and replays them into the store. A torn frame at the end of the last journal, left by
+ * a crash in the middle of a write, is cut off; a corrupt frame in any older journal fails the open.
+ */
+@Slf4j
+public class TodoJournal implements InMemoryTodoStore.Journal, AutoCloseable {
+
+    static final String SNAPSHOT_FILE = "snapshot.dat";
+    private static final String JOURNAL_PREFIX = "journal-";
+    private static final String JOURNAL_SUFFIX = ".log";
+
+    private static final int SNAPSHOT_MAGIC = 0x54444f53;
+    private static final int FRAME_HEADER_BYTES = 8;
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+
+    private final Path directory;
+    private final long compactAfter;
+    private final DistributionSummary batchRecords;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+    private ByteBuffer pending = ByteBuffer.allocate(BUFFER_BYTES);
+    private long appendedRecords;
+    private long durableRecords;
+    private IOException failure;
+    private boolean closing;
+    private boolean stopped;
+
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "todo-journal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private InMemoryTodoStore store;
+    private FileChannel journal;
+    private long generation;
+    private Thread writer;
+
+    public TodoJournal(Path directory, long compactAfter, MeterRegistry meterRegistry) {
+        this.directory = directory;
+        this.compactAfter = compactAfter;
+        this.batchRecords = DistributionSummary.builder("todo.journal.batch.records")
+                .description("Records made durable by one fsync of the store journal")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Replay the snapshot and journals into the empty {@code store}, then start accepting records.
+     */
+    public void open(InMemoryTodoStore store) throws IOException {
+        this.store = store;
+        Files.createDirectories(directory);
+
+        long snapshotGeneration = 0;
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshot)) {
+            MappedByteBuffer buffer = map(snapshot);
+            if (buffer.getInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a todo snapshot: " + snapshot);
+            }
+            snapshotGeneration = buffer.getLong();
+            store.restoreNextId(buffer.getLong());
+            replay(buffer, store);
+        }
+
+        generation = snapshotGeneration;
+        long validLength = 0;
+        List<Long> journalGenerations = journalGenerations();
+        long lastGeneration = journalGenerations.isEmpty() ? snapshotGeneration : journalGenerations.getLast();
+        for (long journalGeneration : journalGenerations) {
+            Path file = journalFile(journalGeneration);
+            if (journalGeneration < snapshotGeneration) {
+                Files.deleteIfExists(file);
+                continue;
+            }
+            MappedByteBuffer buffer = map(file);
+            validLength = replay(buffer, store);
+            if (validLength < buffer.capacity()) {
+                if (journalGeneration != lastGeneration) {
+                    // Only a crash mid-write tears a record, and only the newest journal is written to;
+                    // replaying the newer journals over the gap would leave the store inconsistent
+                    throw new IOException("Corrupt record at offset " + validLength + " of " + file
+                            + ", which is followed by newer journals");
+                }
+                log.warn("Ignoring {} bytes after the last complete record of {}",
+                        buffer.capacity() - validLength, file);
+            }
+            generation = journalGeneration;
+        }
+
+        journal = FileChannel.open(journalFile(generation),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        journal.truncate(validLength);
+        journal.position(validLength);
+        log.info("Restored {} todo items from {} (journal generation {})", store.count(), directory, generation);
+
+        writer = new Thread(this::writeLoop, "todo-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void put(TodoSnapshot item) {
+        append(encode(item));
+    }
+
+    @Override
+    public void remove(long id) {
+        ByteBuffer payload = ByteBuffer.allocate(1 + Long.BYTES);
+        payload.put(REMOVE).putLong(id).flip();
+        append(payload);
+    }
+
+    @Override
+    public void sync() {
+        lock.lock();
+        try {
+            long target = appendedRecords;
+            while (durableRecords < target) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Writing the todo journal failed", failure);
+                }
+                if (stopped) {
+                    throw new IllegalStateException("The todo journal is closed");
+                }
+                flushed.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Write out what is still pending and stop; later records are rejected with an
+     * {@link IllegalStateException}. Waits for a running compaction; if interrupted
+     * while waiting, restores the interrupt flag and leaves the journal open to the writer.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closing = true;
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            if (writer != null) {
+                writer.join();
+            }
+            compactor.shutdown();
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException ex) {
+            compactor.shutdown();
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private void append(ByteBuffer payload) {
+        lock.lock();
+        try {
+            if (closing) {
+                throw new IllegalStateException("The todo journal is closed");
+            }
+            int frameBytes = FRAME_HEADER_BYTES + payload.remaining();
+            if (pending.remaining() < frameBytes) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + frameBytes));
+                pending.flip();
+                larger.put(pending);
+                pending = larger;
+            }
+            writeFrame(pending, payload);
+            appendedRecords++;
+            appended.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeLoop() {
+        ByteBuffer spare = ByteBuffer.allocate(BUFFER_BYTES);
+        while (true) {
+            ByteBuffer batch;
+            long target;
+            long records;
+            lock.lock();
+            try {
+                while (pending.position() == 0 && !closing) {
+                    appended.awaitUninterruptibly();
+                }
+                if (pending.position() == 0) {
+                    stopped = true;
+                    flushed.signalAll();
+                    return;
+                }
+                batch = pending;
+                pending = spare;
+                target = appendedRecords;
+                records = target - durableRecords;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                batch.flip();
+                while (batch.hasRemaining()) {
+                    journal.write(batch);
+                }
+                journal.force(false);
+                if (journal.size() >= compactAfter && compacting.compareAndSet(false, true)) {
+                    rotate();
+                }
+            } catch (IOException ex) {
+                log.error("Writing the todo journal failed, no further changes are durable", ex);
+                lock.lock();
+                try {
+                    failure = ex;
+                    flushed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+            batch.clear();
+            spare = batch;
+
+            lock.lock();
+            try {
+                durableRecords = target;
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            batchRecords.record(records);
+        }
+    }
+
+    /**
+     * Start the next journal and snapshot everything up to it in the background. Runs on the writer
+     * thread between batches, so every record before the switch is in the older journals.
+     */
+    private void rotate() throws IOException {
+        journal.close();
+        generation++;
+        journal = FileChannel.open(journalFile(generation),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        long snapshotGeneration = generation;
+        compactor.execute(() -> compact(snapshotGeneration));
+    }
+
+    private void compact(long snapshotGeneration) {
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try {
+            try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+                buffer.putInt(SNAPSHOT_MAGIC).putLong(snapshotGeneration).putLong(store.nextId());
+                store.forEachItem(item -> {
+                    ByteBuffer payload = encode(item);
+                    try {
+                        if (buffer.remaining() < FRAME_HEADER_BYTES + payload.remaining()) {
+                            drain(buffer, out);
+                        }
+                        if (buffer.remaining() < FRAME_HEADER_BYTES + payload.remaining()) {
+                            ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_BYTES + payload.remaining());
+                            writeFrame(frame, payload);
+                            drain(frame, out);
+                        } else {
+                            writeFrame(buffer, payload);
+                        }
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                drain(buffer, out);
+                out.force(true);
+            }
+            Files.move(temporary, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            for (long journalGeneration : journalGenerations()) {
+                if (journalGeneration < snapshotGeneration) {
+                    Files.deleteIfExists(journalFile(journalGeneration));
+                }
+            }
+            log.debug("Compacted the todo journal into a snapshot at generation {}", snapshotGeneration);
+        } catch (IOException | UncheckedIOException ex) {
+            log.warn("Compacting the todo journal failed, keeping the journals", ex);
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    private static void drain(ByteBuffer buffer, FileChannel out) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private List<Long> journalGenerations() throws IOException {
+        List<Long> generations = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(JOURNAL_PREFIX) && name.endsWith(JOURNAL_SUFFIX))
+                    .forEach(name -> generations.add(Long.parseLong(
+                            name.substring(JOURNAL_PREFIX.length(), name.length() - JOURNAL_SUFFIX.length()))));
+        }
+        generations.sort(null);
+        return generations;
+    }
+
+    private Path journalFile(long journalGeneration) {
+        return directory.resolve(JOURNAL_PREFIX + journalGeneration + JOURNAL_SUFFIX);
+    }
+
+    private static MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Too large to map in one piece: " + file);
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Apply the frames from the buffer's position on, stopping at the first incomplete or corrupt one.
+     *
+     * @return the position after the last applied frame
+     */
+    private static int replay(ByteBuffer buffer, InMemoryTodoStore store) throws IOException {
+        CRC32 crc = new CRC32();
+        while (buffer.remaining() >= FRAME_HEADER_BYTES) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                return start;
+            }
+            ByteBuffer payload = buffer.slice(buffer.position(), length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                return start;
+            }
+            if (payload.get() == PUT) {
+                store.restore(decode(payload));
+            } else {
+                store.restoreRemoval(payload.getLong());
+            }
+            buffer.position(buffer.position() + length);
+        }
+        return buffer.position();
+    }
+
+    private static void writeFrame(ByteBuffer target, ByteBuffer payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        target.putInt(payload.remaining()).putInt((int) crc.getValue()).put(payload);
+    }
+
+    private static ByteBuffer encode(TodoSnapshot item) {
+        byte[] description = item.description().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer payload = ByteBuffer.allocate(1 + Long.BYTES + 1 + 3 * (Long.BYTES + Integer.BYTES) + 1
+                + 2 * Long.BYTES + Integer.BYTES + description.length);
+        payload.put(PUT).putLong(item.id()).put(statusCode(item.status()));
+        putDatetime(payload, item.creationDatetime());
+        putDatetime(payload, item.dueDatetime());
+        payload.put((byte) (item.doneDatetime() != null ? 1 : 0));
+        if (item.doneDatetime() != null) {
+            putDatetime(payload, item.doneDatetime());
+        }
+        payload.putLong(item.version()).putLong(item.modifiedSeq());
+        payload.putInt(description.length).put(description);
+        return payload.flip();
+    }
+
+    private static TodoSnapshot decode(ByteBuffer payload) throws IOException {
+        long id = payload.getLong();
+        TodoStatus status = status(payload.get());
+        LocalDateTime creation = getDatetime(payload);
+        LocalDateTime due = getDatetime(payload);
+        LocalDateTime doneDatetime = payload.get() == 1 ? getDatetime(payload) : null;
+        long version = payload.getLong();
+        long modifiedSeq = payload.getLong();
+        byte[] description = new byte[payload.getInt()];
+        payload.get(description);
+        return new TodoSnapshot(id, new String(description, StandardCharsets.UTF_8), status, creation, due,
+                doneDatetime, version, modifiedSeq);
+    }
+
+    /**
+     * On-disk code of a status. Fixed per status rather than taken from the enum's order, so that
+     * reordering or adding statuses keeps existing journals and snapshots readable.
+     */
+    private static byte statusCode(TodoStatus status) {
+        return switch (status) {
+            case NOT_DONE -> 0;
+            case DONE -> 1;
+            case PAST_DUE -> 2;
+        };
+    }
+
+    private static TodoStatus status(byte code) throws IOException {
+        return switch (code) {
+            case 0 -> TodoStatus.NOT_DONE;
+            case 1 -> TodoStatus.DONE;
+            case 2 -> TodoStatus.PAST_DUE;
+            default -> throw new IOException("Unknown status code in the todo journal: " + code);
+        };
+    }
+
+    private static void putDatetime(ByteBuffer buffer, LocalDateTime datetime) {
+        buffer.putLong(datetime.toEpochSecond(ZoneOffset.UTC)).putInt(datetime.getNano());
+    }
+
+    private static LocalDateTime getDatetime(ByteBuffer buffer) {
+        return LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+    }
+}
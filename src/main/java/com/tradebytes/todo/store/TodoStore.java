@@ -0,0 +1,172 @@
+package com.tradebytes.todo.store;
+
+import com.tradebytes.todo.entity.TodoItem;
+import com.tradebytes.todo.entity.TodoStatus;
+import com.tradebytes.todo.repository.TodoSnapshot;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Storage engine behind the service, the past due tracker and the change feed.
+ * <p>
+ * Selected with {@code todo.store}: {@code jpa} (default) keeps items in the database through
+ * {@link com.tradebytes.todo.repository.TodoRepository}, {@code memory} keeps them in process
+ * ({@link InMemoryTodoStore}). Reads return {@link TodoSnapshot}s; every write stamps the rows it
+ * changes with the given modification sequence value and moves their version.
+ * <p>
+ * An item is mutable at {@code now} unless it is past due, or "not done" with a due datetime that
+ * has already passed. Guarded writes leave immutable items untouched.
+ */
+public interface TodoStore {
+
+    /**
+     * Store a new item. Id, version and missing defaults are assigned by the store and set on the
+     * item, as persisting an entity does.
+     */
+    TodoSnapshot insert(TodoItem item);
+
+    /**
+     * Store new items, returning them in the same order.
+     */
+    List<TodoSnapshot> insertAll(List<TodoItem> items);
+
+    Optional<TodoSnapshot> findById(Long id);
+
+    /**
+     * The given items in id order. Ids that do not exist are absent from the result.
+     */
+    List<TodoSnapshot> findByIds(Collection<Long> ids);
+
+    /**
+     * All items in id order.
+     */
+    List<TodoSnapshot> findAll();
+
+    /**
+     * Items stored as "not done" whose due datetime has not passed at {@code now}, in id order.
+     */
+    List<TodoSnapshot> findEffectivelyNotDone(LocalDateTime now);
+
+    /**
+     * Keyset page: the next {@code limit} items with an id greater than {@code afterId}.
+     */
+    List<TodoSnapshot> findPage(long afterId, int limit);
+
+    /**
+     * Keyset page over the items that are effectively "not done" at {@code now}.
+     */
+    List<TodoSnapshot> findPageEffectivelyNotDone(LocalDateTime now, long afterId, int limit);
+
+    /**
+     * Keyset page over the items with the given stored status and a due datetime in
+     * [{@code dueFrom}, {@code dueTo}), in (due datetime, id) order. Items due exactly at
+     * {@code dueFrom} are only returned with an id greater than {@code afterId}, so a page continues
+     * after its last item by passing that item's due datetime and id. {@link LocalDateTime#MIN} and
+     * {@link LocalDateTime#MAX} leave a bound open.
+     */
+    List<TodoSnapshot> findDuePage(TodoStatus status, LocalDateTime dueFrom, LocalDateTime dueTo, long afterId,
+                                   int limit);
+
+    /**
+     * Keyset page over the items with the given stored status and a due datetime in
+     * [{@code dueFrom}, {@code dueTo}), in id order: the next {@code limit} with an id greater than
+     * {@code afterId}.
+     */
+    List<TodoSnapshot> findPageDueBetween(TodoStatus status, LocalDateTime dueFrom, LocalDateTime dueTo,
+                                          long afterId, int limit);
+
+    /**
+     * All items in id order, without holding them all in memory at once where the engine allows.
+     * Must be closed; the JPA engine also needs a surrounding transaction.
+     */
+    Stream<TodoSnapshot> streamAll();
+
+    /**
+     * Streaming counterpart of {@link #findEffectivelyNotDone(LocalDateTime)}.
+     */
+    Stream<TodoSnapshot> streamEffectivelyNotDone(LocalDateTime now);
+
+    /**
+     * Items written after the feed position ({@code seq}, {@code afterId}) and at or below
+     * {@code watermark}, oldest change first; rows sharing a sequence value are ordered by id.
+     */
+    List<TodoSnapshot> findChangedSince(long seq, long afterId, long watermark, int limit);
+
+    /**
+     * Highest modification sequence value stored, or 0 when empty.
+     */
+    long maxModifiedSeq();
+
+    /**
+     * Id, status and due datetime of every item with the given status.
+     * Must be closed; the JPA engine also needs a surrounding transaction.
+     */
+    Stream<ItemState> streamStates(TodoStatus status);
+
+    /**
+     * Id, status and due datetime of the given items, locked for the rest of the transaction where
+     * the engine supports it. Ids that do not exist are absent from the result.
+     */
+    List<ItemState> lockStates(Collection<Long> ids);
+
+    /**
+     * Set the status and done datetime of the given items, skipping any that are no longer mutable.
+     */
+    int updateStatus(Collection<Long> ids, TodoStatus status, LocalDateTime doneDatetime,
+                     long modifiedSeq, LocalDateTime now);
+
+    /**
+     * Set the description of the given items, skipping any that are no longer mutable.
+     */
+    int updateDescription(Collection<Long> ids, String description, long modifiedSeq, LocalDateTime now);
+
+    /**
+     * Set the description of one item if it is mutable and, when {@code expectedVersion} is not null,
+     * still at that version, and return the changed item. Empty if nothing was changed.
+     */
+    Optional<TodoSnapshot> updateDescriptionIfMutable(Long id, String description, Long expectedVersion,
+                                                      long modifiedSeq, LocalDateTime now);
+
+    /**
+     * Status counterpart of {@link #updateDescriptionIfMutable}.
+     */
+    Optional<TodoSnapshot> updateStatusIfMutable(Long id, TodoStatus status, LocalDateTime doneDatetime,
+                                                 Long expectedVersion, long modifiedSeq, LocalDateTime now);
+
+    /**
+     * Like {@link #updateStatusIfMutable}, but only changes an item whose stored status differs from
+     * {@code status}. Empty if nothing was changed, including when the item already had that status.
+     */
+    Optional<TodoSnapshot> transitionStatusIfMutable(Long id, TodoStatus status, LocalDateTime doneDatetime,
+                                                     Long expectedVersion, long modifiedSeq, LocalDateTime now);
+
+    /**
+     * Mark the given items past due, skipping any that are no longer "not done" or not due yet.
+     */
+    int markPastDue(Collection<Long> ids, long modifiedSeq, LocalDateTime now);
+
+    long count();
+
+    /**
+     * Number of items in each stored status; statuses without items may be absent.
+     */
+    Map<TodoStatus, Long> countByStatus();
+
+    /**
+     * Number of items with the given stored status whose due datetime is before {@code dueBefore}.
+     */
+    long countDueBefore(TodoStatus status, LocalDateTime dueBefore);
+
+    void deleteAll();
+
+    /**
+     * An item's id, stored status and due datetime.
+     */
+    record ItemState(Long id, TodoStatus status, LocalDateTime dueDatetime) {
+    }
+}
@@ -0,0 +1,152 @@
+package com.tradebytes.todo.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Latency of the due range listing ({@code GET /api/todos?due_after=...&due_before=...}) by the share
+ * of the table inside the range: a page sorted by due datetime, a page sorted by id, and a count of
+ * the whole range.
+ * <p>
+ * Runs against a plain in-memory H2 database with the same schema as {@code todos}, once without
+ * secondary indexes and once with the (status, id) and (status, due_datetime, id) indexes. Due
+ * datetimes are spread evenly, one second apart, so a range of n seconds holds n rows.
+ * <p>
+ * Excluded from the regular build; run with {@code ./mvnw test -Pbenchmark -Dtest=DueRangeBenchmark}.
+ * Defaults to 1M rows and ranges of 0.1%, 1%, 10% and 50% of them; override with
+ * {@code -Dbenchmark.rows=100000 -Dbenchmark.selectivity=0.001,0.5}.
+ */
+@Tag("benchmark")
+class DueRangeBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 20;
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 15, 12, 0);
+
+    private static final String DUE_PAGE_SQL = "SELECT * FROM todos WHERE status = 'NOT_DONE' "
+            + "AND due_datetime >= ? AND due_datetime < ? ORDER BY status, due_datetime, id LIMIT 51";
+    private static final String ID_PAGE_SQL = "SELECT * FROM todos WHERE status = 'NOT_DONE' "
+            + "AND due_datetime >= ? AND due_datetime < ? ORDER BY status, id LIMIT 51";
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM todos WHERE status = 'NOT_DONE' "
+            + "AND due_datetime >= ? AND due_datetime < ?";
+
+    @Test
+    @DisplayName("Benchmark: due range listing by selectivity")
+    void dueRangeBySelectivity() throws SQLException {
+        int count = Integer.parseInt(System.getProperty("benchmark.rows", "1000000").trim());
+        String selectivities = System.getProperty("benchmark.selectivity", "0.001,0.01,0.1,0.5");
+
+        System.out.printf("%n%-10s %-8s %-12s %-12s %12s %12s%n",
+                "rows", "indexes", "selectivity", "query", "p50 (us)", "p99 (us)");
+        for (boolean indexed : new boolean[]{false, true}) {
+            try (Connection connection = DriverManager.getConnection(
+                    "jdbc:h2:mem:due_range_bench_" + count + "_" + indexed, "sa", "")) {
+                createSchema(connection, indexed);
+                populate(connection, count);
+                for (String value : selectivities.split(",")) {
+                    double selectivity = Double.parseDouble(value.trim());
+                    int width = Math.max(1, (int) (count * selectivity));
+                    report(count, indexed, selectivity, "due page", measure(connection, DUE_PAGE_SQL, count, width));
+                    report(count, indexed, selectivity, "id page", measure(connection, ID_PAGE_SQL, count, width));
+                    report(count, indexed, selectivity, "count", measure(connection, COUNT_SQL, count, width));
+                }
+            }
+        }
+    }
+
+    private static void createSchema(Connection connection, boolean indexed) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE todos ("
+                    + "id BIGINT PRIMARY KEY, "
+                    + "description VARCHAR(255) NOT NULL, "
+                    + "status VARCHAR(16) NOT NULL, "
+                    + "creation_datetime TIMESTAMP NOT NULL, "
+                    + "due_datetime TIMESTAMP NOT NULL, "
+                    + "done_datetime TIMESTAMP)");
+            if (indexed) {
+                statement.execute("CREATE INDEX idx_todos_status_id ON todos (status, id)");
+                statement.execute("CREATE INDEX idx_todos_status_due ON todos (status, due_datetime, id)");
+            }
+        }
+    }
+
+    /**
+     * One row per second of due datetime, in shuffled id order so that id and due datetime are
+     * unrelated. 70% not done, 30% done.
+     */
+    private static void populate(Connection connection, int count) throws SQLException {
+        SplittableRandom random = new SplittableRandom(42);
+        int[] dueSeconds = new int[count];
+        for (int i = 0; i < count; i++) {
+            int j = random.nextInt(i + 1);
+            dueSeconds[i] = dueSeconds[j];
+            dueSeconds[j] = i;
+        }
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO todos VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= count; id++) {
+                boolean done = random.nextInt(10) < 3;
+                LocalDateTime due = START.plusSeconds(dueSeconds[id - 1]);
+                insert.setLong(1, id);
+                insert.setString(2, "Task " + id);
+                insert.setString(3, done ? "DONE" : "NOT_DONE");
+                insert.setTimestamp(4, Timestamp.valueOf(START.minusDays(30)));
+                insert.setTimestamp(5, Timestamp.valueOf(due));
+                insert.setTimestamp(6, done ? Timestamp.valueOf(due) : null);
+                insert.addBatch();
+                if (id % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+    }
+
+    private static long[] measure(Connection connection, String sql, int count, int width) throws SQLException {
+        // Move the range on every run: H2 reuses the result of an identical query on an unchanged table
+        SplittableRandom random = new SplittableRandom(7);
+        long[] samples = new long[MEASURED_ITERATIONS];
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < WARMUP_ITERATIONS + MEASURED_ITERATIONS; i++) {
+                LocalDateTime from = START.plusSeconds(random.nextInt(Math.max(1, count - width)));
+                statement.setTimestamp(1, Timestamp.valueOf(from));
+                statement.setTimestamp(2, Timestamp.valueOf(from.plusSeconds(width)));
+                long start = System.nanoTime();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        // drain
+                    }
+                }
+                if (i >= WARMUP_ITERATIONS) {
+                    samples[i - WARMUP_ITERATIONS] = System.nanoTime() - start;
+                }
+            }
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private static void report(int rows, boolean indexed, double selectivity, String query, long[] sortedSamples) {
+        long p50 = sortedSamples[sortedSamples.length / 2] / 1_000;
+        long p99 = sortedSamples[(int) Math.ceil(sortedSamples.length * 0.99) - 1] / 1_000;
+        System.out.printf("%-10d %-8s %-12s %-12s %12d %12d%n",
+                rows, indexed ? "yes" : "no", selectivity * 100 + "%", query, p50, p99);
+    }
+}
@@ -0,0 +1,151 @@
+package com.tradebytes.todo.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+
+/**
+ * Table scan vs. index range scan latency for the "not done" listing and the past due sweep.
+ * <p>
+ * Runs against a plain in-memory H2 database with the same schema as {@code todos}, once without
+ * secondary indexes and once with the (status, id) and (status, due_datetime, id) indexes.
+ * <p>
+ * Excluded from the regular build; run with {@code ./mvnw test -Pbenchmark -Dtest=IndexScanBenchmark}.
+ * Row counts default to 10k and 1M and can be overridden with {@code -Dbenchmark.rows=10000,100000}.
+ */
+@Tag("benchmark")
+class IndexScanBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int MEASURED_ITERATIONS = 100;
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 15, 12, 0);
+
+    private static final String LISTING_SQL =
+            "SELECT * FROM todos WHERE status = 'NOT_DONE' AND id > ? ORDER BY status, id LIMIT 51";
+    private static final String SWEEP_SQL =
+            "SELECT COUNT(*) FROM todos WHERE status = 'NOT_DONE' AND due_datetime < ?";
+
+    @Test
+    @DisplayName("Benchmark: table scan vs. index range scan")
+    void tableScanVersusIndexRangeScan() throws SQLException {
+        String rows = System.getProperty("benchmark.rows", "10000,1000000");
+
+        System.out.printf("%n%-10s %-8s %-22s %12s %12s%n", "rows", "indexes", "query", "p50 (us)", "p99 (us)");
+        for (String rowCount : rows.split(",")) {
+            int count = Integer.parseInt(rowCount.trim());
+            for (boolean indexed : new boolean[]{false, true}) {
+                try (Connection connection = DriverManager.getConnection(
+                        "jdbc:h2:mem:index_bench_" + count + "_" + indexed, "sa", "")) {
+                    createSchema(connection, indexed);
+                    populate(connection, count);
+                    // Vary the parameter on every run: H2 reuses the result of an identical query on an unchanged table
+                    SplittableRandom random = new SplittableRandom(7);
+                    report(count, indexed, "not done listing",
+                            measure(connection, LISTING_SQL, i -> (long) random.nextInt(count)));
+                    report(count, indexed, "past due sweep",
+                            measure(connection, SWEEP_SQL, i -> Timestamp.valueOf(NOW.minusNanos(i * 1_000L))));
+                }
+            }
+        }
+    }
+
+    private static void createSchema(Connection connection, boolean indexed) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE todos ("
+                    + "id BIGINT PRIMARY KEY, "
+                    + "description VARCHAR(255) NOT NULL, "
+                    + "status VARCHAR(16) NOT NULL, "
+                    + "creation_datetime TIMESTAMP NOT NULL, "
+                    + "due_datetime TIMESTAMP NOT NULL, "
+                    + "done_datetime TIMESTAMP)");
+            if (indexed) {
+                statement.execute("CREATE INDEX idx_todos_status_id ON todos (status, id)");
+                statement.execute("CREATE INDEX idx_todos_status_due ON todos (status, due_datetime, id)");
+            }
+        }
+    }
+
+    /**
+     * 60% done, 10% past due, 30% not done. Almost all "not done" items are due in the future;
+     * 0.1% of the table expired within the last minute and is waiting for the sweep.
+     */
+    private static void populate(Connection connection, int count) throws SQLException {
+        SplittableRandom random = new SplittableRandom(42);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO todos VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= count; id++) {
+                int bucket = random.nextInt(1000);
+                String status;
+                LocalDateTime due;
+                if (bucket < 600) {
+                    status = "DONE";
+                    due = NOW.minusHours(random.nextInt(1, 10_000));
+                } else if (bucket < 700) {
+                    status = "PAST_DUE";
+                    due = NOW.minusHours(random.nextInt(1, 10_000));
+                } else if (bucket < 701) {
+                    status = "NOT_DONE";
+                    due = NOW.minusSeconds(random.nextInt(1, 60));
+                } else {
+                    status = "NOT_DONE";
+                    due = NOW.plusMinutes(random.nextInt(1, 100_000));
+                }
+                insert.setLong(1, id);
+                insert.setString(2, "Task " + id);
+                insert.setString(3, status);
+                insert.setTimestamp(4, Timestamp.valueOf(NOW.minusDays(30)));
+                insert.setTimestamp(5, Timestamp.valueOf(due));
+                insert.setTimestamp(6, "DONE".equals(status) ? Timestamp.valueOf(due) : null);
+                insert.addBatch();
+                if (id % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+    }
+
+    private static long[] measure(Connection connection, String sql, IntFunction<Object> parameter)
+            throws SQLException {
+        long[] samples = new long[MEASURED_ITERATIONS];
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < WARMUP_ITERATIONS + MEASURED_ITERATIONS; i++) {
+                statement.setObject(1, parameter.apply(i));
+                long start = System.nanoTime();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        // drain
+                    }
+                }
+                if (i >= WARMUP_ITERATIONS) {
+                    samples[i - WARMUP_ITERATIONS] = System.nanoTime() - start;
+                }
+            }
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private static void report(int rows, boolean indexed, String query, long[] sortedSamples) {
+        long p50 = sortedSamples[sortedSamples.length / 2] / 1_000;
+        long p99 = sortedSamples[(int) Math.ceil(sortedSamples.length * 0.99) - 1] / 1_000;
+        System.out.printf("%-10d %-8s %-22s %12d %12d%n", rows, indexed ? "yes" : "no", query, p50, p99);
+    }
+}
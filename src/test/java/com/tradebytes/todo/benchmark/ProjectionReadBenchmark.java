@@ -0,0 +1,134 @@
+package com.tradebytes.todo.benchmark;
+
+import com.tradebytes.todo.TodoServiceApplication;
+import com.tradebytes.todo.dto.TodoResponse;
+import com.tradebytes.todo.entity.TodoItem;
+import com.tradebytes.todo.mapper.TodoMapper;
+import com.tradebytes.todo.repository.TodoRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Heap allocated and latency of a full listing, read as managed entities vs. as snapshot projections.
+ * <p>
+ * Seeds {@code benchmark.rows} rows (default 100k), then lists all of them and maps each row to a
+ * {@link TodoResponse}, inside a read-only and a read-write transaction for the entity read, and
+ * inside a read-only transaction for the projection. Allocation is measured per thread with
+ * {@code com.sun.management.ThreadMXBean}.
+ * <p>
+ * Excluded from the regular build; run with {@code ./mvnw test -Pbenchmark -Dtest=ProjectionReadBenchmark}.
+ */
+@Tag("benchmark")
+class ProjectionReadBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURED_ITERATIONS = 10;
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 15, 12, 0);
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    @DisplayName("Benchmark: entity hydration vs. snapshot projection")
+    void entityVersusProjection() {
+        int rows = Integer.getInteger("benchmark.rows", 100_000);
+
+        try (ConfigurableApplicationContext context = start()) {
+            seed(context.getBean(JdbcTemplate.class), rows);
+            PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+            EntityManager entityManager = context.getBean(EntityManager.class);
+            TodoRepository todoRepository = context.getBean(TodoRepository.class);
+            TodoMapper todoMapper = context.getBean(TodoMapper.class);
+
+            Function<Boolean, TransactionTemplate> transaction = readOnly -> {
+                TransactionTemplate template = new TransactionTemplate(transactionManager);
+                template.setReadOnly(readOnly);
+                return template;
+            };
+
+            System.out.printf("%n%-30s %10s %12s %12s %12s%n", "read", "rows", "p50 (ms)", "MB/listing", "bytes/row");
+            report("entities, read-write tx", rows, measure(() -> transaction.apply(false).execute(status ->
+                    entityManager.createQuery("SELECT t FROM TodoItem t ORDER BY t.id", TodoItem.class)
+                            .getResultList().stream()
+                            .map(item -> todoMapper.toResponse(item, NOW))
+                            .toList())));
+            report("entities, read-only tx", rows, measure(() -> transaction.apply(true).execute(status ->
+                    entityManager.createQuery("SELECT t FROM TodoItem t ORDER BY t.id", TodoItem.class)
+                            .getResultList().stream()
+                            .map(item -> todoMapper.toResponse(item, NOW))
+                            .toList())));
+            report("snapshots, read-only tx", rows, measure(() -> transaction.apply(true).execute(status ->
+                    todoRepository.findAllSnapshots().stream()
+                            .map(snapshot -> todoMapper.toResponse(snapshot, NOW))
+                            .toList())));
+        }
+    }
+
+    private static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(TodoServiceApplication.class)
+                .properties(
+                        "spring.main.web-application-type=none",
+                        "spring.datasource.url=jdbc:h2:mem:projection_bench;DB_CLOSE_DELAY=-1",
+                        "todo.past-due.tracker.enabled=false",
+                        "todo.past-due.sweep-interval-ms=3600000",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        List<Object[]> batch = IntStream.rangeClosed(1, rows)
+                .mapToObj(i -> new Object[]{
+                        (long) i,
+                        "Task " + i,
+                        i % 3 == 0 ? "DONE" : "NOT_DONE",
+                        Timestamp.valueOf(NOW.minusDays(1)),
+                        Timestamp.valueOf(NOW.plusMinutes(i)),
+                        i % 3 == 0 ? Timestamp.valueOf(NOW) : null})
+                .toList();
+        jdbcTemplate.batchUpdate("INSERT INTO todos (id, description, status, creation_datetime, due_datetime, "
+                + "done_datetime) VALUES (?, ?, ?, ?, ?, ?)", batch);
+    }
+
+    private static Sample measure(Runnable listing) {
+        long[] nanos = new long[MEASURED_ITERATIONS];
+        long[] bytes = new long[MEASURED_ITERATIONS];
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP_ITERATIONS + MEASURED_ITERATIONS; i++) {
+            long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            listing.run();
+            long elapsed = System.nanoTime() - start;
+            long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            if (i >= WARMUP_ITERATIONS) {
+                nanos[i - WARMUP_ITERATIONS] = elapsed;
+                bytes[i - WARMUP_ITERATIONS] = allocated;
+            }
+        }
+        Arrays.sort(nanos);
+        Arrays.sort(bytes);
+        return new Sample(nanos[nanos.length / 2], bytes[bytes.length / 2]);
+    }
+
+    private static void report(String read, int rows, Sample sample) {
+        System.out.printf("%-30s %10d %12.1f %12.1f %12d%n", read, rows,
+                sample.nanos() / 1e6, sample.bytes() / 1e6, sample.bytes() / rows);
+    }
+
+    private record Sample(long nanos, long bytes) {
+    }
+}
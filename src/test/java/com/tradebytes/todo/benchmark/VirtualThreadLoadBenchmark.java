@@ -0,0 +1,142 @@
+package com.tradebytes.todo.benchmark;
+
+import com.tradebytes.todo.TodoServiceApplication;
+import com.tradebytes.todo.entity.TodoItem;
+import com.tradebytes.todo.entity.TodoStatus;
+import com.tradebytes.todo.repository.TodoRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Closed-loop HTTP load test of the listing endpoint with request handling on platform threads
+ * (Tomcat's 200-thread pool) vs. virtual threads with the DB permit gate.
+ * <p>
+ * Each mode boots the application on a random port with its own in-memory database, seeds it, and keeps
+ * {@code benchmark.concurrency} requests in flight until {@code benchmark.requests} have completed.
+ * <p>
+ * Excluded from the regular build; run with {@code ./mvnw test -Pbenchmark -Dtest=VirtualThreadLoadBenchmark}.
+ */
+@Tag("benchmark")
+class VirtualThreadLoadBenchmark {
+
+    private static final int SEED_ROWS = 10_000;
+    private static final int WARMUP_REQUESTS = 2_000;
+
+    @Test
+    @DisplayName("Benchmark: platform threads vs. virtual threads")
+    void platformVersusVirtualThreads() throws Exception {
+        int requests = Integer.getInteger("benchmark.requests", 20_000);
+        int concurrency = Integer.getInteger("benchmark.concurrency", 400);
+
+        System.out.printf("%n%-10s %12s %12s %12s %12s %8s%n",
+                "threads", "concurrency", "req/s", "p50 (ms)", "p99 (ms)", "errors");
+        for (boolean virtual : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = start(virtual)) {
+                seed(context.getBean(TodoRepository.class));
+                int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+
+                run(port, WARMUP_REQUESTS, concurrency);
+                Result result = run(port, requests, concurrency);
+                System.out.printf("%-10s %12d %12.0f %12.1f %12.1f %8d%n",
+                        virtual ? "virtual" : "platform", concurrency, result.throughput(),
+                        result.percentileMillis(0.50), result.percentileMillis(0.99), result.errors());
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual) {
+        return new SpringApplicationBuilder(TodoServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "todo.db.gate.enabled=" + virtual,
+                        "spring.datasource.url=jdbc:h2:mem:load_" + (virtual ? "virtual" : "platform")
+                                + ";DB_CLOSE_DELAY=-1",
+                        "todo.past-due.tracker.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    private static void seed(TodoRepository todoRepository) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TodoItem> items = IntStream.rangeClosed(1, SEED_ROWS)
+                .mapToObj(i -> TodoItem.builder()
+                        .description("Task " + i)
+                        .status(i % 3 == 0 ? TodoStatus.DONE : TodoStatus.NOT_DONE)
+                        .dueDatetime(now.plusDays(1 + i % 30))
+                        .build())
+                .toList();
+        todoRepository.saveAll(items);
+    }
+
+    private static Result run(int port, int requests, int concurrency) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        Semaphore inFlight = new Semaphore(concurrency);
+        AtomicInteger errors = new AtomicInteger();
+        long[] latencies = new long[requests];
+        SplittableRandom random = new SplittableRandom(11);
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                inFlight.acquire();
+                int index = i;
+                // Random page so every request reaches the database
+                String cursor = Base64.getUrlEncoder().withoutPadding()
+                        .encodeToString(Integer.toString(random.nextInt(SEED_ROWS)).getBytes(StandardCharsets.US_ASCII));
+                HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/todos?limit=20&after=" + cursor)).build();
+                executor.execute(() -> {
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception ex) {
+                        errors.incrementAndGet();
+                    } finally {
+                        latencies[index] = System.nanoTime() - sent;
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        client.close();
+
+        Arrays.sort(latencies);
+        return new Result(requests * 1e9 / elapsed, latencies, errors.get());
+    }
+
+    private record Result(double throughput, long[] sortedLatencies, int errors) {
+
+        double percentileMillis(double percentile) {
+            int index = (int) Math.ceil(sortedLatencies.length * percentile) - 1;
+            return sortedLatencies[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
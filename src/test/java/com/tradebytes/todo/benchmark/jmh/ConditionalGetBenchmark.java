@@ -0,0 +1,70 @@
+package com.tradebytes.todo.benchmark.jmh;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tradebytes.todo.cache.TodoCache;
+import com.tradebytes.todo.clock.TodoClock;
+import com.tradebytes.todo.dto.TodoResponse;
+import com.tradebytes.todo.entity.TodoStatus;
+import com.tradebytes.todo.mapper.TodoMapper;
+import com.tradebytes.todo.repository.TodoSnapshot;
+import com.tradebytes.todo.service.TodoService;
+import com.tradebytes.todo.service.TodoServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service-side cost of a conditional GET answered with 304 (ETag from the cached snapshot) against
+ * a full GET of the same cached item (mapping plus JSON serialization). HTTP handling is excluded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConditionalGetBenchmark {
+
+    private TodoService todoService;
+    private ObjectWriter writer;
+    private String etag;
+
+    @Setup
+    public void setUp() {
+        TodoClock clock = TodoClock.coarse();
+        LocalDateTime now = clock.now();
+        TodoCache cache = new TodoCache(1000, Duration.ofHours(1));
+        cache.get(1L, id -> new TodoSnapshot(id, "Complete the coding challenge", TodoStatus.NOT_DONE,
+                now.minusDays(1), now.plusDays(1), null, 3L, 1L));
+        // Every read is a cache hit, so the repository and the other collaborators are never used
+        todoService = new TodoServiceImpl(null, new TodoMapper(clock), null, null, cache, clock, null, null, null);
+        writer = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writerFor(TodoResponse.class);
+        etag = todoService.getTodoETag(1L);
+    }
+
+    @Benchmark
+    public boolean notModified() {
+        return etag.equals(todoService.getTodoETag(1L));
+    }
+
+    @Benchmark
+    public byte[] fullGet() throws Exception {
+        return writer.writeValueAsBytes(todoService.getTodoById(1L));
+    }
+}
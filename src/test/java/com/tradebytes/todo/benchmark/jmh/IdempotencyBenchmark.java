@@ -0,0 +1,80 @@
+package com.tradebytes.todo.benchmark.jmh;
+
+import com.tradebytes.todo.cache.IdempotencyCache;
+import com.tradebytes.todo.dto.CreateTodoRequest;
+import com.tradebytes.todo.dto.TodoResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost the Idempotency-Key check adds to a create: a create with a key seen for the first time (one
+ * map insert, with evictions once the size bound is reached), a replayed retry, and the same create
+ * without a key as the baseline. The create itself returns a prebuilt response, so the numbers are the
+ * check alone; compare them with the latency of a real insert.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdempotencyBenchmark {
+
+    private static final int KEYS = 1 << 17;
+
+    private IdempotencyCache cache;
+    private CreateTodoRequest request;
+    private TodoResponse response;
+    private String[] keys;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        cache = new IdempotencyCache(50_000, Duration.ofHours(24), new SimpleMeterRegistry());
+        request = CreateTodoRequest.builder()
+                .description("Complete the coding challenge")
+                .dueDatetime(LocalDateTime.now().plusDays(1))
+                .build();
+        response = TodoResponse.builder().id(1L).description(request.getDescription()).build();
+        // Keys are generated up front so the measurement does not include UUID generation
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = UUID.randomUUID().toString();
+        }
+        cache.execute("retried", request, this::create);
+    }
+
+    @Benchmark
+    public TodoResponse withoutKey() {
+        return create();
+    }
+
+    @Benchmark
+    public TodoResponse firstAttempt() {
+        String key = keys[next++ & (KEYS - 1)];
+        return cache.execute(key, request, this::create).response();
+    }
+
+    @Benchmark
+    public TodoResponse replay() {
+        return cache.execute("retried", request, this::create).response();
+    }
+
+    private TodoResponse create() {
+        return response;
+    }
+}
@@ -0,0 +1,112 @@
+package com.tradebytes.todo.benchmark.jmh;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tradebytes.todo.dto.TodoResponse;
+import com.tradebytes.todo.json.TodoResponseSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Jackson serialization of a list of {@link TodoResponse}s, configured like the application's ObjectMapper.
+ * Sizes match a single item, the default page and the maximum page.
+ * <p>
+ * {@code writeList} uses Jackson's bean serializer. The others use the application's
+ * {@link TodoResponseSerializer}: encoding every item by hand ({@code handWritten}, responses without a
+ * version), splicing cached fragments ({@code cached}), and a page whose items all changed since the
+ * last write, so every fragment is encoded and replaced ({@code cacheMiss}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"1", "50", "500"})
+    public int size;
+
+    private ObjectWriter writer;
+    private ObjectWriter cachingWriter;
+    private List<TodoResponse> todos;
+    private List<TodoResponse> unversioned;
+    private long version;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writerFor(new TypeReference<List<TodoResponse>>() {
+                });
+        cachingWriter = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializerByType(TodoResponse.class, new TodoResponseSerializer(50_000))
+                .build()
+                .writerFor(new TypeReference<List<TodoResponse>>() {
+                });
+        LocalDateTime now = LocalDateTime.of(2026, 1, 15, 12, 0);
+        todos = IntStream.range(0, size)
+                .mapToObj(i -> TodoResponse.builder()
+                        .id((long) i)
+                        .description("Complete the coding challenge " + i)
+                        .status(i % 2 == 0 ? "not done" : "done")
+                        .creationDatetime(now.minusDays(1))
+                        .dueDatetime(now.plusHours(i))
+                        .doneDatetime(i % 2 == 0 ? null : now)
+                        .version(0L)
+                        .build())
+                .toList();
+        unversioned = todos.stream()
+                .map(todo -> TodoResponse.builder()
+                        .id(todo.getId())
+                        .description(todo.getDescription())
+                        .status(todo.getStatus())
+                        .creationDatetime(todo.getCreationDatetime())
+                        .dueDatetime(todo.getDueDatetime())
+                        .doneDatetime(todo.getDoneDatetime())
+                        .build())
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] writeList() throws Exception {
+        return writer.writeValueAsBytes(todos);
+    }
+
+    @Benchmark
+    public byte[] handWritten() throws Exception {
+        return cachingWriter.writeValueAsBytes(unversioned);
+    }
+
+    @Benchmark
+    public byte[] cached() throws Exception {
+        return cachingWriter.writeValueAsBytes(todos);
+    }
+
+    @Benchmark
+    public byte[] cacheMiss() throws Exception {
+        version++;
+        for (TodoResponse todo : todos) {
+            todo.setVersion(version);
+        }
+        return cachingWriter.writeValueAsBytes(todos);
+    }
+}
@@ -0,0 +1,105 @@
+package com.tradebytes.todo.benchmark.jmh;
+
+import com.tradebytes.todo.search.InvertedIndex;
+import com.tradebytes.todo.search.SearchQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one page of search results (50 ids) from the description index, against a scan that
+ * checks every description with {@code contains}, the way a {@code LIKE '%word%'} query would.
+ * Descriptions are four to eight words drawn from a skewed vocabulary, so common words have long
+ * postings lists and rare ones short lists.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SearchIndexBenchmark {
+
+    private static final int PAGE = 50;
+    private static final int VOCABULARY = 20_000;
+
+    @Param({"1000000"})
+    public int items;
+
+    private final InvertedIndex index = new InvertedIndex();
+    private String[] descriptions;
+    private SearchQuery common;
+    private SearchQuery rareAndCommon;
+    private SearchQuery prefix;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        descriptions = new String[items];
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < items; i++) {
+            text.setLength(0);
+            for (int w = 4 + random.nextInt(5); w > 0; w--) {
+                text.append(word(skewed(random))).append(' ');
+            }
+            descriptions[i] = text.toString();
+            index.put(i + 1, descriptions[i]);
+        }
+        common = SearchQuery.parse(word(1));
+        rareAndCommon = SearchQuery.parse(word(1) + " " + word(VOCABULARY / 2));
+        // Every word whose base-36 rank starts with 1: over a thousand postings lists
+        prefix = SearchQuery.parse("word1*");
+    }
+
+    @Benchmark
+    public long[] singleTerm() {
+        return index.search(common, 0, PAGE);
+    }
+
+    @Benchmark
+    public long[] twoTerms() {
+        return index.search(rareAndCommon, 0, PAGE);
+    }
+
+    @Benchmark
+    public long[] prefixTerm() {
+        return index.search(prefix, 0, PAGE);
+    }
+
+    @Benchmark
+    public int scanTwoTerms() {
+        String first = word(1);
+        String second = word(VOCABULARY / 2);
+        int found = 0;
+        for (int i = 0; i < descriptions.length && found < PAGE; i++) {
+            String description = descriptions[i].toLowerCase(Locale.ROOT);
+            if (description.contains(first) && description.contains(second)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Word rank drawn so low ranks are far more frequent, roughly like word use in real text.
+     */
+    private static int skewed(Random random) {
+        return (int) Math.pow(VOCABULARY, random.nextDouble());
+    }
+
+    private static String word(int rank) {
+        return "word" + Integer.toString(rank, 36) + "x";
+    }
+}
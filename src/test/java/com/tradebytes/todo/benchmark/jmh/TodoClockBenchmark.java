@@ -0,0 +1,47 @@
+package com.tradebytes.todo.benchmark.jmh;
+
+import com.tradebytes.todo.clock.TodoClock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of reading the current time: {@code LocalDateTime.now()} vs. the cached millisecond clock.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class TodoClockBenchmark {
+
+    private final TodoClock system = TodoClock.system();
+    private final TodoClock coarse = TodoClock.coarse();
+
+    @Benchmark
+    public LocalDateTime localDateTimeNow() {
+        return LocalDateTime.now();
+    }
+
+    @Benchmark
+    public LocalDateTime systemClock() {
+        return system.now();
+    }
+
+    @Benchmark
+    public LocalDateTime coarseClock() {
+        return coarse.now();
+    }
+}
@@ -0,0 +1,63 @@
+package com.tradebytes.todo.benchmark.jmh;
+
+import com.tradebytes.todo.entity.TodoItem;
+import com.tradebytes.todo.entity.TodoStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Effective status evaluation on the entity, reading the clock per call vs. against a given snapshot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TodoItemBenchmark {
+
+    @Param({"NOT_DONE", "DONE", "PAST_DUE"})
+    public TodoStatus status;
+
+    private TodoItem item;
+    private LocalDateTime now;
+
+    @Setup
+    public void setUp() {
+        now = LocalDateTime.of(2026, 1, 15, 12, 0);
+        item = TodoItem.builder()
+                .id(1L)
+                .description("Complete the coding challenge")
+                .status(status)
+                .creationDatetime(now.minusDays(1))
+                .dueDatetime(now.plusHours(6))
+                .build();
+    }
+
+    @Benchmark
+    public boolean isEffectivelyPastDue() {
+        return item.isEffectivelyPastDue();
+    }
+
+    @Benchmark
+    public TodoStatus getEffectiveStatus() {
+        return item.getEffectiveStatus();
+    }
+
+    @Benchmark
+    public TodoStatus getEffectiveStatusAtSnapshot() {
+        return item.getEffectiveStatus(now);
+    }
+}
@@ -0,0 +1,74 @@
+package com.tradebytes.todo.benchmark.jmh;
+
+import com.tradebytes.todo.clock.TodoClock;
+import com.tradebytes.todo.dto.CreateTodoRequest;
+import com.tradebytes.todo.dto.TodoResponse;
+import com.tradebytes.todo.entity.TodoItem;
+import com.tradebytes.todo.entity.TodoStatus;
+import com.tradebytes.todo.mapper.TodoMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO conversions done on every request, with the mapper reading the system or the coarse clock.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TodoMapperBenchmark {
+
+    @Param({"system", "coarse"})
+    public String clock;
+
+    private TodoMapper todoMapper;
+    private TodoItem item;
+    private CreateTodoRequest request;
+    private LocalDateTime now;
+
+    @Setup
+    public void setUp() {
+        todoMapper = new TodoMapper("coarse".equals(clock) ? TodoClock.coarse() : TodoClock.system());
+        now = LocalDateTime.of(2026, 1, 15, 12, 0);
+        item = TodoItem.builder()
+                .id(1L)
+                .description("Complete the coding challenge")
+                .status(TodoStatus.NOT_DONE)
+                .creationDatetime(now.minusDays(1))
+                .dueDatetime(now.plusHours(6))
+                .build();
+        request = CreateTodoRequest.builder()
+                .description("Complete the coding challenge")
+                .dueDatetime(now.plusHours(6))
+                .build();
+    }
+
+    @Benchmark
+    public TodoResponse toResponse() {
+        return todoMapper.toResponse(item);
+    }
+
+    @Benchmark
+    public TodoResponse toResponseAtSnapshot() {
+        return todoMapper.toResponse(item, now);
+    }
+
+    @Benchmark
+    public TodoItem toEntity() {
+        return todoMapper.toEntity(request);
+    }
+}
@@ -0,0 +1,39 @@
+package com.tradebytes.todo.benchmark.jmh;
+
+import com.tradebytes.todo.entity.TodoStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TodoStatus#fromValue(String)}: a linear case-insensitive scan over {@code values()},
+ * which copies the constants array on every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TodoStatusBenchmark {
+
+    /**
+     * First, middle and last constant, plus a value in a different case.
+     */
+    @Param({"not done", "done", "past due", "DONE"})
+    public String value;
+
+    @Benchmark
+    public TodoStatus fromValue() {
+        return TodoStatus.fromValue(value);
+    }
+}
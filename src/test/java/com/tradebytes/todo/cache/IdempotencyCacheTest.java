@@ -0,0 +1,131 @@
+package com.tradebytes.todo.cache;
+
+import com.tradebytes.todo.dto.CreateTodoRequest;
+import com.tradebytes.todo.dto.TodoResponse;
+import com.tradebytes.todo.exception.IdempotencyKeyReusedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyCacheTest {
+
+    private static final CreateTodoRequest REQUEST = CreateTodoRequest.builder()
+            .description("Task")
+            .dueDatetime(LocalDateTime.of(2026, 1, 16, 12, 0))
+            .build();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final IdempotencyCache cache = new IdempotencyCache(100, Duration.ofMinutes(1), meterRegistry);
+    private final AtomicInteger creates = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should create once and replay the original response for the same key")
+    void shouldReplayOriginalResponse() {
+        IdempotencyCache.Outcome first = cache.execute("key-1", REQUEST, this::create);
+        IdempotencyCache.Outcome retry = cache.execute("key-1", copy(REQUEST), this::create);
+        IdempotencyCache.Outcome other = cache.execute("key-2", REQUEST, this::create);
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.response()).isSameAs(first.response());
+        assertThat(other.response().getId()).isEqualTo(2L);
+        assertThat(creates).hasValue(2);
+        assertThat(meterRegistry.get("todo.idempotency.replays").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused with a different request and keys of invalid length")
+    void shouldRejectInvalidUse() {
+        cache.execute("key-1", REQUEST, this::create);
+        CreateTodoRequest different = CreateTodoRequest.builder()
+                .description("Other")
+                .dueDatetime(REQUEST.getDueDatetime())
+                .build();
+
+        assertThatThrownBy(() -> cache.execute("key-1", different, this::create))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        assertThatThrownBy(() -> cache.execute(" ", REQUEST, this::create))
+                .isInstanceOf(IllegalArgumentException.class);
+        String tooLong = "k".repeat(IdempotencyCache.MAX_KEY_LENGTH + 1);
+        assertThatThrownBy(() -> cache.execute(tooLong, REQUEST, this::create))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(creates).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should release the key when the create fails")
+    void shouldReleaseKeyOnFailure() {
+        assertThatThrownBy(() -> cache.execute("key-1", REQUEST, () -> {
+            throw new IllegalStateException("Database unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+
+        IdempotencyCache.Outcome retry = cache.execute("key-1", REQUEST, this::create);
+
+        assertThat(retry.replayed()).isFalse();
+        assertThat(creates).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should coalesce concurrent duplicates onto one create")
+    void shouldCoalesceConcurrentDuplicates() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<IdempotencyCache.Outcome> original = executor.submit(() -> cache.execute("key-1", REQUEST, () -> {
+                started.countDown();
+                await(release);
+                return create();
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            List<Future<IdempotencyCache.Outcome>> duplicates = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                duplicates.add(executor.submit(() -> cache.execute("key-1", REQUEST, this::create)));
+            }
+            release.countDown();
+
+            TodoResponse created = original.get(5, TimeUnit.SECONDS).response();
+            for (Future<IdempotencyCache.Outcome> duplicate : duplicates) {
+                IdempotencyCache.Outcome outcome = duplicate.get(5, TimeUnit.SECONDS);
+                assertThat(outcome.replayed()).isTrue();
+                assertThat(outcome.response()).isSameAs(created);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(creates).hasValue(1);
+    }
+
+    private TodoResponse create() {
+        return TodoResponse.builder().id((long) creates.incrementAndGet()).description("Task").build();
+    }
+
+    private static CreateTodoRequest copy(CreateTodoRequest request) {
+        return CreateTodoRequest.builder()
+                .description(request.getDescription())
+                .dueDatetime(request.getDueDatetime())
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.tradebytes.todo.cache;
+
+import com.tradebytes.todo.dto.CacheStatsResponse;
+import com.tradebytes.todo.entity.TodoStatus;
+import com.tradebytes.todo.repository.TodoSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TodoCacheTest {
+
+    private final TodoCache todoCache = new TodoCache(100, Duration.ofMinutes(1));
+
+    private static TodoSnapshot snapshot(long id) {
+        LocalDateTime now = LocalDateTime.now();
+        return new TodoSnapshot(id, "Task " + id, TodoStatus.NOT_DONE, now, now.plusDays(1), null, 0L, 0L);
+    }
+
+    @Nested
+    @DisplayName("Read-through Tests")
+    class ReadThroughTests {
+
+        @Test
+        @DisplayName("Should load once and serve later reads from the cache")
+        void shouldLoadOnceAndServeLaterReadsFromCache() {
+            AtomicInteger loads = new AtomicInteger();
+
+            todoCache.get(1L, id -> {
+                loads.incrementAndGet();
+                return snapshot(id);
+            });
+            TodoSnapshot cached = todoCache.get(1L, id -> {
+                loads.incrementAndGet();
+                return snapshot(id);
+            });
+
+            assertThat(cached.id()).isEqualTo(1L);
+            assertThat(loads).hasValue(1);
+
+            CacheStatsResponse stats = todoCache.stats();
+            assertThat(stats.getHits()).isEqualTo(1);
+            assertThat(stats.getMisses()).isEqualTo(1);
+            assertThat(stats.getSize()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should not cache missing items")
+        void shouldNotCacheMissingItems() {
+            assertThat(todoCache.get(1L, id -> null)).isNull();
+            assertThat(todoCache.get(1L, TodoCacheTest::snapshot)).isNotNull();
+
+            assertThat(todoCache.stats().getMisses()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidation Tests")
+    class InvalidationTests {
+
+        @Test
+        @DisplayName("Should reload an item after it was evicted")
+        void shouldReloadAfterEvict() {
+            todoCache.get(1L, TodoCacheTest::snapshot);
+            todoCache.evict(1L);
+            todoCache.get(1L, TodoCacheTest::snapshot);
+
+            CacheStatsResponse stats = todoCache.stats();
+            assertThat(stats.getMisses()).isEqualTo(2);
+            assertThat(stats.getInvalidations()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should drop only the given items")
+        void shouldDropOnlyGivenItems() {
+            todoCache.get(1L, TodoCacheTest::snapshot);
+            todoCache.get(2L, TodoCacheTest::snapshot);
+            todoCache.get(3L, TodoCacheTest::snapshot);
+
+            todoCache.evictAll(List.of(1L, 2L));
+
+            assertThat(todoCache.stats().getSize()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Effective Status Tests")
+    class EffectiveStatusTests {
+
+        @Test
+        @DisplayName("Should report past due once the deadline of a cached item passes")
+        void shouldReportPastDueOnceDeadlinePasses() {
+            LocalDateTime due = LocalDateTime.of(2026, 1, 15, 18, 0);
+            TodoSnapshot cached = todoCache.get(1L,
+                    id -> new TodoSnapshot(id, "Task", TodoStatus.NOT_DONE, due.minusDays(1), due, null, 0L, 0L));
+
+            assertThat(cached.effectiveStatus(due)).isEqualTo(TodoStatus.NOT_DONE);
+            assertThat(cached.effectiveStatus(due.plusSeconds(1))).isEqualTo(TodoStatus.PAST_DUE);
+        }
+    }
+}
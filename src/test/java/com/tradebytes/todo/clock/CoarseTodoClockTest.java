@@ -0,0 +1,45 @@
+package com.tradebytes.todo.clock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoarseTodoClockTest {
+
+    private final long[] millis = {LocalDateTime.of(2026, 1, 15, 12, 0).toInstant(ZoneOffset.UTC).toEpochMilli()};
+    private final CoarseTodoClock clock = new CoarseTodoClock(ZoneOffset.UTC, () -> millis[0]);
+
+    @Test
+    @DisplayName("Should return the cached value within the same millisecond")
+    void shouldReturnCachedValueWithinSameMillisecond() {
+        LocalDateTime first = clock.now();
+
+        assertThat(clock.now()).isSameAs(first);
+        assertThat(first).isEqualTo(LocalDateTime.of(2026, 1, 15, 12, 0));
+    }
+
+    @Test
+    @DisplayName("Should tick when the millisecond changes")
+    void shouldTickWhenMillisecondChanges() {
+        LocalDateTime first = clock.now();
+        millis[0] += 1;
+
+        assertThat(clock.now()).isEqualTo(first.plusNanos(1_000_000));
+    }
+
+    @Test
+    @DisplayName("Should convert to local time using the zone's offset at that instant")
+    void shouldConvertUsingZoneOffsetAtInstant() {
+        ZoneId berlin = ZoneId.of("Europe/Berlin");
+        long winter = LocalDateTime.of(2026, 1, 15, 12, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+        long summer = LocalDateTime.of(2026, 7, 15, 12, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+
+        assertThat(new CoarseTodoClock(berlin, () -> winter).now()).isEqualTo(LocalDateTime.of(2026, 1, 15, 13, 0));
+        assertThat(new CoarseTodoClock(berlin, () -> summer).now()).isEqualTo(LocalDateTime.of(2026, 7, 15, 14, 0));
+    }
+}
@@ -0,0 +1,61 @@
+package com.tradebytes.todo.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConnectionGateDataSourceTest {
+
+    private ConnectionGateDataSource gate;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource target = new DriverManagerDataSource("jdbc:h2:mem:gate_test;DB_CLOSE_DELAY=-1");
+        gate = new ConnectionGateDataSource(target, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    @DisplayName("Should hold a permit until the connection is closed")
+    void shouldHoldPermitUntilConnectionClosed() throws Exception {
+        Connection first = gate.getConnection();
+        Connection second = gate.getConnection();
+
+        assertThat(gate.getAvailablePermits()).isZero();
+
+        first.close();
+        assertThat(gate.getAvailablePermits()).isEqualTo(1);
+
+        second.close();
+        assertThat(gate.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should time out when every permit is taken")
+    void shouldTimeOutWhenEveryPermitIsTaken() throws Exception {
+        try (Connection ignored = gate.getConnection(); Connection alsoIgnored = gate.getConnection()) {
+            assertThatThrownBy(() -> gate.getConnection())
+                    .isInstanceOf(SQLTransientConnectionException.class)
+                    .hasMessageContaining("permit");
+        }
+        assertThat(gate.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should release the permit only once when closed twice")
+    void shouldReleasePermitOnlyOnce() throws Exception {
+        Connection connection = gate.getConnection();
+        connection.close();
+        connection.close();
+
+        assertThat(gate.getAvailablePermits()).isEqualTo(2);
+        assertThat(connection.isClosed()).isTrue();
+    }
+}
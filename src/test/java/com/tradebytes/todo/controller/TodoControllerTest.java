@@ -1,12 +1,22 @@
 package com.tradebytes.todo.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tradebytes.todo.cache.IdempotencyCache;
+import com.tradebytes.todo.dto.BatchCreateResponse;
+import com.tradebytes.todo.dto.BatchUpdateRequest;
+import com.tradebytes.todo.dto.BatchUpdateResponse;
+import com.tradebytes.todo.dto.CacheStatsResponse;
 import com.tradebytes.todo.dto.CreateTodoRequest;
+import com.tradebytes.todo.dto.TodoChangesResponse;
+import com.tradebytes.todo.dto.TodoCountsResponse;
+import com.tradebytes.todo.dto.TodoFilter;
+import com.tradebytes.todo.dto.TodoPageResponse;
 import com.tradebytes.todo.dto.TodoResponse;
 import com.tradebytes.todo.dto.UpdateDescriptionRequest;
 import com.tradebytes.todo.dto.UpdateStatusRequest;
 import com.tradebytes.todo.exception.TodoImmutableException;
 import com.tradebytes.todo.exception.TodoNotFoundException;
+import com.tradebytes.todo.exception.TodoPreconditionFailedException;
 import com.tradebytes.todo.service.TodoService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,12 +27,18 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -39,6 +55,9 @@ class TodoControllerTest {
     @MockBean
     private TodoService todoService;
 
+    @MockBean
+    private IdempotencyCache idempotencyCache;
+
     private TodoResponse sampleResponse;
     private LocalDateTime now;
     private LocalDateTime futureDate;
@@ -80,6 +99,44 @@ class TodoControllerTest {
                     .andExpect(jsonPath("$.status").value("not done"));
         }
 
+        @Test
+        @DisplayName("Should create through the idempotency cache when a key is sent")
+        void shouldCreateWithIdempotencyKey() throws Exception {
+            CreateTodoRequest request = CreateTodoRequest.builder()
+                    .description("Test task")
+                    .dueDatetime(futureDate)
+                    .build();
+            when(idempotencyCache.execute(eq("key-1"), eq(request), any()))
+                    .thenReturn(new IdempotencyCache.Outcome(sampleResponse, true));
+
+            mockMvc.perform(post("/api/todos")
+                            .header("Idempotency-Key", "key-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().string("Idempotent-Replayed", "true"))
+                    .andExpect(jsonPath("$.id").value(1));
+            verify(todoService, never()).createTodo(any());
+        }
+
+        @Test
+        @DisplayName("Should bulk create todos and return their ids")
+        void shouldBulkCreateTodos() throws Exception {
+            List<CreateTodoRequest> requests = List.of(
+                    CreateTodoRequest.builder().description("First").dueDatetime(futureDate).build(),
+                    CreateTodoRequest.builder().description("Second").dueDatetime(futureDate).build());
+
+            when(todoService.createTodos(requests))
+                    .thenReturn(BatchCreateResponse.builder().ids(List.of(7L, 8L)).build());
+
+            mockMvc.perform(post("/api/todos/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(requests)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.ids[0]").value(7))
+                    .andExpect(jsonPath("$.ids[1]").value(8));
+        }
+
         @Test
         @DisplayName("Should return 400 when description is blank")
         void shouldReturn400WhenDescriptionBlank() throws Exception {
@@ -107,6 +164,19 @@ class TodoControllerTest {
                             .content(objectMapper.writeValueAsString(request)))
                     .andExpect(status().isBadRequest());
         }
+
+        @Test
+        @DisplayName("Should return 400 when due datetime is before year 1")
+        void shouldReturn400WhenDueDatetimeOutOfRange() throws Exception {
+            mockMvc.perform(post("/api/todos")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"description\": \"Test task\", \"due_datetime\": \"-0001-12-31T23:59:59\"}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.fieldErrors[0].field").value("dueDatetimeInRange"))
+                    .andExpect(jsonPath("$.fieldErrors[0].message").value("Due datetime must be in the years 1 to 9999"));
+
+            verify(todoService, never()).createTodo(any());
+        }
     }
 
     @Nested
@@ -133,6 +203,59 @@ class TodoControllerTest {
                     .andExpect(status().isNotFound())
                     .andExpect(jsonPath("$.message").value("Todo item not found with id: 999"));
         }
+
+        @Test
+        @DisplayName("Should send the ETag header and keep it out of the body")
+        void shouldSendETagHeader() throws Exception {
+            sampleResponse.setEtag("\"3-NOT_DONE\"");
+            when(todoService.getTodoById(1L)).thenReturn(sampleResponse);
+
+            mockMvc.perform(get("/api/todos/1"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"3-NOT_DONE\""))
+                    .andExpect(jsonPath("$.etag").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Should return 304 for a matching If-None-Match without mapping the item")
+        void shouldReturn304ForMatchingIfNoneMatch() throws Exception {
+            when(todoService.getTodoETag(1L)).thenReturn("\"3-NOT_DONE\"");
+
+            mockMvc.perform(get("/api/todos/1").header("If-None-Match", "\"2-NOT_DONE\", \"3-NOT_DONE\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", "\"3-NOT_DONE\""))
+                    .andExpect(content().string(""));
+
+            verify(todoService, never()).getTodoById(any());
+        }
+
+        @Test
+        @DisplayName("Should return the full item for a stale If-None-Match")
+        void shouldReturnFullItemForStaleIfNoneMatch() throws Exception {
+            sampleResponse.setEtag("\"4-NOT_DONE\"");
+            when(todoService.getTodoETag(1L)).thenReturn("\"4-NOT_DONE\"");
+            when(todoService.getTodoById(1L)).thenReturn(sampleResponse);
+
+            mockMvc.perform(get("/api/todos/1").header("If-None-Match", "\"3-NOT_DONE\""))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"4-NOT_DONE\""))
+                    .andExpect(jsonPath("$.id").value(1));
+        }
+
+        @Test
+        @DisplayName("Should return cache statistics")
+        void shouldReturnCacheStatistics() throws Exception {
+            when(todoService.getCacheStats()).thenReturn(CacheStatsResponse.builder()
+                    .hits(9).misses(1).hitRate(0.9).evictions(0).invalidations(2).size(1)
+                    .build());
+
+            mockMvc.perform(get("/api/todos/cache/stats"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.hits").value(9))
+                    .andExpect(jsonPath("$.misses").value(1))
+                    .andExpect(jsonPath("$.hit_rate").value(0.9))
+                    .andExpect(jsonPath("$.invalidations").value(2));
+        }
     }
 
     @Nested
@@ -140,22 +263,175 @@ class TodoControllerTest {
     class GetAllTodosEndpointTests {
 
         @Test
-        @DisplayName("Should get all not done todos by default")
-        void shouldGetAllNotDoneTodosByDefault() throws Exception {
-            when(todoService.getAllTodos(false)).thenReturn(List.of(sampleResponse));
+        @DisplayName("Should get first page of not done todos by default")
+        void shouldGetFirstPageOfNotDoneTodosByDefault() throws Exception {
+            TodoPageResponse page = TodoPageResponse.builder()
+                    .items(List.of(sampleResponse))
+                    .nextCursor("MQ")
+                    .build();
+            when(todoService.getTodoPage(false, null, 50)).thenReturn(page);
 
             mockMvc.perform(get("/api/todos"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items").isArray())
+                    .andExpect(jsonPath("$.items[0].id").value(1))
+                    .andExpect(jsonPath("$.next_cursor").value("MQ"));
+        }
+
+        @Test
+        @DisplayName("Should pass cursor and limit to the service")
+        void shouldPassCursorAndLimitToService() throws Exception {
+            TodoPageResponse page = TodoPageResponse.builder()
+                    .items(List.of(sampleResponse))
+                    .build();
+            when(todoService.getTodoPage(true, "MQ", 10)).thenReturn(page);
+
+            mockMvc.perform(get("/api/todos")
+                            .param("all", "true")
+                            .param("after", "MQ")
+                            .param("limit", "10"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items.length()").value(1));
+        }
+
+        @Test
+        @DisplayName("Should pass status, due range and sort filters to the service")
+        void shouldPassFiltersToService() throws Exception {
+            TodoFilter filter = TodoFilter.builder()
+                    .statuses(List.of("not done", "past due"))
+                    .dueAfter(LocalDateTime.of(2026, 1, 15, 12, 0))
+                    .dueBefore(LocalDateTime.of(2026, 1, 15, 13, 0))
+                    .sort(TodoFilter.SORT_BY_DUE)
+                    .build();
+            when(todoService.getTodoPage(filter, null, 20)).thenReturn(TodoPageResponse.builder()
+                    .items(List.of(sampleResponse))
+                    .build());
+
+            mockMvc.perform(get("/api/todos")
+                            .param("status", "not done", "past due")
+                            .param("due_after", "2026-01-15T12:00:00")
+                            .param("due_before", "2026-01-15T13:00:00")
+                            .param("sort", "due")
+                            .param("limit", "20"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items[0].id").value(1));
+
+            verify(todoService, never()).getTodoPage(any(Boolean.class), any(), any(Integer.class));
+        }
+
+        @Test
+        @DisplayName("Should return 400 for a malformed due datetime")
+        void shouldRejectMalformedDueDatetime() throws Exception {
+            mockMvc.perform(get("/api/todos").param("due_before", "tomorrow"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Invalid value for parameter 'due_before': tomorrow"));
+
+            verify(todoService, never()).getTodoPage(any(TodoFilter.class), any(), any(Integer.class));
+        }
+
+        @Test
+        @DisplayName("Should return changes since the token")
+        void shouldReturnChangesSinceToken() throws Exception {
+            when(todoService.getChanges("MTox", 500)).thenReturn(TodoChangesResponse.builder()
+                    .items(List.of(sampleResponse))
+                    .nextToken("MjoxMA")
+                    .hasMore(false)
+                    .build());
+
+            mockMvc.perform(get("/api/todos/changes").param("since", "MTox"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items[0].id").value(1))
+                    .andExpect(jsonPath("$.next_token").value("MjoxMA"))
+                    .andExpect(jsonPath("$.has_more").value(false));
+        }
+
+        @Test
+        @DisplayName("Should search with the query, statuses and paging parameters")
+        void shouldSearchTodos() throws Exception {
+            when(todoService.searchTodos("buy milk*", List.of("not done", "done"), "MQ", 10))
+                    .thenReturn(TodoPageResponse.builder().items(List.of(sampleResponse)).build());
+
+            mockMvc.perform(get("/api/todos/search")
+                            .param("q", "buy milk*")
+                            .param("status", "not done", "done")
+                            .param("after", "MQ")
+                            .param("limit", "10"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items[0].id").value(1));
+        }
+
+        @Test
+        @DisplayName("Should return 400 for a search without words")
+        void shouldRejectEmptySearch() throws Exception {
+            when(todoService.searchTodos(null, null, null, 50))
+                    .thenThrow(new IllegalArgumentException("Search query must contain at least one letter or digit"));
+
+            mockMvc.perform(get("/api/todos/search"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should return the counts per status")
+        void shouldReturnCounts() throws Exception {
+            when(todoService.getCounts()).thenReturn(new TodoCountsResponse(4L, 2L, 1L, 7L));
+
+            mockMvc.perform(get("/api/todos/counts"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.not_done").value(4))
+                    .andExpect(jsonPath("$.done").value(2))
+                    .andExpect(jsonPath("$.past_due").value(1))
+                    .andExpect(jsonPath("$.total").value(7));
+        }
+
+        @Test
+        @DisplayName("Should stream todos as NDJSON when requested")
+        void shouldStreamTodosAsNdjson() throws Exception {
+            TodoResponse secondResponse = TodoResponse.builder()
+                    .id(2L)
+                    .description("Second task")
+                    .status("done")
+                    .build();
+            doAnswer(inv -> {
+                Consumer<TodoResponse> consumer = inv.getArgument(1);
+                consumer.accept(sampleResponse);
+                consumer.accept(secondResponse);
+                return null;
+            }).when(todoService).streamTodos(eq(true), any());
+
+            MvcResult result = mockMvc.perform(get("/api/todos")
+                            .param("all", "true")
+                            .accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            String body = mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                    .andReturn().getResponse().getContentAsString();
+
+            String[] lines = body.split("\n");
+            assertThat(lines).hasSize(2);
+            assertThat(objectMapper.readTree(lines[0]).get("id").asLong()).isEqualTo(1L);
+            assertThat(objectMapper.readTree(lines[1]).get("status").asText()).isEqualTo("done");
+        }
+
+        @Test
+        @DisplayName("Should get all not done todos unpaginated when unpaged=true")
+        void shouldGetAllNotDoneTodosWhenUnpaged() throws Exception {
+            when(todoService.getAllTodos(false)).thenReturn(List.of(sampleResponse));
+
+            mockMvc.perform(get("/api/todos").param("unpaged", "true"))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$").isArray())
                     .andExpect(jsonPath("$[0].id").value(1));
         }
 
         @Test
-        @DisplayName("Should get all todos when all=true")
-        void shouldGetAllTodosWhenAllTrue() throws Exception {
+        @DisplayName("Should get all todos unpaginated when all=true and unpaged=true")
+        void shouldGetAllTodosWhenAllTrueAndUnpaged() throws Exception {
             when(todoService.getAllTodos(true)).thenReturn(List.of(sampleResponse));
 
-            mockMvc.perform(get("/api/todos").param("all", "true"))
+            mockMvc.perform(get("/api/todos").param("all", "true").param("unpaged", "true"))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$").isArray());
         }
@@ -178,7 +454,7 @@ class TodoControllerTest {
                     .status("not done")
                     .build();
 
-            when(todoService.updateDescription(eq(1L), any(UpdateDescriptionRequest.class)))
+            when(todoService.updateDescription(eq(1L), any(UpdateDescriptionRequest.class), any()))
                     .thenReturn(updatedResponse);
 
             mockMvc.perform(patch("/api/todos/1/description")
@@ -188,6 +464,43 @@ class TodoControllerTest {
                     .andExpect(jsonPath("$.description").value("Updated task"));
         }
 
+        @Test
+        @DisplayName("Should pass If-Match to the service and return the new ETag")
+        void shouldPassIfMatchAndReturnNewETag() throws Exception {
+            UpdateDescriptionRequest request = UpdateDescriptionRequest.builder()
+                    .description("Updated task")
+                    .build();
+            sampleResponse.setEtag("\"4-NOT_DONE\"");
+
+            when(todoService.updateDescription(eq(1L), any(UpdateDescriptionRequest.class), eq("\"3-NOT_DONE\"")))
+                    .thenReturn(sampleResponse);
+
+            mockMvc.perform(patch("/api/todos/1/description")
+                            .header("If-Match", "\"3-NOT_DONE\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"4-NOT_DONE\""));
+        }
+
+        @Test
+        @DisplayName("Should return 412 when If-Match does not match")
+        void shouldReturn412WhenIfMatchDoesNotMatch() throws Exception {
+            UpdateDescriptionRequest request = UpdateDescriptionRequest.builder()
+                    .description("Updated task")
+                    .build();
+
+            when(todoService.updateDescription(eq(1L), any(UpdateDescriptionRequest.class), any()))
+                    .thenThrow(new TodoPreconditionFailedException(1L));
+
+            mockMvc.perform(patch("/api/todos/1/description")
+                            .header("If-Match", "\"2-NOT_DONE\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isPreconditionFailed())
+                    .andExpect(jsonPath("$.status").value(412));
+        }
+
         @Test
         @DisplayName("Should return 409 when updating past due item")
         void shouldReturn409WhenUpdatingPastDueItem() throws Exception {
@@ -195,7 +508,7 @@ class TodoControllerTest {
                     .description("Updated task")
                     .build();
 
-            when(todoService.updateDescription(eq(1L), any(UpdateDescriptionRequest.class)))
+            when(todoService.updateDescription(eq(1L), any(UpdateDescriptionRequest.class), any()))
                     .thenThrow(new TodoImmutableException(1L));
 
             mockMvc.perform(patch("/api/todos/1/description")
@@ -209,6 +522,28 @@ class TodoControllerTest {
     @DisplayName("PATCH /api/todos/{id}/status - Update Status")
     class UpdateStatusEndpointTests {
 
+        @Test
+        @DisplayName("Should bulk update status and return per-id outcomes")
+        void shouldBulkUpdateStatus() throws Exception {
+            BatchUpdateRequest request = BatchUpdateRequest.builder()
+                    .ids(List.of(1L, 2L, 3L))
+                    .status("done")
+                    .build();
+            when(todoService.updateTodos(request)).thenReturn(BatchUpdateResponse.builder()
+                    .updated(List.of(1L))
+                    .notFound(List.of(3L))
+                    .immutable(List.of(2L))
+                    .build());
+
+            mockMvc.perform(patch("/api/todos/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.updated[0]").value(1))
+                    .andExpect(jsonPath("$.immutable[0]").value(2))
+                    .andExpect(jsonPath("$.not_found[0]").value(3));
+        }
+
         @Test
         @DisplayName("Should update status to done successfully")
         void shouldUpdateStatusToDoneSuccessfully() throws Exception {
@@ -223,7 +558,7 @@ class TodoControllerTest {
                     .doneDatetime(LocalDateTime.now())
                     .build();
 
-            when(todoService.updateStatus(eq(1L), any(UpdateStatusRequest.class)))
+            when(todoService.updateStatus(eq(1L), any(UpdateStatusRequest.class), any()))
                     .thenReturn(doneResponse);
 
             mockMvc.perform(patch("/api/todos/1/status")
@@ -240,7 +575,7 @@ class TodoControllerTest {
                     .status("not done")
                     .build();
 
-            when(todoService.updateStatus(eq(1L), any(UpdateStatusRequest.class)))
+            when(todoService.updateStatus(eq(1L), any(UpdateStatusRequest.class), any()))
                     .thenReturn(sampleResponse);
 
             mockMvc.perform(patch("/api/todos/1/status")
@@ -257,7 +592,7 @@ class TodoControllerTest {
                     .status("done")
                     .build();
 
-            when(todoService.updateStatus(eq(1L), any(UpdateStatusRequest.class)))
+            when(todoService.updateStatus(eq(1L), any(UpdateStatusRequest.class), any()))
                     .thenThrow(new TodoImmutableException(1L));
 
             mockMvc.perform(patch("/api/todos/1/status")
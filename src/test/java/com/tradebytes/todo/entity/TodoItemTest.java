@@ -157,6 +157,19 @@ class TodoItemTest {
 
             assertThat(item.getEffectiveStatus()).isEqualTo(TodoStatus.NOT_DONE);
         }
+
+        @Test
+        @DisplayName("Should evaluate against the given instant rather than the current time")
+        void shouldEvaluateAgainstGivenInstant() {
+            LocalDateTime due = LocalDateTime.of(2026, 1, 15, 18, 0);
+            TodoItem item = TodoItem.builder()
+                    .status(TodoStatus.NOT_DONE)
+                    .dueDatetime(due)
+                    .build();
+
+            assertThat(item.getEffectiveStatus(due)).isEqualTo(TodoStatus.NOT_DONE);
+            assertThat(item.getEffectiveStatus(due.plusNanos(1))).isEqualTo(TodoStatus.PAST_DUE);
+        }
     }
 
     @Nested
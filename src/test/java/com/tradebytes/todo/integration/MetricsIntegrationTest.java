@@ -0,0 +1,147 @@
+package com.tradebytes.todo.integration;
+
+import com.tradebytes.todo.entity.TodoItem;
+import com.tradebytes.todo.entity.TodoStatus;
+import com.tradebytes.todo.scheduler.PastDueScheduler;
+import com.tradebytes.todo.store.TodoStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the actuator surface: health probes and the Prometheus scrape endpoint.
+ */
+@SpringBootTest(properties = {
+        "todo.past-due.tracker.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:metricsdb;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TodoStore todoStore;
+
+    @Autowired
+    private PastDueScheduler pastDueScheduler;
+
+    @BeforeEach
+    void setUp() {
+        todoStore.deleteAll();
+    }
+
+    @Nested
+    @DisplayName("Health Probe Tests")
+    class HealthProbeTests {
+
+        @Test
+        @DisplayName("Liveness and readiness probes should report UP")
+        void probesShouldReportUp() throws Exception {
+            mockMvc.perform(get("/actuator/health/liveness"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("UP"));
+
+            mockMvc.perform(get("/actuator/health/readiness"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("UP"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Prometheus Endpoint Tests")
+    class PrometheusEndpointTests {
+
+        @Test
+        @DisplayName("Should expose per-endpoint latency percentiles and service timers")
+        void shouldExposeEndpointPercentilesAndServiceTimers() throws Exception {
+            mockMvc.perform(get("/api/todos")).andExpect(status().isOk());
+
+            String scrape = scrape();
+
+            assertThat(scrape)
+                    .contains("http_server_requests_seconds_bucket{")
+                    .containsPattern("http_server_requests_seconds\\{[^}]*uri=\"/api/todos\",quantile=\"0\\.999\"")
+                    .containsPattern("todo_service_seconds_count\\{[^}]*method=\"getTodoPage\"")
+                    .contains("jvm_gc_memory_allocated_bytes_total");
+        }
+
+        @Test
+        @DisabledIfSystemProperty(named = "spring.profiles.active", matches = "memory",
+                disabledReason = "The in-memory store has no connection pool")
+        @DisplayName("Should expose connection pool metrics")
+        void shouldExposeConnectionPoolMetrics() throws Exception {
+            assertThat(scrape()).contains("hikaricp_connections_acquire_seconds");
+        }
+
+        @Test
+        @DisplayName("Should record sweep duration, its chunks and the items it marked past due")
+        void shouldRecordSweepDurationAndMarkedItems() throws Exception {
+            todoStore.insert(TodoItem.builder()
+                    .description("Overdue task")
+                    .status(TodoStatus.NOT_DONE)
+                    .dueDatetime(LocalDateTime.now().minusHours(1))
+                    .build());
+
+            pastDueScheduler.updatePastDueItems();
+
+            String scrape = scrape();
+
+            assertThat(scrape)
+                    .containsPattern("todo_past_due_sweep_seconds_count\\S* [1-9]")
+                    .containsPattern("todo_past_due_marked_total\\{[^}]*source=\"sweep\"[^}]*\\} [1-9]")
+                    .containsPattern("todo_past_due_sweep_chunks_sum\\S* [1-9]")
+                    .containsPattern("todo_past_due_sweep_chunk_seconds_count\\S* [1-9]")
+                    .contains("todo_past_due_tracker_pending");
+        }
+    }
+
+    @Nested
+    @DisplayName("JSON Cache Tests")
+    class JsonCacheTests {
+
+        @Test
+        @DisplayName("Should serve a repeated listing from cached JSON fragments")
+        void shouldServeRepeatedListingFromCache() throws Exception {
+            todoStore.insert(TodoItem.builder()
+                    .description("Cached task")
+                    .status(TodoStatus.NOT_DONE)
+                    .creationDatetime(LocalDateTime.now())
+                    .dueDatetime(LocalDateTime.now().plusDays(1))
+                    .build());
+
+            String first = mockMvc.perform(get("/api/todos")).andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            String second = mockMvc.perform(get("/api/todos"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items[0].description").value("Cached task"))
+                    .andReturn().getResponse().getContentAsString();
+
+            assertThat(second).isEqualTo(first);
+            assertThat(scrape())
+                    .containsPattern("cache_gets_total\\{[^}]*cache=\"todo.json\"[^}]*result=\"hit\"[^}]*\\} [1-9]");
+        }
+    }
+
+    private String scrape() throws Exception {
+        return mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
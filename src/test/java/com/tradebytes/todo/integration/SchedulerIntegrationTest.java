@@ -1,10 +1,14 @@
 package com.tradebytes.todo.integration;
 
+import com.tradebytes.todo.dto.CreateTodoRequest;
+import com.tradebytes.todo.dto.TodoResponse;
 import com.tradebytes.todo.entity.TodoItem;
 import com.tradebytes.todo.entity.TodoStatus;
-import com.tradebytes.todo.repository.TodoRepository;
+import com.tradebytes.todo.repository.TodoSnapshot;
 import com.tradebytes.todo.scheduler.PastDueScheduler;
+import com.tradebytes.todo.scheduler.PastDueTracker;
 import com.tradebytes.todo.service.TodoService;
+import com.tradebytes.todo.store.TodoStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -15,10 +19,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -34,7 +40,7 @@ class SchedulerIntegrationTest {
     private MockMvc mockMvc;
 
     @Autowired
-    private TodoRepository todoRepository;
+    private TodoStore todoStore;
 
     @Autowired
     private TodoService todoService;
@@ -42,9 +48,12 @@ class SchedulerIntegrationTest {
     @Autowired
     private PastDueScheduler pastDueScheduler;
 
+    @Autowired
+    private PastDueTracker pastDueTracker;
+
     @BeforeEach
     void setUp() {
-        todoRepository.deleteAll();
+        todoStore.deleteAll();
     }
 
     @Nested
@@ -61,7 +70,7 @@ class SchedulerIntegrationTest {
                     .creationDatetime(LocalDateTime.now().minusDays(3))
                     .dueDatetime(LocalDateTime.now().minusHours(1)) // Due 1 hour ago
                     .build();
-            todoRepository.save(overdueItem1);
+            todoStore.insert(overdueItem1);
 
             TodoItem overdueItem2 = TodoItem.builder()
                     .description("Overdue task 2")
@@ -69,7 +78,7 @@ class SchedulerIntegrationTest {
                     .creationDatetime(LocalDateTime.now().minusDays(2))
                     .dueDatetime(LocalDateTime.now().minusMinutes(30)) // Due 30 minutes ago
                     .build();
-            todoRepository.save(overdueItem2);
+            todoStore.insert(overdueItem2);
 
             // Create an item that is NOT overdue (should remain NOT_DONE)
             TodoItem futureItem = TodoItem.builder()
@@ -78,7 +87,7 @@ class SchedulerIntegrationTest {
                     .creationDatetime(LocalDateTime.now())
                     .dueDatetime(LocalDateTime.now().plusDays(1)) // Due tomorrow
                     .build();
-            todoRepository.save(futureItem);
+            todoStore.insert(futureItem);
 
             // Create a done item (should remain DONE regardless of due date)
             TodoItem doneItem = TodoItem.builder()
@@ -88,29 +97,29 @@ class SchedulerIntegrationTest {
                     .dueDatetime(LocalDateTime.now().minusHours(2)) // Due 2 hours ago but already done
                     .doneDatetime(LocalDateTime.now().minusHours(3))
                     .build();
-            todoRepository.save(doneItem);
+            todoStore.insert(doneItem);
 
             // Manually trigger the scheduler
             pastDueScheduler.updatePastDueItems();
 
             // Verify the results
-            List<TodoItem> allItems = todoRepository.findAll();
+            List<TodoSnapshot> allItems = todoStore.findAll();
             assertThat(allItems).hasSize(4);
 
             // Check overdue items are now PAST_DUE
-            TodoItem updatedOverdue1 = todoRepository.findById(overdueItem1.getId()).orElseThrow();
-            assertThat(updatedOverdue1.getStatus()).isEqualTo(TodoStatus.PAST_DUE);
+            TodoSnapshot updatedOverdue1 = todoStore.findById(overdueItem1.getId()).orElseThrow();
+            assertThat(updatedOverdue1.status()).isEqualTo(TodoStatus.PAST_DUE);
 
-            TodoItem updatedOverdue2 = todoRepository.findById(overdueItem2.getId()).orElseThrow();
-            assertThat(updatedOverdue2.getStatus()).isEqualTo(TodoStatus.PAST_DUE);
+            TodoSnapshot updatedOverdue2 = todoStore.findById(overdueItem2.getId()).orElseThrow();
+            assertThat(updatedOverdue2.status()).isEqualTo(TodoStatus.PAST_DUE);
 
             // Check future item is still NOT_DONE
-            TodoItem updatedFutureItem = todoRepository.findById(futureItem.getId()).orElseThrow();
-            assertThat(updatedFutureItem.getStatus()).isEqualTo(TodoStatus.NOT_DONE);
+            TodoSnapshot updatedFutureItem = todoStore.findById(futureItem.getId()).orElseThrow();
+            assertThat(updatedFutureItem.status()).isEqualTo(TodoStatus.NOT_DONE);
 
             // Check done item is still DONE
-            TodoItem updatedDoneItem = todoRepository.findById(doneItem.getId()).orElseThrow();
-            assertThat(updatedDoneItem.getStatus()).isEqualTo(TodoStatus.DONE);
+            TodoSnapshot updatedDoneItem = todoStore.findById(doneItem.getId()).orElseThrow();
+            assertThat(updatedDoneItem.status()).isEqualTo(TodoStatus.DONE);
         }
 
         @Test
@@ -123,27 +132,27 @@ class SchedulerIntegrationTest {
                     .creationDatetime(LocalDateTime.now().minusDays(5))
                     .dueDatetime(LocalDateTime.now().minusDays(3))
                     .build();
-            todoRepository.save(alreadyPastDue);
+            todoStore.insert(alreadyPastDue);
 
             // Trigger the scheduler
             pastDueScheduler.updatePastDueItems();
 
             // Verify it's still past due
-            TodoItem updated = todoRepository.findById(alreadyPastDue.getId()).orElseThrow();
-            assertThat(updated.getStatus()).isEqualTo(TodoStatus.PAST_DUE);
+            TodoSnapshot updated = todoStore.findById(alreadyPastDue.getId()).orElseThrow();
+            assertThat(updated.status()).isEqualTo(TodoStatus.PAST_DUE);
         }
 
         @Test
         @DisplayName("Scheduler should handle empty repository gracefully")
         void schedulerShouldHandleEmptyRepository() {
             // Ensure repository is empty
-            assertThat(todoRepository.count()).isZero();
+            assertThat(todoStore.count()).isZero();
 
             // Trigger the scheduler - should not throw any exception
             pastDueScheduler.updatePastDueItems();
 
             // Still empty
-            assertThat(todoRepository.count()).isZero();
+            assertThat(todoStore.count()).isZero();
         }
 
         @Test
@@ -156,7 +165,7 @@ class SchedulerIntegrationTest {
                     .creationDatetime(LocalDateTime.now().minusDays(2))
                     .dueDatetime(LocalDateTime.now().minusHours(1))
                     .build();
-            todoRepository.save(overdueItem);
+            todoStore.insert(overdueItem);
 
             // Run scheduler multiple times
             pastDueScheduler.updatePastDueItems();
@@ -164,11 +173,70 @@ class SchedulerIntegrationTest {
             pastDueScheduler.updatePastDueItems();
 
             // Verify item is past due
-            TodoItem updated = todoRepository.findById(overdueItem.getId()).orElseThrow();
-            assertThat(updated.getStatus()).isEqualTo(TodoStatus.PAST_DUE);
+            TodoSnapshot updated = todoStore.findById(overdueItem.getId()).orElseThrow();
+            assertThat(updated.status()).isEqualTo(TodoStatus.PAST_DUE);
 
             // Only one item exists
-            assertThat(todoRepository.count()).isEqualTo(1);
+            assertThat(todoStore.count()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Event-Driven Past Due Tracking Tests")
+    class PastDueTrackerTests {
+
+        @Test
+        @DisplayName("Tracker should mark an item past due shortly after its deadline without a sweep")
+        void trackerShouldMarkItemPastDueAfterDeadline() {
+            TodoResponse created = todoService.createTodo(CreateTodoRequest.builder()
+                    .description("Due very soon")
+                    .dueDatetime(LocalDateTime.now().plusNanos(Duration.ofMillis(300).toNanos()))
+                    .build());
+
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                    assertThat(todoStore.findById(created.getId()).orElseThrow().status())
+                            .isEqualTo(TodoStatus.PAST_DUE));
+        }
+
+        @Test
+        @DisplayName("Tracker should leave items marked done before their deadline untouched")
+        void trackerShouldIgnoreItemsMarkedDone() throws Exception {
+            TodoResponse created = todoService.createTodo(CreateTodoRequest.builder()
+                    .description("Done in time")
+                    .dueDatetime(LocalDateTime.now().plusNanos(Duration.ofSeconds(2).toNanos()))
+                    .build());
+
+            mockMvc.perform(patch("/api/todos/" + created.getId() + "/status")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"status\": \"done\"}"))
+                    .andExpect(status().isOk());
+
+            Thread.sleep(2500);
+
+            assertThat(todoStore.findById(created.getId()).orElseThrow().status())
+                    .isEqualTo(TodoStatus.DONE);
+        }
+
+        @Test
+        @DisplayName("Tracker should keep one entry for an item toggled between done and not done")
+        void trackerShouldKeepOneEntryPerItem() throws Exception {
+            TodoResponse created = todoService.createTodo(CreateTodoRequest.builder()
+                    .description("Toggled")
+                    .dueDatetime(LocalDateTime.now().plusDays(30))
+                    .build());
+            int tracked = pastDueTracker.size();
+
+            for (int i = 0; i < 5; i++) {
+                for (String status : List.of("done", "not done")) {
+                    mockMvc.perform(patch("/api/todos/" + created.getId() + "/status")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content("{\"status\": \"" + status + "\"}"))
+                            .andExpect(status().isOk());
+                }
+            }
+
+            // Entries of other tests may expire meanwhile, but this item adds none
+            assertThat(pastDueTracker.size()).isLessThanOrEqualTo(tracked);
         }
     }
 
@@ -186,7 +254,7 @@ class SchedulerIntegrationTest {
                     .creationDatetime(LocalDateTime.now().minusDays(2))
                     .dueDatetime(LocalDateTime.now().minusMinutes(5))
                     .build();
-            overdueItem = todoRepository.save(overdueItem);
+            todoStore.insert(overdueItem);
 
             // Get the item via API - should show "past due" in response
             mockMvc.perform(get("/api/todos/" + overdueItem.getId()))
@@ -194,8 +262,8 @@ class SchedulerIntegrationTest {
                     .andExpect(jsonPath("$.status").value("past due"));
 
             // But database should remain unchanged (still NOT_DONE)
-            TodoItem unchanged = todoRepository.findById(overdueItem.getId()).orElseThrow();
-            assertThat(unchanged.getStatus()).isEqualTo(TodoStatus.NOT_DONE);
+            TodoSnapshot unchanged = todoStore.findById(overdueItem.getId()).orElseThrow();
+            assertThat(unchanged.status()).isEqualTo(TodoStatus.NOT_DONE);
         }
 
         @Test
@@ -208,17 +276,52 @@ class SchedulerIntegrationTest {
                     .creationDatetime(LocalDateTime.now().minusDays(1))
                     .dueDatetime(LocalDateTime.now().minusMinutes(10))
                     .build();
-            todoRepository.save(overdueItem);
+            todoStore.insert(overdueItem);
 
             // List all todos - should show "past due" in response
             mockMvc.perform(get("/api/todos").param("all", "true"))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$.length()").value(1))
-                    .andExpect(jsonPath("$[0].status").value("past due"));
+                    .andExpect(jsonPath("$.items.length()").value(1))
+                    .andExpect(jsonPath("$.items[0].status").value("past due"));
 
             // But database should remain unchanged
-            TodoItem unchanged = todoRepository.findById(overdueItem.getId()).orElseThrow();
-            assertThat(unchanged.getStatus()).isEqualTo(TodoStatus.NOT_DONE);
+            TodoSnapshot unchanged = todoStore.findById(overdueItem.getId()).orElseThrow();
+            assertThat(unchanged.status()).isEqualTo(TodoStatus.NOT_DONE);
+        }
+
+        @Test
+        @DisplayName("Not done listing should exclude overdue items before the scheduler runs")
+        void notDoneListingShouldExcludeOverdueItemsBeforeScheduler() throws Exception {
+            TodoItem overdueItem = TodoItem.builder()
+                    .description("Overdue task")
+                    .status(TodoStatus.NOT_DONE)
+                    .creationDatetime(LocalDateTime.now().minusDays(1))
+                    .dueDatetime(LocalDateTime.now().minusMinutes(10))
+                    .build();
+            todoStore.insert(overdueItem);
+
+            TodoItem pendingItem = TodoItem.builder()
+                    .description("Pending task")
+                    .status(TodoStatus.NOT_DONE)
+                    .creationDatetime(LocalDateTime.now())
+                    .dueDatetime(LocalDateTime.now().plusDays(1))
+                    .build();
+            todoStore.insert(pendingItem);
+
+            // Paged, unpaged and streamed listings only return the item that is still not done
+            mockMvc.perform(get("/api/todos"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items.length()").value(1))
+                    .andExpect(jsonPath("$.items[0].description").value("Pending task"));
+
+            mockMvc.perform(get("/api/todos").param("unpaged", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].status").value("not done"));
+
+            // Database still has the overdue item as NOT_DONE
+            assertThat(todoStore.findById(overdueItem.getId()).orElseThrow().status())
+                    .isEqualTo(TodoStatus.NOT_DONE);
         }
 
         @Test
@@ -231,11 +334,11 @@ class SchedulerIntegrationTest {
                     .creationDatetime(LocalDateTime.now().minusDays(1))
                     .dueDatetime(LocalDateTime.now().minusMinutes(5))
                     .build();
-            overdueItem = todoRepository.save(overdueItem);
+            todoStore.insert(overdueItem);
 
             // Before scheduler: DB has NOT_DONE, API shows "past due"
-            TodoItem beforeScheduler = todoRepository.findById(overdueItem.getId()).orElseThrow();
-            assertThat(beforeScheduler.getStatus()).isEqualTo(TodoStatus.NOT_DONE);
+            TodoSnapshot beforeScheduler = todoStore.findById(overdueItem.getId()).orElseThrow();
+            assertThat(beforeScheduler.status()).isEqualTo(TodoStatus.NOT_DONE);
 
             mockMvc.perform(get("/api/todos/" + overdueItem.getId()))
                     .andExpect(jsonPath("$.status").value("past due"));
@@ -244,8 +347,8 @@ class SchedulerIntegrationTest {
             pastDueScheduler.updatePastDueItems();
 
             // After scheduler: DB also has PAST_DUE
-            TodoItem afterScheduler = todoRepository.findById(overdueItem.getId()).orElseThrow();
-            assertThat(afterScheduler.getStatus()).isEqualTo(TodoStatus.PAST_DUE);
+            TodoSnapshot afterScheduler = todoStore.findById(overdueItem.getId()).orElseThrow();
+            assertThat(afterScheduler.status()).isEqualTo(TodoStatus.PAST_DUE);
         }
     }
 
@@ -263,7 +366,7 @@ class SchedulerIntegrationTest {
                     .creationDatetime(LocalDateTime.now().minusDays(1))
                     .dueDatetime(LocalDateTime.now().minusMinutes(5))
                     .build();
-            overdueItem = todoRepository.save(overdueItem);
+            todoStore.insert(overdueItem);
 
             // Try to update status - should fail because the item is overdue
             String statusRequest = "{\"status\": \"done\"}";
@@ -284,7 +387,7 @@ class SchedulerIntegrationTest {
                     .creationDatetime(LocalDateTime.now().minusDays(1))
                     .dueDatetime(LocalDateTime.now().minusMinutes(5))
                     .build();
-            overdueItem = todoRepository.save(overdueItem);
+            todoStore.insert(overdueItem);
 
             // Try to update description - should fail
             String descRequest = "{\"description\": \"Updated description\"}";
@@ -310,7 +413,7 @@ class SchedulerIntegrationTest {
                     .creationDatetime(LocalDateTime.now().minusDays(3))
                     .dueDatetime(LocalDateTime.now().minusDays(1))
                     .build();
-            pastDueItem = todoRepository.save(pastDueItem);
+            todoStore.insert(pastDueItem);
 
             // Try to update description - should fail
             String descRequest = "{\"description\": \"Updated description\"}";
@@ -336,9 +439,9 @@ class SchedulerIntegrationTest {
                     .andExpect(status().isConflict());
 
             // Verify item is unchanged
-            TodoItem unchanged = todoRepository.findById(pastDueItem.getId()).orElseThrow();
-            assertThat(unchanged.getDescription()).isEqualTo("Past due task");
-            assertThat(unchanged.getStatus()).isEqualTo(TodoStatus.PAST_DUE);
+            TodoSnapshot unchanged = todoStore.findById(pastDueItem.getId()).orElseThrow();
+            assertThat(unchanged.description()).isEqualTo("Past due task");
+            assertThat(unchanged.status()).isEqualTo(TodoStatus.PAST_DUE);
         }
 
         @Test
@@ -351,7 +454,7 @@ class SchedulerIntegrationTest {
                     .creationDatetime(LocalDateTime.now().minusDays(3))
                     .dueDatetime(LocalDateTime.now().minusDays(1))
                     .build();
-            pastDueItem = todoRepository.save(pastDueItem);
+            todoStore.insert(pastDueItem);
 
             // Should be able to read the item
             mockMvc.perform(get("/api/todos/" + pastDueItem.getId()))
@@ -363,7 +466,7 @@ class SchedulerIntegrationTest {
             // Should appear in the list with all=true
             mockMvc.perform(get("/api/todos").param("all", "true"))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$[0].status").value("past due"));
+                    .andExpect(jsonPath("$.items[0].status").value("past due"));
         }
     }
 }
@@ -1,12 +1,17 @@
 package com.tradebytes.todo.integration;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tradebytes.todo.dto.BatchUpdateRequest;
 import com.tradebytes.todo.dto.CreateTodoRequest;
 import com.tradebytes.todo.dto.UpdateDescriptionRequest;
 import com.tradebytes.todo.dto.UpdateStatusRequest;
 import com.tradebytes.todo.entity.TodoItem;
 import com.tradebytes.todo.entity.TodoStatus;
-import com.tradebytes.todo.repository.TodoRepository;
+import com.tradebytes.todo.repository.TodoSnapshot;
+import com.tradebytes.todo.service.TodoCounts;
+import com.tradebytes.todo.service.TodoService;
+import com.tradebytes.todo.store.TodoStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,9 +20,15 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -32,11 +43,17 @@ class TodoIntegrationTest {
     private ObjectMapper objectMapper;
 
     @Autowired
-    private TodoRepository todoRepository;
+    private TodoStore todoStore;
+
+    @Autowired
+    private TodoCounts todoCounts;
+
+    @Autowired
+    private TodoService todoService;
 
     @BeforeEach
     void setUp() {
-        todoRepository.deleteAll();
+        todoStore.deleteAll();
     }
 
     @Test
@@ -104,7 +121,7 @@ class TodoIntegrationTest {
                 .creationDatetime(LocalDateTime.now().minusDays(2))
                 .dueDatetime(LocalDateTime.now().minusDays(1))
                 .build();
-        pastDueItem = todoRepository.save(pastDueItem);
+        todoStore.insert(pastDueItem);
 
         // Try to update description
         UpdateDescriptionRequest updateRequest = UpdateDescriptionRequest.builder()
@@ -137,7 +154,7 @@ class TodoIntegrationTest {
                 .creationDatetime(LocalDateTime.now())
                 .dueDatetime(LocalDateTime.now().plusDays(1))
                 .build();
-        todoItem = todoRepository.save(todoItem);
+        todoStore.insert(todoItem);
 
         // Try to set invalid status
         String invalidStatusRequest = "{\"status\": \"invalid\"}";
@@ -166,7 +183,7 @@ class TodoIntegrationTest {
                 .creationDatetime(LocalDateTime.now())
                 .dueDatetime(LocalDateTime.now().plusDays(1))
                 .build();
-        todoRepository.save(notDoneItem);
+        todoStore.insert(notDoneItem);
 
         TodoItem doneItem = TodoItem.builder()
                 .description("Done task")
@@ -175,18 +192,276 @@ class TodoIntegrationTest {
                 .dueDatetime(LocalDateTime.now().plusDays(1))
                 .doneDatetime(LocalDateTime.now())
                 .build();
-        todoRepository.save(doneItem);
+        todoStore.insert(doneItem);
 
         // Get only not done items (default)
         mockMvc.perform(get("/api/todos"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1))
-                .andExpect(jsonPath("$[0].status").value("not done"));
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].status").value("not done"));
 
         // Get all items
         mockMvc.perform(get("/api/todos").param("all", "true"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2));
+                .andExpect(jsonPath("$.items.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("Should page through todos with the next cursor")
+    void shouldPageThroughTodosWithNextCursor() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            todoStore.insert(TodoItem.builder()
+                    .description("Task " + i)
+                    .status(TodoStatus.NOT_DONE)
+                    .creationDatetime(LocalDateTime.now())
+                    .dueDatetime(LocalDateTime.now().plusDays(1))
+                    .build());
+        }
+
+        String firstPage = mockMvc.perform(get("/api/todos").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(3))
+                .andExpect(jsonPath("$.items[0].description").value("Task 1"))
+                .andExpect(jsonPath("$.next_cursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+
+        String cursor = objectMapper.readTree(firstPage).get("next_cursor").asText();
+
+        mockMvc.perform(get("/api/todos").param("limit", "3").param("after", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].description").value("Task 4"))
+                .andExpect(jsonPath("$.next_cursor").doesNotExist());
+
+        // The legacy unpaginated shape is still available on explicit opt-in
+        mockMvc.perform(get("/api/todos").param("unpaged", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5));
+    }
+
+    @Test
+    @DisplayName("Should page items due in the next hour by due datetime")
+    void shouldPageItemsDueSoonByDue() throws Exception {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        int[] dueInMinutes = {50, -30, 10, 90, 30, 20};
+        for (int i = 0; i < dueInMinutes.length; i++) {
+            todoStore.insert(TodoItem.builder()
+                    .description("Task " + i)
+                    .status(TodoStatus.NOT_DONE)
+                    .creationDatetime(now.minusDays(1))
+                    .dueDatetime(now.plusMinutes(dueInMinutes[i]))
+                    .build());
+        }
+        todoStore.insert(TodoItem.builder()
+                .description("Finished")
+                .status(TodoStatus.DONE)
+                .creationDatetime(now.minusDays(1))
+                .dueDatetime(now.plusMinutes(5))
+                .doneDatetime(now)
+                .build());
+
+        String firstPage = mockMvc.perform(get("/api/todos")
+                        .param("status", "not done")
+                        .param("due_before", now.plusHours(1).toString())
+                        .param("sort", "due")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].description").value("Task 2"))
+                .andExpect(jsonPath("$.items[1].description").value("Task 5"))
+                .andReturn().getResponse().getContentAsString();
+
+        String cursor = objectMapper.readTree(firstPage).get("next_cursor").asText();
+
+        mockMvc.perform(get("/api/todos")
+                        .param("status", "not done")
+                        .param("due_before", now.plusHours(1).toString())
+                        .param("sort", "due")
+                        .param("limit", "2")
+                        .param("after", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].description").value("Task 4"))
+                .andExpect(jsonPath("$.items[1].description").value("Task 0"))
+                .andExpect(jsonPath("$.next_cursor").doesNotExist());
+
+        // The overdue item is effectively past due, even though its stored status is still "not done"
+        mockMvc.perform(get("/api/todos")
+                        .param("status", "past due")
+                        .param("due_after", now.minusDays(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].description").value("Task 1"))
+                .andExpect(jsonPath("$.items[0].status").value("past due"));
+
+        mockMvc.perform(get("/api/todos").param("sort", "description"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should stream not done todos as NDJSON")
+    void shouldStreamNotDoneTodosAsNdjson() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            todoStore.insert(TodoItem.builder()
+                    .description("Task " + i)
+                    .status(i == 2 ? TodoStatus.DONE : TodoStatus.NOT_DONE)
+                    .creationDatetime(LocalDateTime.now())
+                    .dueDatetime(LocalDateTime.now().plusDays(1))
+                    .build());
+        }
+
+        MvcResult result = mockMvc.perform(get("/api/todos").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("description").asText()).isEqualTo("Task 1");
+        assertThat(objectMapper.readTree(lines[1]).get("description").asText()).isEqualTo("Task 3");
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an invalid cursor")
+    void shouldReturn400ForInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/todos").param("after", "not-a-cursor!"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should not serve a cached item after it was updated")
+    void shouldNotServeCachedItemAfterUpdate() throws Exception {
+        TodoSnapshot item = todoStore.insert(TodoItem.builder()
+                .description("Cached task")
+                .status(TodoStatus.NOT_DONE)
+                .dueDatetime(LocalDateTime.now().plusDays(1))
+                .build());
+
+        // Warm the cache
+        mockMvc.perform(get("/api/todos/" + item.id()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").value("Cached task"));
+
+        mockMvc.perform(patch("/api/todos/" + item.id() + "/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"done\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/todos/" + item.id()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("done"))
+                .andExpect(jsonPath("$.done_datetime").isNotEmpty());
+    }
+
+    @Test
+    @DisplayName("Should revalidate with ETags and reject lost updates with If-Match")
+    void shouldRevalidateAndRejectLostUpdates() throws Exception {
+        TodoSnapshot item = saveItem("Versioned task", TodoStatus.NOT_DONE, LocalDateTime.now().plusDays(1));
+        String url = "/api/todos/" + item.id();
+
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get(url).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+
+        String updatedETag = mockMvc.perform(patch(url + "/description")
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\": \"First writer\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(updatedETag).isNotEqualTo(etag);
+
+        // A second writer still holding the old ETag must not overwrite the first
+        mockMvc.perform(patch(url + "/status")
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"done\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get(url).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", updatedETag))
+                .andExpect(jsonPath("$.description").value("First writer"))
+                .andExpect(jsonPath("$.status").value("not done"));
+    }
+
+    @Test
+    @DisplayName("Should sync only the items changed since the last token")
+    void shouldSyncOnlyChangedItems() throws Exception {
+        String token = changes(null).get("next_token").asText();
+
+        mockMvc.perform(post("/api/todos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(
+                                CreateTodoRequest.builder().description("Sync one")
+                                        .dueDatetime(LocalDateTime.now().plusDays(1)).build(),
+                                CreateTodoRequest.builder().description("Sync two")
+                                        .dueDatetime(LocalDateTime.now().plusDays(1)).build()))))
+                .andExpect(status().isCreated());
+
+        JsonNode created = changes(token);
+        assertThat(created.get("items")).extracting(item -> item.get("description").asText())
+                .containsExactly("Sync one", "Sync two");
+        long changedId = created.get("items").get(0).get("id").asLong();
+        token = created.get("next_token").asText();
+
+        mockMvc.perform(patch("/api/todos/" + changedId + "/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"done\"}"))
+                .andExpect(status().isOk());
+
+        JsonNode updated = changes(token);
+        assertThat(updated.get("items")).hasSize(1);
+        assertThat(updated.get("items").get(0).get("id").asLong()).isEqualTo(changedId);
+        assertThat(updated.get("items").get(0).get("status").asText()).isEqualTo("done");
+
+        JsonNode unchanged = changes(updated.get("next_token").asText());
+        assertThat(unchanged.get("items")).isEmpty();
+        assertThat(unchanged.get("next_token").asText()).isEqualTo(updated.get("next_token").asText());
+    }
+
+    @Test
+    @DisplayName("Should stream item changes as server-sent events and resume after Last-Event-ID")
+    void shouldStreamChangesAndResume() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/todos/events").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        long firstId = createItem("Streamed one");
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() ->
+                assertThat(stream.getResponse().getContentAsString())
+                        .contains("event:created")
+                        .contains("\"id\":" + firstId));
+        String firstEventId = stream.getResponse().getContentAsString().lines()
+                .filter(line -> line.startsWith("id:"))
+                .map(line -> line.substring("id:".length()))
+                .findFirst().orElseThrow();
+
+        long secondId = createItem("Streamed two");
+        mockMvc.perform(patch("/api/todos/" + firstId + "/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"done\"}"))
+                .andExpect(status().isOk());
+
+        // A client that only saw the first event picks up everything after it
+        MvcResult resumed = mockMvc.perform(get("/api/todos/events")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Last-Event-ID", firstEventId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() ->
+                assertThat(resumed.getResponse().getContentAsString())
+                        .contains("\"id\":" + secondId)
+                        .contains("event:updated"));
+        assertThat(resumed.getResponse().getContentAsString()).doesNotContain("event:created\ndata:{\"id\":" + firstId);
     }
 
     @Test
@@ -211,4 +486,270 @@ class TodoIntegrationTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.fieldErrors").isArray());
     }
+
+    @Test
+    @DisplayName("Should bulk create todos and return ids in request order")
+    void shouldBulkCreateTodosInOrder() throws Exception {
+        List<CreateTodoRequest> requests = IntStream.range(0, 120)
+                .mapToObj(i -> CreateTodoRequest.builder()
+                        .description("Bulk task " + i)
+                        .dueDatetime(LocalDateTime.now().plusDays(1))
+                        .build())
+                .toList();
+
+        String response = mockMvc.perform(post("/api/todos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.ids.length()").value(120))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode ids = objectMapper.readTree(response).get("ids");
+        assertThat(todoStore.count()).isEqualTo(120);
+        for (int i : new int[]{0, 57, 119}) {
+            mockMvc.perform(get("/api/todos/" + ids.get(i).asLong()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.description").value("Bulk task " + i))
+                    .andExpect(jsonPath("$.status").value("not done"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject the whole batch when one item is invalid")
+    void shouldRejectWholeBatchWhenOneItemIsInvalid() throws Exception {
+        List<CreateTodoRequest> requests = List.of(
+                CreateTodoRequest.builder().description("Valid").dueDatetime(LocalDateTime.now().plusDays(1)).build(),
+                CreateTodoRequest.builder().description("").dueDatetime(LocalDateTime.now().plusDays(1)).build());
+
+        mockMvc.perform(post("/api/todos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors[0].field").value("[1].description"))
+                .andExpect(jsonPath("$.fieldErrors[0].message").value("Description is required"));
+
+        assertThat(todoStore.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject an empty batch")
+    void shouldRejectEmptyBatch() throws Exception {
+        mockMvc.perform(post("/api/todos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors[0].message").value("Batch must contain between 1 and 1000 items"));
+    }
+
+    @Test
+    @DisplayName("Should bulk update status and report per-id outcomes")
+    void shouldBulkUpdateStatusAndReportOutcomes() throws Exception {
+        TodoSnapshot pending = saveItem("Pending", TodoStatus.NOT_DONE, LocalDateTime.now().plusDays(1));
+        TodoSnapshot doneOverdue = saveItem("Done overdue", TodoStatus.DONE, LocalDateTime.now().minusDays(1));
+        TodoSnapshot pastDue = saveItem("Past due", TodoStatus.PAST_DUE, LocalDateTime.now().minusDays(1));
+        TodoSnapshot overdue = saveItem("Overdue, not swept", TodoStatus.NOT_DONE, LocalDateTime.now().minusMinutes(1));
+
+        BatchUpdateRequest request = BatchUpdateRequest.builder()
+                .ids(List.of(pending.id(), doneOverdue.id(), pastDue.id(), overdue.id(), 999_999L))
+                .status("done")
+                .build();
+
+        mockMvc.perform(patch("/api/todos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated.length()").value(2))
+                .andExpect(jsonPath("$.updated[0]").value(pending.id()))
+                .andExpect(jsonPath("$.updated[1]").value(doneOverdue.id()))
+                .andExpect(jsonPath("$.immutable.length()").value(2))
+                .andExpect(jsonPath("$.immutable[0]").value(pastDue.id()))
+                .andExpect(jsonPath("$.immutable[1]").value(overdue.id()))
+                .andExpect(jsonPath("$.not_found[0]").value(999_999));
+
+        TodoSnapshot updated = todoStore.findById(pending.id()).orElseThrow();
+        assertThat(updated.status()).isEqualTo(TodoStatus.DONE);
+        assertThat(updated.doneDatetime()).isNotNull();
+        assertThat(todoStore.findById(overdue.id()).orElseThrow().status()).isEqualTo(TodoStatus.NOT_DONE);
+        assertThat(todoStore.findById(pastDue.id()).orElseThrow().status()).isEqualTo(TodoStatus.PAST_DUE);
+    }
+
+    @Test
+    @DisplayName("Should bulk update description of mutable items only")
+    void shouldBulkUpdateDescriptionOfMutableItemsOnly() throws Exception {
+        TodoSnapshot pending = saveItem("Pending", TodoStatus.NOT_DONE, LocalDateTime.now().plusDays(1));
+        TodoSnapshot pastDue = saveItem("Past due", TodoStatus.PAST_DUE, LocalDateTime.now().minusDays(1));
+
+        // Warm the cache so the update has to invalidate it
+        mockMvc.perform(get("/api/todos/" + pending.id())).andExpect(status().isOk());
+
+        BatchUpdateRequest request = BatchUpdateRequest.builder()
+                .ids(List.of(pending.id(), pastDue.id()))
+                .description("Renamed")
+                .build();
+
+        mockMvc.perform(patch("/api/todos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated[0]").value(pending.id()))
+                .andExpect(jsonPath("$.immutable[0]").value(pastDue.id()));
+
+        mockMvc.perform(get("/api/todos/" + pending.id()))
+                .andExpect(jsonPath("$.description").value("Renamed"));
+        mockMvc.perform(get("/api/todos/" + pastDue.id()))
+                .andExpect(jsonPath("$.description").value("Past due"));
+    }
+
+    @Test
+    @DisplayName("Should require exactly one change in a bulk update")
+    void shouldRequireExactlyOneChangeInBulkUpdate() throws Exception {
+        mockMvc.perform(patch("/api/todos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [1], \"status\": \"done\", \"description\": \"Both\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors[0].field").value("singleChange"));
+
+        mockMvc.perform(patch("/api/todos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [1], \"status\": \"past due\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should search descriptions and follow later changes")
+    void shouldSearchDescriptions() throws Exception {
+        long milk = createItem("Buy milk at the corner shop");
+        long bread = createItem("Buy bread");
+        long call = createItem("Call the plumber");
+
+        mockMvc.perform(get("/api/todos/search").param("q", "buy"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(milk))
+                .andExpect(jsonPath("$.items[1].id").value(bread));
+        mockMvc.perform(get("/api/todos/search").param("q", "BUY sho*"))
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(milk));
+
+        mockMvc.perform(patch("/api/todos/" + call + "/description")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(UpdateDescriptionRequest.builder().description("Buy a new tap").build())))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/api/todos/" + bread + "/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(UpdateStatusRequest.builder().status("done").build())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/todos/search").param("q", "plumber"))
+                .andExpect(jsonPath("$.items.length()").value(0));
+        mockMvc.perform(get("/api/todos/search").param("q", "buy").param("status", "not done").param("limit", "1"))
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(milk))
+                .andExpect(jsonPath("$.next_cursor").isNotEmpty());
+        mockMvc.perform(get("/api/todos/search").param("q", "buy").param("status", "done"))
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(bread));
+
+        mockMvc.perform(get("/api/todos/search").param("q", "  "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should create once per Idempotency-Key and replay the original response")
+    void shouldCreateOncePerIdempotencyKey() throws Exception {
+        String body = objectMapper.writeValueAsString(CreateTodoRequest.builder()
+                .description("Retried task")
+                .dueDatetime(LocalDateTime.now().plusDays(1))
+                .build());
+
+        String first = mockMvc.perform(post("/api/todos")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "false"))
+                .andReturn().getResponse().getContentAsString();
+        String retry = mockMvc.perform(post("/api/todos")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(retry).isEqualTo(first);
+        assertThat(todoStore.count()).isEqualTo(1);
+
+        mockMvc.perform(post("/api/todos")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body.replace("Retried task", "Another task")))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    @DisplayName("Should keep the counts in step with creates, status changes and the sweep")
+    void shouldKeepCountsInStep() throws Exception {
+        todoCounts.reconcile();
+        long first = createItem("First");
+        createItem("Second");
+        TodoSnapshot overdue = saveItem("Overdue", TodoStatus.NOT_DONE, LocalDateTime.now().minusMinutes(1));
+        todoCounts.reconcile();
+
+        // Past due before the sweep has marked it, as GET /api/todos/{id} reports it
+        mockMvc.perform(get("/api/todos/counts"))
+                .andExpect(jsonPath("$.not_done").value(2))
+                .andExpect(jsonPath("$.past_due").value(1))
+                .andExpect(jsonPath("$.total").value(3));
+
+        mockMvc.perform(patch("/api/todos/" + first + "/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(UpdateStatusRequest.builder().status("done").build())))
+                .andExpect(status().isOk());
+        todoService.updatePastDueItems();
+
+        mockMvc.perform(get("/api/todos/counts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.not_done").value(1))
+                .andExpect(jsonPath("$.done").value(1))
+                .andExpect(jsonPath("$.past_due").value(1))
+                .andExpect(jsonPath("$.total").value(3));
+        assertThat(todoStore.findById(overdue.id()).orElseThrow().status()).isEqualTo(TodoStatus.PAST_DUE);
+
+        // Setting the status an item already has moves nothing
+        mockMvc.perform(patch("/api/todos/" + first + "/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(UpdateStatusRequest.builder().status("done").build())))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/todos/counts"))
+                .andExpect(jsonPath("$.done").value(1));
+    }
+
+    private long createItem(String description) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CreateTodoRequest.builder()
+                                .description(description)
+                                .dueDatetime(LocalDateTime.now().plusDays(1))
+                                .build())))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private JsonNode changes(String since) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/todos/changes").param("since", since))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private TodoSnapshot saveItem(String description, TodoStatus status, LocalDateTime dueDatetime) {
+        return todoStore.insert(TodoItem.builder()
+                .description(description)
+                .status(status)
+                .dueDatetime(dueDatetime)
+                .doneDatetime(status == TodoStatus.DONE ? LocalDateTime.now() : null)
+                .build());
+    }
 }
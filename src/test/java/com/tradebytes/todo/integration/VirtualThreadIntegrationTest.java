@@ -0,0 +1,66 @@
+package com.tradebytes.todo.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tradebytes.todo.config.ConnectionGateDataSource;
+import com.tradebytes.todo.dto.CreateTodoRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "todo.db.gate.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:virtualdb;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@DisabledIfSystemProperty(named = "spring.profiles.active", matches = "memory",
+        disabledReason = "Gates the DataSource, which the in-memory store does not use")
+class VirtualThreadIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should gate the DataSource to the pool size in virtual thread mode")
+    void shouldGateDataSourceToPoolSize() throws Exception {
+        assertThat(dataSource).isInstanceOf(ConnectionGateDataSource.class);
+        ConnectionGateDataSource gate = (ConnectionGateDataSource) dataSource;
+        assertThat(gate.getMaxPermits()).isEqualTo(10);
+
+        CreateTodoRequest request = CreateTodoRequest.builder()
+                .description("Virtual thread task")
+                .dueDatetime(LocalDateTime.now().plusDays(1))
+                .build();
+        mockMvc.perform(post("/api/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        // Every connection taken for the request has been returned
+        assertThat(gate.getAvailablePermits()).isEqualTo(gate.getMaxPermits());
+        assertThat(meterRegistry.get("todo.db.gate.available").gauge().value()).isEqualTo(10);
+        assertThat(meterRegistry.get("todo.db.gate.waiting").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,116 @@
+package com.tradebytes.todo.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tradebytes.todo.dto.TodoPageResponse;
+import com.tradebytes.todo.dto.TodoResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TodoResponseSerializerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 15, 12, 0);
+
+    private final TodoResponseSerializer serializer = new TodoResponseSerializer(100);
+    private final ObjectMapper reflective = mapper().build();
+    private final ObjectMapper handWritten = mapper().serializerByType(TodoResponse.class, serializer).build();
+
+    static Stream<TodoResponse> responses() {
+        return Stream.of(
+                response(1L, "Complete the coding challenge", "not done", NOW.minusDays(1), NOW.plusDays(1), null),
+                response(2L, "Quotes \" and \\ backslash\n\ttabbed \u0001", "done", NOW, NOW, NOW),
+                response(3L, "Umlaute äöü, emoji 🚀 and </script>", "past due",
+                        NOW.withNano(123_000_000), NOW.withNano(1), NOW.withNano(120_450_000)),
+                response(4L, null, null, LocalDateTime.of(12026, 1, 1, 0, 0), LocalDateTime.of(1, 2, 3, 4, 5, 6), null)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("responses")
+    @DisplayName("Should write the same bytes as Jackson's bean serializer")
+    void shouldMatchBeanSerializer(TodoResponse response) throws Exception {
+        byte[] json = handWritten.writeValueAsBytes(response);
+
+        assertThat(new String(json, StandardCharsets.UTF_8))
+                .isEqualTo(new String(reflective.writeValueAsBytes(response), StandardCharsets.UTF_8));
+        TodoResponse parsed = reflective.readValue(json, TodoResponse.class);
+        parsed.setVersion(response.getVersion());
+        assertThat(parsed).isEqualTo(response);
+    }
+
+    @Test
+    @DisplayName("Should splice fragments into pages and lists")
+    void shouldWriteInsideContainers() throws Exception {
+        List<TodoResponse> items = responses().toList();
+        TodoPageResponse page = TodoPageResponse.builder().items(items).nextCursor("NA").build();
+
+        assertThat(handWritten.writeValueAsBytes(page)).isEqualTo(reflective.writeValueAsBytes(page));
+        assertThat(handWritten.writeValueAsBytes(items)).isEqualTo(reflective.writeValueAsBytes(items));
+        assertThat(handWritten.readTree(handWritten.writeValueAsString(items)))
+                .isEqualTo(reflective.readTree(reflective.writeValueAsString(items)));
+    }
+
+    @Test
+    @DisplayName("Should reuse a fragment until the version or the status changes")
+    void shouldReuseFragmentPerVersionAndStatus() {
+        TodoResponse original = response(1L, "Task", "not done", NOW, NOW.plusDays(1), null);
+
+        assertThat(serializer.fragment(original)).isSameAs(serializer.fragment(original));
+
+        TodoResponse overdue = response(1L, "Task", "past due", NOW, NOW.plusDays(1), null);
+        assertThat(serializer.fragment(overdue)).contains("\"past due\"");
+
+        TodoResponse renamed = response(1L, "Renamed", "not done", NOW, NOW.plusDays(1), null);
+        renamed.setVersion(1L);
+        assertThat(serializer.fragment(renamed)).contains("\"Renamed\"");
+        assertThat(serializer.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache responses without a version and publish hits and misses")
+    void shouldNotCacheUnversionedResponses() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        serializer.bindTo(meterRegistry);
+        TodoResponse unversioned = response(1L, "Task", "not done", NOW, NOW, null);
+        unversioned.setVersion(null);
+        TodoResponse versioned = response(2L, "Task", "not done", NOW, NOW, null);
+
+        serializer.fragment(unversioned);
+        serializer.fragment(versioned);
+        serializer.fragment(versioned);
+
+        assertThat(serializer.size()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "todo.json").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    private static Jackson2ObjectMapperBuilder mapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .simpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+    }
+
+    private static TodoResponse response(Long id, String description, String status, LocalDateTime created,
+                                         LocalDateTime due, LocalDateTime done) {
+        return TodoResponse.builder()
+                .id(id)
+                .description(description)
+                .status(status)
+                .creationDatetime(created)
+                .dueDatetime(due)
+                .doneDatetime(done)
+                .version(0L)
+                .build();
+    }
+}
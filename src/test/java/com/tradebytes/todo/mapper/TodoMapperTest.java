@@ -1,5 +1,6 @@
 package com.tradebytes.todo.mapper;
 
+import com.tradebytes.todo.clock.FixedTodoClock;
 import com.tradebytes.todo.dto.CreateTodoRequest;
 import com.tradebytes.todo.dto.TodoResponse;
 import com.tradebytes.todo.entity.TodoItem;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -18,11 +20,13 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 class TodoMapperTest {
 
+    private FixedTodoClock clock;
     private TodoMapper todoMapper;
 
     @BeforeEach
     void setUp() {
-        todoMapper = new TodoMapper();
+        clock = new FixedTodoClock(LocalDateTime.now());
+        todoMapper = new TodoMapper(clock);
     }
 
     @Nested
@@ -44,6 +48,19 @@ class TodoMapperTest {
             assertThat(entity.getDueDatetime()).isEqualTo(request.getDueDatetime());
             assertThat(entity.getId()).isNull(); // Not persisted yet
         }
+
+        @Test
+        @DisplayName("Should stamp creation datetime from the clock")
+        void shouldStampCreationDatetimeFromClock() {
+            CreateTodoRequest request = CreateTodoRequest.builder()
+                    .description("Test task")
+                    .dueDatetime(clock.now().plusDays(1))
+                    .build();
+
+            TodoItem entity = todoMapper.toEntity(request);
+
+            assertThat(entity.getCreationDatetime()).isEqualTo(clock.now());
+        }
     }
 
     @Nested
@@ -60,6 +77,7 @@ class TodoMapperTest {
                     .status(TodoStatus.NOT_DONE)
                     .creationDatetime(now.minusDays(1))
                     .dueDatetime(now.plusDays(1))
+                    .version(3L)
                     .build();
 
             TodoResponse response = todoMapper.toResponse(entity);
@@ -70,6 +88,7 @@ class TodoMapperTest {
             assertThat(response.getCreationDatetime()).isEqualTo(now.minusDays(1));
             assertThat(response.getDueDatetime()).isEqualTo(now.plusDays(1));
             assertThat(response.getDoneDatetime()).isNull();
+            assertThat(response.getVersion()).isEqualTo(3L);
         }
 
         @Test
@@ -124,6 +143,41 @@ class TodoMapperTest {
             assertThat(response.getStatus()).isEqualTo("past due");
         }
 
+        @Test
+        @DisplayName("Should evaluate effective status against the given snapshot")
+        void shouldEvaluateEffectiveStatusAgainstSnapshot() {
+            LocalDateTime due = LocalDateTime.of(2026, 1, 15, 18, 0);
+            TodoItem entity = TodoItem.builder()
+                    .id(1L)
+                    .description("Snapshot task")
+                    .status(TodoStatus.NOT_DONE)
+                    .creationDatetime(due.minusDays(1))
+                    .dueDatetime(due)
+                    .build();
+
+            assertThat(todoMapper.toResponse(entity, due.minusSeconds(1)).getStatus()).isEqualTo("not done");
+            assertThat(todoMapper.toResponse(entity, due).getStatus()).isEqualTo("not done");
+            assertThat(todoMapper.toResponse(entity, due.plusSeconds(1)).getStatus()).isEqualTo("past due");
+        }
+
+        @Test
+        @DisplayName("Should evaluate effective status against the clock")
+        void shouldEvaluateEffectiveStatusAgainstClock() {
+            TodoItem entity = TodoItem.builder()
+                    .id(1L)
+                    .description("Clock task")
+                    .status(TodoStatus.NOT_DONE)
+                    .creationDatetime(clock.now())
+                    .dueDatetime(clock.now().plusMinutes(5))
+                    .build();
+
+            assertThat(todoMapper.toResponse(entity).getStatus()).isEqualTo("not done");
+
+            clock.advance(Duration.ofMinutes(6));
+
+            assertThat(todoMapper.toResponse(entity).getStatus()).isEqualTo("past due");
+        }
+
         @Test
         @DisplayName("Should handle null due datetime gracefully")
         void shouldHandleNullDueDatetimeGracefully() {
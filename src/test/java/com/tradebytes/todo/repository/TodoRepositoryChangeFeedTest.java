@@ -0,0 +1,81 @@
+package com.tradebytes.todo.repository;
+
+import com.tradebytes.todo.entity.TodoItem;
+import com.tradebytes.todo.entity.TodoStatus;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies the change feed query and that writes stamp the modification sequence.
+ */
+@DataJpaTest
+class TodoRepositoryChangeFeedTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 15, 12, 0);
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private TodoItem first;
+    private TodoItem second;
+    private TodoItem third;
+
+    @BeforeEach
+    void setUp() {
+        first = save("First", 1L, NOW.plusDays(1));
+        second = save("Second", 2L, NOW.plusDays(1));
+        third = save("Third", 2L, NOW.minusMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Should return changes after the position in sequence order, up to the watermark")
+    void shouldReturnChangesAfterPositionUpToWatermark() {
+        List<TodoSnapshot> all = todoRepository.findSnapshotsChangedSince(0L, 0L, 2L, Limit.of(10));
+        List<TodoSnapshot> insideGroup = todoRepository.findSnapshotsChangedSince(2L, second.getId(), 2L, Limit.of(10));
+        List<TodoSnapshot> belowWatermark = todoRepository.findSnapshotsChangedSince(0L, 0L, 1L, Limit.of(10));
+
+        assertThat(all).extracting(TodoSnapshot::id).containsExactly(first.getId(), second.getId(), third.getId());
+        assertThat(insideGroup).extracting(TodoSnapshot::id).containsExactly(third.getId());
+        assertThat(belowWatermark).extracting(TodoSnapshot::id).containsExactly(first.getId());
+    }
+
+    @Test
+    @DisplayName("Writes should move the item to the end of the feed")
+    void writesShouldMoveItemToEndOfFeed() {
+        todoRepository.updateDescriptionIfMutable(first.getId(), "Changed", null, 3L, NOW);
+        todoRepository.updatePastDueItemsByIds(List.of(first.getId(), second.getId(), third.getId()),
+                TodoStatus.NOT_DONE, TodoStatus.PAST_DUE, 4L, NOW);
+
+        List<TodoSnapshot> changes = todoRepository.findSnapshotsChangedSince(2L, third.getId(), 4L, Limit.of(10));
+
+        assertThat(changes).extracting(TodoSnapshot::id).containsExactly(first.getId(), third.getId());
+        assertThat(changes).extracting(TodoSnapshot::modifiedSeq).containsExactly(3L, 4L);
+        assertThat(todoRepository.findMaxModifiedSeq()).isEqualTo(4L);
+    }
+
+    private TodoItem save(String description, long modifiedSeq, LocalDateTime due) {
+        TodoItem item = todoRepository.save(TodoItem.builder()
+                .description(description)
+                .status(TodoStatus.NOT_DONE)
+                .creationDatetime(NOW.minusDays(2))
+                .dueDatetime(due)
+                .modifiedSeq(modifiedSeq)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+        return item;
+    }
+}
@@ -0,0 +1,100 @@
+package com.tradebytes.todo.repository;
+
+import com.tradebytes.todo.entity.TodoItem;
+import com.tradebytes.todo.entity.TodoStatus;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies the single-statement guarded updates used by the single-item write path,
+ * and that every kind of update moves the item's version.
+ */
+@DataJpaTest
+class TodoRepositoryGuardedUpdateTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 15, 12, 0);
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Should update a mutable item and return the changed row")
+    void shouldUpdateMutableItemAndReturnChangedRow() {
+        TodoItem item = save(TodoStatus.NOT_DONE, NOW.plusDays(1));
+
+        TodoRepository.RowView row = todoRepository
+                .updateStatusIfMutable(item.getId(), TodoStatus.DONE, NOW, null, 1L, NOW)
+                .orElseThrow();
+
+        assertThat(row.getId()).isEqualTo(item.getId());
+        assertThat(row.getStatus()).isEqualTo(TodoStatus.DONE);
+        assertThat(row.getDoneDatetime()).isEqualTo(NOW);
+        assertThat(row.getDescription()).isEqualTo("Task");
+        assertThat(row.getDueDatetime()).isEqualTo(NOW.plusDays(1));
+        assertThat(row.getVersion()).isEqualTo(item.getVersion() + 1);
+        assertThat(todoRepository.findSnapshotById(item.getId()).orElseThrow().status()).isEqualTo(TodoStatus.DONE);
+    }
+
+    @Test
+    @DisplayName("Should leave past due, overdue and missing items untouched")
+    void shouldLeaveImmutableAndMissingItemsUntouched() {
+        TodoItem pastDue = save(TodoStatus.PAST_DUE, NOW.minusDays(1));
+        TodoItem overdue = save(TodoStatus.NOT_DONE, NOW.minusSeconds(1));
+
+        assertThat(todoRepository.updateDescriptionIfMutable(pastDue.getId(), "Changed", null, 1L, NOW)).isEmpty();
+        assertThat(todoRepository.updateDescriptionIfMutable(overdue.getId(), "Changed", null, 1L, NOW)).isEmpty();
+        assertThat(todoRepository.updateDescriptionIfMutable(-1L, "Changed", null, 1L, NOW)).isEmpty();
+
+        assertThat(todoRepository.findAllSnapshots()).allSatisfy(snapshot ->
+                assertThat(snapshot.description()).isEqualTo("Task"));
+    }
+
+    @Test
+    @DisplayName("Should only update an item still at the expected version")
+    void shouldOnlyUpdateItemAtExpectedVersion() {
+        TodoItem item = save(TodoStatus.NOT_DONE, NOW.plusDays(1));
+        long version = item.getVersion();
+
+        assertThat(todoRepository.updateDescriptionIfMutable(item.getId(), "Stale", version + 1, 1L, NOW)).isEmpty();
+        assertThat(todoRepository.updateDescriptionIfMutable(item.getId(), "First", version, 1L, NOW)).isPresent();
+        assertThat(todoRepository.updateDescriptionIfMutable(item.getId(), "Second", version, 2L, NOW)).isEmpty();
+
+        TodoSnapshot stored = todoRepository.findSnapshotById(item.getId()).orElseThrow();
+        assertThat(stored.description()).isEqualTo("First");
+        assertThat(stored.version()).isEqualTo(version + 1);
+    }
+
+    @Test
+    @DisplayName("Bulk updates should increment the version")
+    void bulkUpdatesShouldIncrementVersion() {
+        TodoItem item = save(TodoStatus.NOT_DONE, NOW.minusMinutes(1));
+
+        todoRepository.updatePastDueItemsByIds(List.of(item.getId()), TodoStatus.NOT_DONE, TodoStatus.PAST_DUE, 1L, NOW);
+
+        assertThat(todoRepository.findSnapshotById(item.getId()).orElseThrow().version())
+                .isEqualTo(item.getVersion() + 1);
+    }
+
+    private TodoItem save(TodoStatus status, LocalDateTime due) {
+        TodoItem item = todoRepository.save(TodoItem.builder()
+                .description("Task")
+                .status(status)
+                .creationDatetime(NOW.minusDays(2))
+                .dueDatetime(due)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+        return item;
+    }
+}
@@ -0,0 +1,54 @@
+package com.tradebytes.todo.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that the hot repository queries are planned as index range scans.
+ */
+@DataJpaTest
+class TodoRepositoryIndexTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Default 'not done' listing should scan the (status, id) index")
+    void notDoneListingShouldUseStatusIdIndex() {
+        String plan = explain("SELECT * FROM todos WHERE status = 'NOT_DONE' AND id > 0 ORDER BY status, id LIMIT 51");
+
+        // Rows come out of the index already in order, so the page stops after LIMIT rows without a sort
+        assertThat(plan).containsIgnoringCase("IDX_TODOS_STATUS_ID");
+        assertThat(plan).containsIgnoringCase("index sorted");
+    }
+
+    @Test
+    @DisplayName("Past due sweep should scan the (status, due_datetime) index")
+    void pastDueSweepShouldUseStatusDueIndex() {
+        String plan = explain("UPDATE todos SET status = 'PAST_DUE' "
+                + "WHERE status = 'NOT_DONE' AND due_datetime < TIMESTAMP '2026-01-01 00:00:00'");
+
+        assertThat(plan).containsIgnoringCase("IDX_TODOS_STATUS_DUE");
+    }
+
+    @Test
+    @DisplayName("Due range page should scan the (status, due_datetime, id) index in order")
+    void duePageShouldUseStatusDueIndexSorted() {
+        String plan = explain("SELECT * FROM todos WHERE status = 'NOT_DONE' "
+                + "AND due_datetime >= TIMESTAMP '2026-01-01 00:00:00' AND due_datetime < TIMESTAMP '2026-01-02 00:00:00' "
+                + "AND (due_datetime > TIMESTAMP '2026-01-01 00:00:00' OR id > 5) "
+                + "ORDER BY status, due_datetime, id LIMIT 51");
+
+        assertThat(plan).containsIgnoringCase("IDX_TODOS_STATUS_DUE");
+        assertThat(plan).containsIgnoringCase("index sorted");
+    }
+
+    private String explain(String sql) {
+        return String.valueOf(entityManager.createNativeQuery("EXPLAIN " + sql).getSingleResult());
+    }
+}
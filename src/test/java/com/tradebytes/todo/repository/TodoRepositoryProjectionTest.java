@@ -0,0 +1,73 @@
+package com.tradebytes.todo.repository;
+
+import com.tradebytes.todo.entity.TodoItem;
+import com.tradebytes.todo.entity.TodoStatus;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that the read queries return snapshots without loading entities.
+ */
+@DataJpaTest
+class TodoRepositoryProjectionTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 15, 12, 0);
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private TodoItem notDone;
+
+    @BeforeEach
+    void setUp() {
+        notDone = todoRepository.save(item("Not done", TodoStatus.NOT_DONE, NOW.plusDays(1)));
+        todoRepository.save(item("Overdue", TodoStatus.NOT_DONE, NOW.minusMinutes(1)));
+        todoRepository.save(item("Done", TodoStatus.DONE, NOW.minusDays(1)));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Snapshot reads should leave the persistence context empty")
+    void snapshotReadsShouldLeavePersistenceContextEmpty() {
+        List<TodoSnapshot> all = todoRepository.findAllSnapshots();
+        List<TodoSnapshot> notDoneItems = todoRepository.findSnapshotsEffectivelyNotDone(NOW);
+        List<TodoSnapshot> page = todoRepository.findSnapshotPage(0L, Limit.of(2));
+
+        assertThat(all).extracting(TodoSnapshot::description).containsExactly("Not done", "Overdue", "Done");
+        assertThat(notDoneItems).containsExactly(TodoSnapshot.of(notDone));
+        assertThat(page).hasSize(2);
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Snapshot lookup by id should return the stored state")
+    void snapshotLookupShouldReturnStoredState() {
+        assertThat(todoRepository.findSnapshotById(notDone.getId())).contains(TodoSnapshot.of(notDone));
+        assertThat(todoRepository.findSnapshotById(-1L)).isEmpty();
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    private static TodoItem item(String description, TodoStatus status, LocalDateTime due) {
+        return TodoItem.builder()
+                .description(description)
+                .status(status)
+                .creationDatetime(NOW.minusDays(2))
+                .dueDatetime(due)
+                .build();
+    }
+}
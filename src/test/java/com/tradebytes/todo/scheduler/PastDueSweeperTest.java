@@ -0,0 +1,123 @@
+package com.tradebytes.todo.scheduler;
+
+import com.tradebytes.todo.cache.TodoCache;
+import com.tradebytes.todo.entity.TodoItem;
+import com.tradebytes.todo.entity.TodoStatus;
+import com.tradebytes.todo.repository.TodoSnapshot;
+import com.tradebytes.todo.service.TodoCounts;
+import com.tradebytes.todo.store.InMemoryTodoStore;
+import com.tradebytes.todo.store.InMemoryTransactionManager;
+import com.tradebytes.todo.store.ModificationSequence;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+class PastDueSweeperTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 15, 12, 0);
+
+    private final InMemoryTodoStore store = spy(new InMemoryTodoStore());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TodoCache todoCache = new TodoCache(100, Duration.ofMinutes(1));
+    private final TodoCounts todoCounts = new TodoCounts(store, meterRegistry);
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3})
+    @DisplayName("Should mark every expired item in chunks and leave the rest alone")
+    void shouldMarkExpiredItemsInChunks(int parallelism) {
+        List<Long> expired = insert(1_050, TodoStatus.NOT_DONE, NOW.minusHours(1));
+        List<Long> future = insert(20, TodoStatus.NOT_DONE, NOW.plusMinutes(1));
+        List<Long> done = insert(10, TodoStatus.DONE, NOW.minusHours(1));
+        todoCounts.start();
+
+        PastDueSweeper sweeper = sweeper(100, parallelism);
+        try {
+            assertThat(sweeper.sweep(NOW)).isEqualTo(1_050);
+        } finally {
+            sweeper.destroy();
+        }
+
+        assertThat(expired).allSatisfy(id -> assertThat(status(id)).isEqualTo(TodoStatus.PAST_DUE));
+        assertThat(future).allSatisfy(id -> assertThat(status(id)).isEqualTo(TodoStatus.NOT_DONE));
+        assertThat(done).allSatisfy(id -> assertThat(status(id)).isEqualTo(TodoStatus.DONE));
+        assertThat(todoCounts.get(TodoStatus.PAST_DUE)).isEqualTo(1_050);
+        assertThat(todoCounts.get(TodoStatus.NOT_DONE)).isEqualTo(20);
+        assertThat(meterRegistry.get("todo.past_due.sweep.chunks").summary().totalAmount()).isEqualTo(11);
+        assertThat(meterRegistry.get("todo.past_due.sweep.rows").summary().totalAmount()).isEqualTo(1_050);
+        assertThat(meterRegistry.get("todo.past_due.sweep.chunk").timer().count()).isEqualTo(11);
+    }
+
+    @Test
+    @DisplayName("Should evict the marked items from the item cache")
+    void shouldEvictMarkedItems() {
+        Long id = insert(1, TodoStatus.NOT_DONE, NOW.minusHours(1)).get(0);
+        AtomicInteger loads = new AtomicInteger();
+        todoCache.get(id, key -> load(key, loads));
+
+        sweeper(100, 1).sweep(NOW);
+
+        assertThat(todoCache.get(id, key -> load(key, loads)).status()).isEqualTo(TodoStatus.PAST_DUE);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should skip a failed chunk, count it and leave its items for the next run")
+    void shouldSkipFailedChunk() {
+        insert(250, TodoStatus.NOT_DONE, NOW.minusHours(1));
+        doThrow(new IllegalStateException("Lock timeout"))
+                .doCallRealMethod()
+                .when(store).markPastDue(anyCollection(), anyLong(), any(LocalDateTime.class));
+        PastDueSweeper sweeper = sweeper(100, 1);
+
+        assertThat(sweeper.sweep(NOW)).isEqualTo(150);
+        assertThat(meterRegistry.get("todo.past_due.sweep.chunk.failures").counter().count()).isEqualTo(1.0);
+
+        assertThat(sweeper.sweep(NOW)).isEqualTo(100);
+        assertThat(store.findAll()).allSatisfy(item -> assertThat(item.status()).isEqualTo(TodoStatus.PAST_DUE));
+    }
+
+    private PastDueSweeper sweeper(int chunkSize, int parallelism) {
+        return new PastDueSweeper(store, new TransactionTemplate(new InMemoryTransactionManager()), todoCache,
+                new ModificationSequence(store), todoCounts, meterRegistry, chunkSize, parallelism);
+    }
+
+    private List<Long> insert(int count, TodoStatus status, LocalDateTime due) {
+        return store.insertAll(IntStream.range(0, count)
+                        .mapToObj(i -> TodoItem.builder()
+                                .description("Task " + i)
+                                .status(status)
+                                .creationDatetime(NOW.minusDays(1))
+                                .dueDatetime(due.plusSeconds(i % 7))
+                                .doneDatetime(status == TodoStatus.DONE ? NOW.minusDays(1) : null)
+                                .build())
+                        .toList())
+                .stream()
+                .map(TodoSnapshot::id)
+                .toList();
+    }
+
+    private TodoStatus status(Long id) {
+        return store.findById(id).orElseThrow().status();
+    }
+
+    private TodoSnapshot load(Long id, AtomicInteger loads) {
+        loads.incrementAndGet();
+        return store.findById(id).orElseThrow();
+    }
+}
@@ -0,0 +1,153 @@
+package com.tradebytes.todo.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InvertedIndexTest {
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    @Nested
+    @DisplayName("Query Parsing Tests")
+    class QueryParsingTests {
+
+        @Test
+        @DisplayName("Should split words into lowercase tokens and mark trailing prefixes")
+        void shouldParseTerms() {
+            SearchQuery query = SearchQuery.parse("  Buy e-mail* MILK ");
+
+            assertThat(query.terms()).containsExactly(
+                    new SearchQuery.Term("buy", false),
+                    new SearchQuery.Term("e", false),
+                    new SearchQuery.Term("mail", true),
+                    new SearchQuery.Term("milk", false));
+        }
+
+        @Test
+        @DisplayName("Should reject queries without letters or digits")
+        void shouldRejectEmptyQueries() {
+            assertThatThrownBy(() -> SearchQuery.parse(null)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> SearchQuery.parse(" -- * ")).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Should match text containing every term")
+        void shouldMatchText() {
+            SearchQuery query = SearchQuery.parse("milk sto*");
+
+            assertThat(query.matches("Buy milk at the store")).isTrue();
+            assertThat(query.matches("MILK, stop")).isTrue();
+            assertThat(query.matches("Buy milk")).isFalse();
+            assertThat(query.matches("milkshake store")).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Search Tests")
+    class SearchTests {
+
+        @Test
+        @DisplayName("Should return ids matching every term in ascending order")
+        void shouldIntersectTerms() {
+            index.put(3, "Buy milk");
+            index.put(1, "Buy bread and milk");
+            index.put(2, "Sell milk");
+            index.put(4, "Buy eggs");
+
+            assertThat(index.search(SearchQuery.parse("buy milk"), 0, 10)).containsExactly(1, 3);
+            assertThat(index.search(SearchQuery.parse("milk"), 0, 10)).containsExactly(1, 2, 3);
+            assertThat(index.search(SearchQuery.parse("buy cheese"), 0, 10)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should match prefix terms against every token starting with them")
+        void shouldMatchPrefixes() {
+            index.put(1, "Call the plumber");
+            index.put(2, "Plan the trip");
+            index.put(3, "Play tennis");
+            index.put(4, "Paint the fence");
+
+            assertThat(index.search(SearchQuery.parse("pl*"), 0, 10)).containsExactly(1, 2, 3);
+            assertThat(index.search(SearchQuery.parse("the pl*"), 0, 10)).containsExactly(1, 2);
+            assertThat(index.search(SearchQuery.parse("q*"), 0, 10)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should continue after an id and stop at the limit")
+        void shouldPageThroughResults() {
+            LongStream.rangeClosed(1, 100).forEach(id -> index.put(id, id % 2 == 0 ? "even task" : "odd task"));
+
+            assertThat(index.search(SearchQuery.parse("task"), 0, 3)).containsExactly(1, 2, 3);
+            assertThat(index.search(SearchQuery.parse("even"), 90, 10)).containsExactly(92, 94, 96, 98, 100);
+            assertThat(index.search(SearchQuery.parse("even"), 100, 10)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should agree with a scan over randomly generated descriptions")
+        void shouldAgreeWithScan() {
+            String[] words = {"alpha", "beta", "gamma", "delta", "alphabet", "betamax", "gammon"};
+            Random random = new Random(42);
+            TreeMap<Long, String> texts = new TreeMap<>();
+            for (long id = 1; id <= 2_000; id++) {
+                StringBuilder text = new StringBuilder();
+                for (int i = 0; i < 1 + random.nextInt(4); i++) {
+                    text.append(words[random.nextInt(words.length)]).append(' ');
+                }
+                texts.put(id, text.toString());
+                index.put(id, text.toString());
+            }
+
+            for (String query : new String[]{"alpha", "alpha beta", "bet*", "gam* delta", "alphabet betamax gammon"}) {
+                SearchQuery parsed = SearchQuery.parse(query);
+                long[] expected = texts.entrySet().stream()
+                        .filter(entry -> parsed.matches(entry.getValue()))
+                        .mapToLong(entry -> entry.getKey())
+                        .toArray();
+                assertThat(index.search(parsed, 0, Integer.MAX_VALUE)).as(query).containsExactly(expected);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Update Tests")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should replace the tokens of an item that is indexed again")
+        void shouldReplaceTokens() {
+            index.put(1, "Buy milk");
+            index.put(1, "Buy bread");
+
+            assertThat(index.search(SearchQuery.parse("milk"), 0, 10)).isEmpty();
+            assertThat(index.search(SearchQuery.parse("buy bread"), 0, 10)).containsExactly(1);
+            assertThat(index.size()).isEqualTo(1);
+            assertThat(index.tokenCount()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should forget removed items and their unused tokens")
+        void shouldRemoveItems() {
+            index.put(1, "Buy milk");
+            index.put(2, "Buy bread");
+
+            index.remove(1);
+            index.remove(99);
+
+            assertThat(index.search(SearchQuery.parse("buy"), 0, 10)).containsExactly(2);
+            assertThat(index.size()).isEqualTo(1);
+            assertThat(index.tokenCount()).isEqualTo(2);
+
+            index.clear();
+            assertThat(index.size()).isZero();
+            assertThat(index.search(SearchQuery.parse("buy"), 0, 10)).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.tradebytes.todo.service;
+
+import com.tradebytes.todo.entity.TodoItem;
+import com.tradebytes.todo.entity.TodoStatus;
+import com.tradebytes.todo.store.InMemoryTodoStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TodoCountsTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 15, 12, 0);
+
+    private final InMemoryTodoStore store = new InMemoryTodoStore();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TodoCounts counts = new TodoCounts(store, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load the counts from the store and publish them")
+    void shouldLoadCountsOnStart() {
+        store.insert(item(TodoStatus.NOT_DONE));
+        store.insert(item(TodoStatus.NOT_DONE));
+        store.insert(item(TodoStatus.DONE));
+
+        counts.start();
+
+        assertThat(counts.get(TodoStatus.NOT_DONE)).isEqualTo(2);
+        assertThat(counts.get(TodoStatus.DONE)).isEqualTo(1);
+        assertThat(counts.get(TodoStatus.PAST_DUE)).isZero();
+        assertThat(meterRegistry.get("todo.items").tag("status", "not done").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should apply creates and moves outside a transaction right away")
+    void shouldApplyChangesWithoutTransaction() {
+        counts.created(TodoStatus.NOT_DONE, 3);
+        counts.moved(TodoStatus.NOT_DONE, TodoStatus.PAST_DUE, 2);
+        counts.moved(TodoStatus.DONE, TodoStatus.DONE, 5);
+
+        assertThat(counts.get(TodoStatus.NOT_DONE)).isEqualTo(1);
+        assertThat(counts.get(TodoStatus.PAST_DUE)).isEqualTo(2);
+        assertThat(counts.get(TodoStatus.DONE)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should apply changes made in a transaction only once it commits")
+    void shouldApplyChangesAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        counts.created(TodoStatus.NOT_DONE, 1);
+
+        assertThat(counts.get(TodoStatus.NOT_DONE)).isZero();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(counts.get(TodoStatus.NOT_DONE)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should correct drift against the store when reconciling")
+    void shouldCorrectDrift() {
+        store.insert(item(TodoStatus.DONE));
+        counts.created(TodoStatus.NOT_DONE, 4);
+
+        counts.reconcile();
+
+        assertThat(counts.get(TodoStatus.NOT_DONE)).isZero();
+        assertThat(counts.get(TodoStatus.DONE)).isEqualTo(1);
+    }
+
+    private static TodoItem item(TodoStatus status) {
+        return TodoItem.builder()
+                .description("Task")
+                .status(status)
+                .creationDatetime(NOW.minusDays(1))
+                .dueDatetime(NOW.plusDays(1))
+                .doneDatetime(status == TodoStatus.DONE ? NOW : null)
+                .build();
+    }
+}
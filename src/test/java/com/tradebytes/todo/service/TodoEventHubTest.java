@@ -0,0 +1,203 @@
+package com.tradebytes.todo.service;
+
+import com.tradebytes.todo.clock.FixedTodoClock;
+import com.tradebytes.todo.entity.TodoStatus;
+import com.tradebytes.todo.mapper.TodoMapper;
+import com.tradebytes.todo.repository.TodoSnapshot;
+import com.tradebytes.todo.store.ModificationSequence;
+import com.tradebytes.todo.store.TodoStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TodoEventHubTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 15, 12, 0);
+    private static final int BUFFER_SIZE = 4;
+
+    private final TodoStore todoStore = mock(TodoStore.class);
+    private final ModificationSequence modificationSequence = mock(ModificationSequence.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<TodoSnapshot> rows = new CopyOnWriteArrayList<>();
+    private TodoEventHub hub;
+
+    @BeforeEach
+    void setUp() {
+        FixedTodoClock clock = new FixedTodoClock(NOW);
+        when(modificationSequence.watermark()).thenAnswer(invocation ->
+                rows.stream().mapToLong(TodoSnapshot::modifiedSeq).max().orElse(0L));
+        // In-memory change feed over the rows written so far
+        when(todoStore.findChangedSince(anyLong(), anyLong(), anyLong(), anyInt()))
+                .thenAnswer(invocation -> {
+                    ChangeToken from = new ChangeToken(invocation.getArgument(0), invocation.getArgument(1));
+                    long watermark = invocation.getArgument(2);
+                    return rows.stream()
+                            .filter(row -> new ChangeToken(row.modifiedSeq(), row.id()).isAfter(from))
+                            .filter(row -> row.modifiedSeq() <= watermark)
+                            .limit(invocation.<Integer>getArgument(3))
+                            .toList();
+                });
+        hub = new TodoEventHub(todoStore, modificationSequence, new TodoMapper(clock), clock,
+                meterRegistry, BUFFER_SIZE, Duration.ofSeconds(15));
+    }
+
+    @Test
+    @DisplayName("Should push created, updated and past due events in change order")
+    void shouldPushEventsInChangeOrder() {
+        RecordingSink sink = new RecordingSink();
+        hub.subscribe(null, sink);
+
+        write(1L, TodoStatus.NOT_DONE, 0L, 1L);
+        write(2L, TodoStatus.DONE, 1L, 2L);
+        write(3L, TodoStatus.PAST_DUE, 1L, 3L);
+        hub.dispatch();
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() ->
+                assertThat(sink.events).extracting(TodoEvent::type)
+                        .containsExactly(TodoEvent.CREATED, TodoEvent.UPDATED, TodoEvent.PAST_DUE));
+        assertThat(sink.events.get(1).todo().getStatus()).isEqualTo("done");
+        assertThat(sink.events.get(2).id()).isEqualTo(new ChangeToken(3L, 3L).encode());
+    }
+
+    @Test
+    @DisplayName("Should only push changes made after subscribing when there is no last event id")
+    void shouldOnlyPushNewChangesWithoutLastEventId() {
+        write(1L, TodoStatus.NOT_DONE, 0L, 1L);
+        hub.dispatch();
+
+        RecordingSink sink = new RecordingSink();
+        hub.subscribe(null, sink);
+        write(2L, TodoStatus.NOT_DONE, 0L, 2L);
+        hub.dispatch();
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() ->
+                assertThat(sink.events).extracting(event -> event.todo().getId()).containsExactly(2L));
+    }
+
+    @Test
+    @DisplayName("Should replay changes after the last event id once, then continue live")
+    void shouldReplayAfterLastEventIdThenContinueLive() {
+        write(1L, TodoStatus.NOT_DONE, 0L, 1L);
+        write(2L, TodoStatus.NOT_DONE, 0L, 2L);
+        write(3L, TodoStatus.NOT_DONE, 0L, 3L);
+
+        RecordingSink sink = new RecordingSink();
+        hub.subscribe(new ChangeToken(1L, 1L).encode(), sink);
+        hub.dispatch();
+        write(4L, TodoStatus.NOT_DONE, 0L, 4L);
+        hub.dispatch();
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() ->
+                assertThat(sink.events).extracting(event -> event.todo().getId()).containsExactly(2L, 3L, 4L));
+    }
+
+    @Test
+    @DisplayName("Should drop a subscriber that falls behind without holding back the others")
+    void shouldDropSlowSubscriber() {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink slow = new RecordingSink() {
+            @Override
+            public void send(TodoEvent event) {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                super.send(event);
+            }
+        };
+        RecordingSink fast = new RecordingSink();
+        hub.subscribe(null, slow);
+        hub.subscribe(null, fast);
+
+        for (long id = 1; id <= BUFFER_SIZE * 3; id++) {
+            write(id, TodoStatus.NOT_DONE, 0L, id);
+            hub.dispatch();
+            // The fast subscriber keeps up, the slow one's buffer fills up
+            int delivered = (int) id;
+            await().atMost(5, TimeUnit.SECONDS).until(() -> fast.events.size() == delivered);
+        }
+
+        assertThat(hub.subscriberCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("todo.events.dropped").counter().count()).isEqualTo(1.0);
+
+        release.countDown();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> slow.closed);
+        assertThat(slow.events.size()).isLessThan(BUFFER_SIZE * 3);
+    }
+
+    @Test
+    @DisplayName("Should stop delivering to a subscriber whose connection failed")
+    void shouldStopDeliveringAfterSendFailure() {
+        RecordingSink broken = new RecordingSink() {
+            @Override
+            public void heartbeat() throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        hub.subscribe(null, broken);
+
+        hub.heartbeat();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> broken.closed);
+        assertThat(hub.subscriberCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should close subscribers on stop and turn away later ones")
+    void shouldCloseSubscribersOnStop() {
+        RecordingSink connected = new RecordingSink();
+        hub.subscribe(null, connected);
+
+        hub.stop();
+
+        assertThat(connected.closed).isTrue();
+        RecordingSink late = new RecordingSink();
+        hub.subscribe(null, late);
+        assertThat(late.closed).isTrue();
+        assertThat(hub.subscriberCount()).isZero();
+    }
+
+    private void write(long id, TodoStatus status, long version, long modifiedSeq) {
+        rows.removeIf(row -> row.id() == id);
+        rows.add(new TodoSnapshot(id, "Task " + id, status, NOW.minusDays(1), NOW.plusDays(1),
+                status == TodoStatus.DONE ? NOW : null, version, modifiedSeq));
+        rows.sort((a, b) -> Long.compare(a.modifiedSeq(), b.modifiedSeq()));
+    }
+
+    private static class RecordingSink implements TodoEventHub.Sink {
+
+        final List<TodoEvent> events = new CopyOnWriteArrayList<>();
+        volatile boolean closed;
+
+        @Override
+        public void send(TodoEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
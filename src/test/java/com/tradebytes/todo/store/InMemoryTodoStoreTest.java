@@ -0,0 +1,55 @@
+package com.tradebytes.todo.store;
+
+import com.tradebytes.todo.entity.TodoItem;
+import com.tradebytes.todo.entity.TodoStatus;
+import com.tradebytes.todo.repository.TodoSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryTodoStoreTest extends TodoStoreContractTest {
+
+    private final InMemoryTodoStore inMemoryTodoStore = new InMemoryTodoStore();
+
+    @Override
+    protected TodoStore store() {
+        return inMemoryTodoStore;
+    }
+
+    @Test
+    @DisplayName("Should keep the indexes consistent under concurrent guarded updates")
+    void shouldKeepIndexesConsistentUnderConcurrentUpdates() throws Exception {
+        List<TodoSnapshot> inserted = inMemoryTodoStore.insertAll(IntStream.range(0, 200)
+                .mapToObj(i -> TodoItem.builder()
+                        .description("Task " + i)
+                        .dueDatetime(NOW.plusDays(1))
+                        .build())
+                .toList());
+        List<Long> ids = inserted.stream().map(TodoSnapshot::id).toList();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> results = IntStream.range(0, 4)
+                    .mapToObj(worker -> executor.submit(() -> inMemoryTodoStore.updateStatus(
+                            ids, worker % 2 == 0 ? TodoStatus.DONE : TodoStatus.NOT_DONE, NOW, worker + 1L, NOW)))
+                    .toList();
+            for (Future<Integer> result : results) {
+                assertThat(result.get()).isEqualTo(ids.size());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        long done = inMemoryTodoStore.findAll().stream().filter(item -> item.status() == TodoStatus.DONE).count();
+        assertThat(inMemoryTodoStore.findEffectivelyNotDone(NOW)).hasSize(ids.size() - (int) done);
+        assertThat(inMemoryTodoStore.findChangedSince(0L, 0L, Long.MAX_VALUE, 1000)).hasSize(ids.size());
+        assertThat(inMemoryTodoStore.findAll()).allSatisfy(item -> assertThat(item.version()).isEqualTo(4L));
+    }
+}
@@ -0,0 +1,46 @@
+package com.tradebytes.todo.store;
+
+import com.tradebytes.todo.entity.TodoItem;
+import com.tradebytes.todo.repository.TodoSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(JpaTodoStore.class)
+class JpaTodoStoreTest extends TodoStoreContractTest {
+
+    @Autowired
+    private JpaTodoStore jpaTodoStore;
+
+    @Override
+    protected TodoStore store() {
+        return jpaTodoStore;
+    }
+
+    @Test
+    @DisplayName("Should insert more items than fit in one chunk and return them in order")
+    void shouldInsertAcrossChunksInOrder() {
+        int count = JpaTodoStore.INSERT_CHUNK_SIZE + 2;
+        List<TodoItem> items = IntStream.range(0, count)
+                .mapToObj(i -> TodoItem.builder()
+                        .description("Task " + i)
+                        .dueDatetime(NOW.plusDays(1))
+                        .build())
+                .toList();
+
+        List<TodoSnapshot> inserted = jpaTodoStore.insertAll(items);
+
+        assertThat(inserted).hasSize(count);
+        assertThat(inserted.get(count - 1).description()).isEqualTo("Task " + (count - 1));
+        assertThat(inserted).extracting(TodoSnapshot::id).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(jpaTodoStore.count()).isEqualTo(count);
+    }
+}
@@ -0,0 +1,74 @@
+package com.tradebytes.todo.store;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ModificationSequenceTest {
+
+    private final ModificationSequence sequence = sequenceStartingAfter(10L);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should continue from the highest stored value")
+    void shouldContinueFromHighestStoredValue() {
+        assertThat(sequence.watermark()).isEqualTo(10L);
+        assertThat(sequence.next()).isEqualTo(11L);
+        assertThat(sequence.watermark()).isEqualTo(11L);
+    }
+
+    @Test
+    @DisplayName("Should hold the watermark below a value whose transaction has not completed")
+    void shouldHoldWatermarkBelowInFlightValue() {
+        TransactionSynchronizationManager.initSynchronization();
+        long inFlight = sequence.next();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // A later write completes first
+        sequence.next();
+        assertThat(sequence.watermark()).isEqualTo(inFlight - 1);
+
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertThat(sequence.watermark()).isEqualTo(inFlight + 1);
+    }
+
+    @Test
+    @DisplayName("Should notify commit listeners only when the transaction commits")
+    void shouldNotifyCommitListenersOnlyOnCommit() {
+        AtomicInteger commits = new AtomicInteger();
+        sequence.onCommit(commits::incrementAndGet);
+
+        TransactionSynchronizationManager.initSynchronization();
+        sequence.next();
+        sequence.next();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(commits).hasValue(0);
+        synchronizations.get(1).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(commits).hasValue(1);
+    }
+
+    private static ModificationSequence sequenceStartingAfter(long max) {
+        TodoStore todoStore = mock(TodoStore.class);
+        when(todoStore.maxModifiedSeq()).thenReturn(max);
+        return new ModificationSequence(todoStore);
+    }
+}
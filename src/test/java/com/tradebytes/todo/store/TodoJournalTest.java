@@ -0,0 +1,221 @@
+package com.tradebytes.todo.store;
+
+import com.tradebytes.todo.entity.TodoItem;
+import com.tradebytes.todo.entity.TodoStatus;
+import com.tradebytes.todo.repository.TodoSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class TodoJournalTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 15, 12, 0);
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<TodoJournal> journals = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (TodoJournal journal : journals) {
+            journal.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should restore inserts, updates and removals after a restart")
+    void shouldRestoreChangesAfterRestart() throws Exception {
+        InMemoryTodoStore store = open(Long.MAX_VALUE);
+        TodoSnapshot kept = store.insert(item("Kept"));
+        TodoSnapshot done = store.insert(item("Done"));
+        store.updateDescriptionIfMutable(kept.id(), "Kept, renamed", null, 2L, NOW);
+        store.updateStatusIfMutable(done.id(), TodoStatus.DONE, NOW, null, 3L, NOW);
+        List<TodoSnapshot> before = store.findAll();
+        restart();
+
+        InMemoryTodoStore restored = open(Long.MAX_VALUE);
+
+        assertThat(restored.findAll()).isEqualTo(before);
+        assertThat(restored.findEffectivelyNotDone(NOW)).extracting(TodoSnapshot::id).containsExactly(kept.id());
+        assertThat(restored.maxModifiedSeq()).isEqualTo(3L);
+        restored.deleteAll();
+        restart();
+
+        InMemoryTodoStore emptied = open(Long.MAX_VALUE);
+        assertThat(emptied.count()).isZero();
+        assertThat(emptied.insert(item("New")).id()).isGreaterThan(done.id());
+    }
+
+    @Test
+    @DisplayName("Should ignore a torn record at the end of the journal and keep appending")
+    void shouldIgnoreTornTail() throws Exception {
+        InMemoryTodoStore store = open(Long.MAX_VALUE);
+        TodoSnapshot first = store.insert(item("First"));
+        restart();
+        Path journal = onlyJournal();
+        Files.write(journal, new byte[]{0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        InMemoryTodoStore restored = open(Long.MAX_VALUE);
+        TodoSnapshot second = restored.insert(item("Second"));
+        restart();
+
+        assertThat(open(Long.MAX_VALUE).findAll()).extracting(TodoSnapshot::id)
+                .containsExactly(first.id(), second.id());
+    }
+
+    @Test
+    @DisplayName("Should refuse to open when a journal followed by newer ones is corrupt")
+    void shouldRejectCorruptionBeforeNewerJournals() throws Exception {
+        InMemoryTodoStore store = open(Long.MAX_VALUE);
+        store.insert(item("First"));
+        restart();
+        Path journal = onlyJournal();
+        Files.write(journal, new byte[]{0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+        String name = journal.getFileName().toString();
+        long generation = Long.parseLong(name.substring("journal-".length(), name.length() - ".log".length()));
+        Files.createFile(directory.resolve("journal-" + (generation + 1) + ".log"));
+
+        assertThatThrownBy(() -> open(Long.MAX_VALUE))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining(name);
+    }
+
+    @Test
+    @DisplayName("Should reject writes after close instead of waiting for a stopped writer")
+    void shouldRejectWritesAfterClose() throws Exception {
+        InMemoryTodoStore store = open(Long.MAX_VALUE);
+        TodoSnapshot first = store.insert(item("First"));
+        restart();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertThatThrownBy(() -> store.insert(item("Too late")))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("The todo journal is closed");
+            assertThatThrownBy(() -> store.updateDescriptionIfMutable(first.id(), "Too late", null, 2L, NOW))
+                    .isInstanceOf(IllegalStateException.class);
+        });
+        assertThat(store.findAll()).containsExactly(first);
+        assertThat(open(Long.MAX_VALUE).findAll()).containsExactly(first);
+    }
+
+    @Test
+    @DisplayName("Should refuse to open a journal with an unknown status code")
+    void shouldRejectUnknownStatusCode() throws Exception {
+        InMemoryTodoStore store = open(Long.MAX_VALUE);
+        store.insert(item("First"));
+        restart();
+        Path journal = onlyJournal();
+        ByteBuffer frame = ByteBuffer.wrap(Files.readAllBytes(journal));
+        // Frame header (length, CRC32), then the record type, the id and the status code
+        ByteBuffer payload = frame.slice(8, frame.getInt(0));
+        payload.put(1 + Long.BYTES, (byte) 42);
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        frame.putInt(4, (int) crc.getValue());
+        Files.write(journal, frame.array());
+
+        assertThatThrownBy(() -> open(Long.MAX_VALUE))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Unknown status code in the todo journal: 42");
+    }
+
+    @Test
+    @DisplayName("Should compact the journal into a snapshot and restore from both")
+    void shouldCompactIntoSnapshot() throws Exception {
+        InMemoryTodoStore store = open(1024);
+        for (int i = 0; i < 50; i++) {
+            store.insert(item("Task " + i));
+        }
+        await().atMost(5, TimeUnit.SECONDS).until(() -> Files.exists(directory.resolve(TodoJournal.SNAPSHOT_FILE)));
+        TodoSnapshot last = store.insert(item("After the snapshot"));
+        List<TodoSnapshot> before = store.findAll();
+        restart();
+
+        InMemoryTodoStore restored = open(1024);
+
+        assertThat(restored.findAll()).isEqualTo(before);
+        assertThat(restored.findById(last.id())).isPresent();
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.filter(file -> file.getFileName().toString().startsWith("journal-")).count())
+                    .isLessThanOrEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("Should make concurrent writes durable in shared batches")
+    void shouldGroupConcurrentWrites() throws Exception {
+        InMemoryTodoStore store = open(Long.MAX_VALUE);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<TodoSnapshot>> inserts = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                String description = "Task " + i;
+                inserts.add(executor.submit(() -> store.insert(item(description))));
+            }
+            for (Future<TodoSnapshot> insert : inserts) {
+                insert.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        restart();
+
+        assertThat(open(Long.MAX_VALUE).count()).isEqualTo(400);
+        assertThat(meterRegistry.get("todo.journal.batch.records").summary().totalAmount()).isEqualTo(400);
+    }
+
+    private InMemoryTodoStore open(long compactAfter) throws Exception {
+        TodoJournal journal = new TodoJournal(directory, compactAfter, meterRegistry);
+        InMemoryTodoStore store = new InMemoryTodoStore(journal);
+        journal.open(store);
+        journals.add(journal);
+        return store;
+    }
+
+    private void restart() throws Exception {
+        tearDown();
+        journals.clear();
+    }
+
+    private Path onlyJournal() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("journal-"))
+                    .findFirst()
+                    .orElseThrow();
+        }
+    }
+
+    private static TodoItem item(String description) {
+        return TodoItem.builder()
+                .description(description)
+                .creationDatetime(NOW.minusDays(1))
+                .dueDatetime(NOW.plusDays(1))
+                .modifiedSeq(1L)
+                .build();
+    }
+}
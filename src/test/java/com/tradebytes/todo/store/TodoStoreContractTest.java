@@ -0,0 +1,277 @@
+package com.tradebytes.todo.store;
+
+import com.tradebytes.todo.entity.TodoItem;
+import com.tradebytes.todo.entity.TodoStatus;
+import com.tradebytes.todo.repository.TodoSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Behaviour every {@link TodoStore} engine must share, run against each of them by a subclass.
+ * Transactional here because Spring looks for the test transaction on the class declaring the
+ * test method; without a Spring test context it has no effect.
+ */
+@Transactional
+abstract class TodoStoreContractTest {
+
+    protected static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 15, 12, 0);
+
+    protected abstract TodoStore store();
+
+    @Test
+    @DisplayName("Should assign ids and defaults on insert and find items by id")
+    void shouldAssignIdsAndDefaultsOnInsert() {
+        TodoItem item = TodoItem.builder()
+                .description("Task")
+                .dueDatetime(NOW.plusDays(1))
+                .build();
+
+        TodoSnapshot inserted = store().insert(item);
+
+        assertThat(inserted.id()).isNotNull().isEqualTo(item.getId());
+        assertThat(inserted.status()).isEqualTo(TodoStatus.NOT_DONE);
+        assertThat(inserted.creationDatetime()).isNotNull();
+        assertThat(inserted.version()).isZero();
+        assertThat(inserted.modifiedSeq()).isZero();
+        assertThat(store().findById(inserted.id()).orElseThrow().description()).isEqualTo("Task");
+        assertThat(store().findById(-1L)).isEmpty();
+        assertThat(store().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should insert items in bulk and list them in id order")
+    void shouldInsertAllAndListInIdOrder() {
+        List<TodoSnapshot> inserted = store().insertAll(List.of(
+                item("First", TodoStatus.NOT_DONE, NOW.plusDays(1), 1L),
+                item("Second", TodoStatus.DONE, NOW.minusDays(1), 2L),
+                item("Third", TodoStatus.PAST_DUE, NOW.minusDays(1), 3L)));
+
+        assertThat(inserted).extracting(TodoSnapshot::description).containsExactly("First", "Second", "Third");
+        assertThat(store().findAll()).extracting(TodoSnapshot::id)
+                .containsExactlyElementsOf(inserted.stream().map(TodoSnapshot::id).sorted().toList());
+        assertThat(store().findPage(inserted.get(0).id(), 10)).extracting(TodoSnapshot::description)
+                .containsExactly("Second", "Third");
+    }
+
+    @Test
+    @DisplayName("Should find items by id in id order and skip missing ids")
+    void shouldFindByIds() {
+        TodoSnapshot a = insert("A", TodoStatus.NOT_DONE, NOW.plusDays(1), 1L);
+        TodoSnapshot b = insert("B", TodoStatus.DONE, NOW.minusDays(1), 1L);
+
+        assertThat(store().findByIds(List.of(b.id(), -1L, a.id()))).extracting(TodoSnapshot::description)
+                .containsExactly("A", "B");
+        assertThat(store().findByIds(List.of())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should only list items that are effectively not done")
+    void shouldOnlyListEffectivelyNotDone() {
+        TodoSnapshot first = insert("Pending 1", TodoStatus.NOT_DONE, NOW.plusDays(1), 1L);
+        insert("Overdue", TodoStatus.NOT_DONE, NOW.minusSeconds(1), 2L);
+        insert("Done", TodoStatus.DONE, NOW.plusDays(1), 3L);
+        TodoSnapshot second = insert("Pending 2", TodoStatus.NOT_DONE, NOW, 4L);
+        TodoSnapshot third = insert("Pending 3", TodoStatus.NOT_DONE, NOW.plusHours(1), 5L);
+
+        assertThat(store().findEffectivelyNotDone(NOW)).extracting(TodoSnapshot::id)
+                .containsExactly(first.id(), second.id(), third.id());
+        assertThat(store().findPageEffectivelyNotDone(NOW, 0L, 2)).extracting(TodoSnapshot::id)
+                .containsExactly(first.id(), second.id());
+        assertThat(store().findPageEffectivelyNotDone(NOW, second.id(), 2)).extracting(TodoSnapshot::id)
+                .containsExactly(third.id());
+        try (Stream<TodoSnapshot> stream = store().streamEffectivelyNotDone(NOW)) {
+            assertThat(stream).hasSize(3);
+        }
+    }
+
+    @Test
+    @DisplayName("Should page over a status by due datetime and id, within a due range")
+    void shouldPageByDueWithinRange() {
+        TodoSnapshot later = insert("Later", TodoStatus.NOT_DONE, NOW.plusHours(2), 1L);
+        TodoSnapshot first = insert("First", TodoStatus.NOT_DONE, NOW.plusHours(1), 1L);
+        TodoSnapshot tied = insert("Tied", TodoStatus.NOT_DONE, NOW.plusHours(1), 1L);
+        insert("Done", TodoStatus.DONE, NOW.plusHours(1), 1L);
+        insert("Next week", TodoStatus.NOT_DONE, NOW.plusDays(7), 1L);
+
+        assertThat(store().findDuePage(TodoStatus.NOT_DONE, NOW, NOW.plusDays(1), 0L, 10))
+                .extracting(TodoSnapshot::id)
+                .containsExactly(first.id(), tied.id(), later.id());
+        assertThat(store().findDuePage(TodoStatus.NOT_DONE, NOW.plusHours(1), NOW.plusDays(1), first.id(), 1))
+                .extracting(TodoSnapshot::id)
+                .containsExactly(tied.id());
+        assertThat(store().findDuePage(TodoStatus.NOT_DONE, LocalDateTime.MIN, LocalDateTime.MAX, 0L, 10))
+                .hasSize(4);
+        assertThat(store().findDuePage(TodoStatus.NOT_DONE, NOW.plusDays(1), NOW, 0L, 10)).isEmpty();
+        assertThat(store().findPageDueBetween(TodoStatus.NOT_DONE, NOW, NOW.plusDays(1), first.id(), 10))
+                .extracting(TodoSnapshot::id)
+                .containsExactly(tied.id());
+        assertThat(store().findPageDueBetween(TodoStatus.NOT_DONE, LocalDateTime.MIN, LocalDateTime.MAX, 0L, 2))
+                .extracting(TodoSnapshot::id)
+                .containsExactly(later.id(), first.id());
+    }
+
+    @Test
+    @DisplayName("Should keep the due index of an item in step with its status")
+    void shouldMoveDueIndexWithStatus() {
+        TodoSnapshot item = insert("Task", TodoStatus.NOT_DONE, NOW.plusHours(1), 1L);
+
+        store().updateStatus(List.of(item.id()), TodoStatus.DONE, NOW, 2L, NOW);
+
+        assertThat(store().findDuePage(TodoStatus.NOT_DONE, LocalDateTime.MIN, LocalDateTime.MAX, 0L, 10)).isEmpty();
+        assertThat(store().findDuePage(TodoStatus.DONE, LocalDateTime.MIN, LocalDateTime.MAX, 0L, 10))
+                .extracting(TodoSnapshot::description)
+                .containsExactly("Task");
+    }
+
+    @Test
+    @DisplayName("Should apply a guarded update only to a mutable item at the expected version")
+    void shouldApplyGuardedUpdateToMutableItemAtExpectedVersion() {
+        TodoSnapshot item = insert("Task", TodoStatus.NOT_DONE, NOW.plusDays(1), 1L);
+        TodoSnapshot overdue = insert("Overdue", TodoStatus.NOT_DONE, NOW.minusSeconds(1), 1L);
+
+        assertThat(store().updateDescriptionIfMutable(item.id(), "Stale", 5L, 2L, NOW)).isEmpty();
+        TodoSnapshot changed = store().updateDescriptionIfMutable(item.id(), "Changed", 0L, 2L, NOW).orElseThrow();
+        TodoSnapshot done = store().updateStatusIfMutable(item.id(), TodoStatus.DONE, NOW, null, 3L, NOW).orElseThrow();
+
+        assertThat(changed.description()).isEqualTo("Changed");
+        assertThat(changed.version()).isEqualTo(1L);
+        assertThat(changed.modifiedSeq()).isEqualTo(2L);
+        assertThat(done.status()).isEqualTo(TodoStatus.DONE);
+        assertThat(done.doneDatetime()).isEqualTo(NOW);
+        assertThat(done.version()).isEqualTo(2L);
+        assertThat(store().findById(item.id())).contains(done);
+        assertThat(store().updateDescriptionIfMutable(overdue.id(), "Changed", null, 4L, NOW)).isEmpty();
+        assertThat(store().updateStatusIfMutable(-1L, TodoStatus.DONE, NOW, null, 4L, NOW)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should only transition an item whose status changes")
+    void shouldOnlyTransitionChangedStatus() {
+        TodoSnapshot item = insert("Task", TodoStatus.NOT_DONE, NOW.plusDays(1), 1L);
+
+        assertThat(store().transitionStatusIfMutable(item.id(), TodoStatus.NOT_DONE, null, null, 2L, NOW)).isEmpty();
+        TodoSnapshot done = store().transitionStatusIfMutable(item.id(), TodoStatus.DONE, NOW, 0L, 2L, NOW)
+                .orElseThrow();
+
+        assertThat(done.status()).isEqualTo(TodoStatus.DONE);
+        assertThat(done.version()).isEqualTo(1L);
+        assertThat(store().transitionStatusIfMutable(item.id(), TodoStatus.DONE, NOW, null, 3L, NOW)).isEmpty();
+        assertThat(store().transitionStatusIfMutable(item.id(), TodoStatus.NOT_DONE, null, 0L, 3L, NOW)).isEmpty();
+        assertThat(store().findById(item.id()).orElseThrow().version()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should count items per stored status")
+    void shouldCountByStatus() {
+        insert("A", TodoStatus.NOT_DONE, NOW.plusDays(1), 1L);
+        insert("B", TodoStatus.NOT_DONE, NOW.minusDays(1), 1L);
+        insert("C", TodoStatus.PAST_DUE, NOW.minusDays(1), 1L);
+
+        assertThat(store().countByStatus())
+                .containsEntry(TodoStatus.NOT_DONE, 2L)
+                .containsEntry(TodoStatus.PAST_DUE, 1L)
+                .doesNotContainKey(TodoStatus.DONE);
+    }
+
+    @Test
+    @DisplayName("Should count items in a status due before a given time")
+    void shouldCountDueBefore() {
+        insert("Later", TodoStatus.NOT_DONE, NOW.plusDays(1), 1L);
+        insert("Exactly now", TodoStatus.NOT_DONE, NOW, 1L);
+        insert("Overdue", TodoStatus.NOT_DONE, NOW.minusDays(1), 1L);
+        insert("Marked", TodoStatus.PAST_DUE, NOW.minusDays(1), 1L);
+
+        assertThat(store().countDueBefore(TodoStatus.NOT_DONE, NOW)).isEqualTo(1);
+        assertThat(store().countDueBefore(TodoStatus.PAST_DUE, NOW)).isEqualTo(1);
+        assertThat(store().countDueBefore(TodoStatus.DONE, NOW)).isZero();
+    }
+
+    @Test
+    @DisplayName("Bulk updates should skip immutable items and move versions")
+    void bulkUpdatesShouldSkipImmutableItems() {
+        TodoSnapshot pending = insert("Pending", TodoStatus.NOT_DONE, NOW.plusDays(1), 1L);
+        TodoSnapshot done = insert("Done", TodoStatus.DONE, NOW.minusDays(1), 1L);
+        TodoSnapshot pastDue = insert("Past due", TodoStatus.PAST_DUE, NOW.minusDays(1), 1L);
+        List<Long> ids = List.of(pending.id(), done.id(), pastDue.id());
+
+        assertThat(store().updateDescription(ids, "Renamed", 2L, NOW)).isEqualTo(2);
+        assertThat(store().updateStatus(ids, TodoStatus.NOT_DONE, null, 3L, NOW)).isEqualTo(2);
+
+        assertThat(store().findById(pending.id()).orElseThrow().version()).isEqualTo(2L);
+        assertThat(store().findById(done.id()).orElseThrow().status()).isEqualTo(TodoStatus.NOT_DONE);
+        assertThat(store().findById(pastDue.id()).orElseThrow().description()).isEqualTo("Past due");
+        assertThat(store().lockStates(List.of(pending.id(), -1L)))
+                .containsExactly(new TodoStore.ItemState(pending.id(), TodoStatus.NOT_DONE, NOW.plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Should mark only the overdue not done items among the given ids past due")
+    void shouldMarkOverdueItemsPastDue() {
+        TodoSnapshot overdue = insert("Overdue", TodoStatus.NOT_DONE, NOW.minusMinutes(1), 1L);
+        TodoSnapshot pending = insert("Pending", TodoStatus.NOT_DONE, NOW.plusMinutes(1), 1L);
+        TodoSnapshot doneOverdue = insert("Done", TodoStatus.DONE, NOW.minusMinutes(1), 1L);
+
+        assertThat(store().markPastDue(List.of(pending.id(), doneOverdue.id()), 2L, NOW)).isZero();
+        assertThat(store().markPastDue(List.of(overdue.id(), pending.id(), doneOverdue.id()), 2L, NOW)).isEqualTo(1);
+        assertThat(store().markPastDue(List.of(pending.id()), 3L, NOW.plusMinutes(2))).isEqualTo(1);
+
+        TodoSnapshot marked = store().findById(overdue.id()).orElseThrow();
+        assertThat(marked.status()).isEqualTo(TodoStatus.PAST_DUE);
+        assertThat(marked.modifiedSeq()).isEqualTo(2L);
+        assertThat(store().findById(pending.id()).orElseThrow().status()).isEqualTo(TodoStatus.PAST_DUE);
+        try (Stream<TodoStore.ItemState> states = store().streamStates(TodoStatus.NOT_DONE)) {
+            assertThat(states).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Should read changes in (modified_seq, id) order up to the watermark")
+    void shouldReadChangesInSequenceOrder() {
+        TodoSnapshot a = insert("A", TodoStatus.NOT_DONE, NOW.plusDays(1), 1L);
+        TodoSnapshot b = insert("B", TodoStatus.NOT_DONE, NOW.plusDays(1), 1L);
+        TodoSnapshot c = insert("C", TodoStatus.NOT_DONE, NOW.plusDays(1), 2L);
+        store().updateDescriptionIfMutable(a.id(), "A2", null, 3L, NOW);
+
+        assertThat(store().maxModifiedSeq()).isEqualTo(3L);
+        assertThat(store().findChangedSince(0L, 0L, 3L, 10)).extracting(TodoSnapshot::id)
+                .containsExactly(b.id(), c.id(), a.id());
+        assertThat(store().findChangedSince(1L, b.id(), 2L, 10)).extracting(TodoSnapshot::id)
+                .containsExactly(c.id());
+        assertThat(store().findChangedSince(0L, 0L, 3L, 1)).extracting(TodoSnapshot::id)
+                .containsExactly(b.id());
+    }
+
+    @Test
+    @DisplayName("Should delete all items")
+    void shouldDeleteAllItems() {
+        insert("Task", TodoStatus.NOT_DONE, NOW.plusDays(1), 1L);
+
+        store().deleteAll();
+
+        assertThat(store().count()).isZero();
+        assertThat(store().findAll()).isEmpty();
+        assertThat(store().maxModifiedSeq()).isZero();
+    }
+
+    private TodoSnapshot insert(String description, TodoStatus status, LocalDateTime due, long modifiedSeq) {
+        return store().insert(item(description, status, due, modifiedSeq));
+    }
+
+    private static TodoItem item(String description, TodoStatus status, LocalDateTime due, long modifiedSeq) {
+        return TodoItem.builder()
+                .description(description)
+                .status(status)
+                .creationDatetime(NOW.minusDays(2))
+                .dueDatetime(due)
+                .doneDatetime(status == TodoStatus.DONE ? NOW.minusDays(1) : null)
+                .modifiedSeq(modifiedSeq)
+                .build();
+    }
+}